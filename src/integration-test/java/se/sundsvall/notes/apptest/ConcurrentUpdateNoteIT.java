@@ -0,0 +1,87 @@
+package se.sundsvall.notes.apptest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import se.sundsvall.notes.Application;
+import se.sundsvall.notes.api.model.UpdateNoteRequest;
+import se.sundsvall.notes.integration.db.RevisionRepository;
+import se.sundsvall.notes.integration.db.model.RevisionHeader;
+import se.sundsvall.notes.service.NoteService;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent update tests.
+ *
+ * Hammers the same note from several threads and verifies that the resulting revision history has a gap-free and
+ * duplicate-free version sequence.
+ */
+@ActiveProfiles("it")
+@SpringBootTest(classes = Application.class, properties = {
+	"spring.main.banner-mode=off",
+	"logging.level.se.sundsvall.dept44.payload=OFF"
+})
+@Sql(scripts = {
+	"/db/scripts/truncate.sql",
+	"/db/scripts/UpdateNoteAppTest.sql"
+})
+class ConcurrentUpdateNoteIT {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NOTE_ID = "8825bfae-11bc-4436-b1be-e4f0f225c048";
+	private static final int THREADS = 8;
+	private static final int UPDATES_PER_THREAD = 10;
+
+	@Autowired
+	private NoteService noteService;
+
+	@Autowired
+	private RevisionRepository revisionRepository;
+
+	@Test
+	void concurrentUpdatesOfSameNote() throws Exception {
+
+		final var executor = Executors.newFixedThreadPool(THREADS);
+		final var startSignal = new CountDownLatch(1);
+
+		try {
+			final var futures = IntStream.range(0, THREADS)
+				.mapToObj(thread -> executor.submit(() -> {
+					startSignal.await();
+					for (var update = 0; update < UPDATES_PER_THREAD; update++) {
+						noteService.updateNote(NOTE_ID, UpdateNoteRequest.create()
+							.withBody("body-%s-%s".formatted(thread, update))
+							.withModifiedBy("thread-" + thread), null, MUNICIPALITY_ID);
+					}
+					return null;
+				}))
+				.toList();
+
+			startSignal.countDown();
+
+			// Rethrows any exception (e.g. a unique constraint violation) thrown by the updating threads.
+			for (final Future<Object> future : futures) {
+				future.get(120, SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		final var totalUpdates = THREADS * UPDATES_PER_THREAD;
+		final var versions = revisionRepository.findAllByEntityIdAndMunicipalityIdOrderByVersionDesc(NOTE_ID, MUNICIPALITY_ID).stream()
+			.map(RevisionHeader::getVersion)
+			.toList();
+
+		assertThat(versions)
+			.doesNotHaveDuplicates()
+			.containsExactlyElementsOf(IntStream.rangeClosed(0, totalUpdates).map(i -> totalUpdates - i).boxed().toList());
+	}
+}
@@ -0,0 +1,67 @@
+package se.sundsvall.notes.integration.db;
+
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.testcontainers.jdbc.ContainerDatabaseDriver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Migration V2_4 tests.
+ *
+ * Migrates an empty database to V2_3, adds revisions with duplicate versions (as written by concurrent updates before
+ * V2_4) and verifies that V2_4 renumbers them and adds the unique constraint.
+ */
+class RevisionVersionMigrationIT {
+
+	// The container is kept running between the connections of the migrations and the queries
+	private static final String URL = "jdbc:tc:mariadb:10.6:///migration?TC_DAEMON=true";
+
+	@Test
+	void renumbersDuplicateVersions() {
+
+		// Arrange
+		final var dataSource = new SimpleDriverDataSource(new ContainerDatabaseDriver(), URL);
+		final var jdbcTemplate = new JdbcTemplate(dataSource);
+		migrate(dataSource, "2.3");
+
+		jdbcTemplate.update("""
+			insert into revision (id, created, entity_id, entity_type, serialized_snapshot, version, municipality_id) values
+				('revision1', '2022-01-01 12:00:00', 'entityId1', 'NoteEntity', '{}', 0, '2281'),
+				('revision2', '2022-01-02 12:00:00', 'entityId1', 'NoteEntity', '{}', 1, '2281'),
+				('revision3', '2022-01-02 12:00:01', 'entityId1', 'NoteEntity', '{}', 1, '2281'),
+				('revision4', '2022-01-03 12:00:00', 'entityId1', 'NoteEntity', '{}', 2, '2281'),
+				('revision5', '2022-01-01 12:00:00', 'entityId1', 'NoteEntity', '{}', 0, '2282'),
+				('revision6', '2022-01-01 12:00:00', 'entityId2', 'NoteEntity', '{}', 5, '2281')""");
+
+		// Act
+		migrate(dataSource, "2.4");
+
+		// Assert
+		assertThat(jdbcTemplate.queryForList("select concat(id, ':', version) from revision where entity_id = 'entityId1' and municipality_id = '2281' order by version", String.class))
+			.containsExactly("revision1:0", "revision2:1", "revision3:2", "revision4:3");
+
+		// Revisions of other municipalities and entities without duplicates are left as they were
+		assertThat(jdbcTemplate.queryForList("select concat(id, ':', version) from revision where id in ('revision5', 'revision6') order by id", String.class))
+			.containsExactly("revision5:0", "revision6:5");
+
+		assertThatThrownBy(() -> jdbcTemplate.update("""
+			insert into revision (id, created, entity_id, entity_type, serialized_snapshot, version, municipality_id) values
+				('revision7', '2022-01-04 12:00:00', 'entityId1', 'NoteEntity', '{}', 3, '2281')"""))
+			.isInstanceOf(DuplicateKeyException.class);
+	}
+
+	private static void migrate(final DataSource dataSource, final String target) {
+		Flyway.configure()
+			.dataSource(dataSource)
+			.locations("classpath:db/migration")
+			.target(target)
+			.load()
+			.migrate();
+	}
+}
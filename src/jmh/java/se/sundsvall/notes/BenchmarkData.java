@@ -0,0 +1,58 @@
+package se.sundsvall.notes;
+
+import java.time.OffsetDateTime;
+import se.sundsvall.notes.integration.db.model.NoteEntity;
+
+/**
+ * Test data shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+	public static final String MUNICIPALITY_ID = "2281";
+	public static final String NOTE_ID = "c4f2b2e4-1e0a-4a6c-9d55-3b1f6e0b7a11";
+
+	private static final OffsetDateTime CREATED = OffsetDateTime.parse("2024-03-14T09:26:53.589+01:00");
+	private static final String TEXT = """
+		Kunden ringde angående fakturan för mars och ville ha en förklaring till den höjda avgiften. \
+		Informerade om att taxan är ändrad från årsskiftet och skickade länk till beslutet. \
+		Kunden återkommer efter att ha läst igenom underlaget, ärendet lämnas öppet tills vidare.
+		""";
+
+	private BenchmarkData() {}
+
+	/**
+	 * Creates a note body with the provided length (at most 2048 characters, as limited by the API).
+	 * <p>
+	 * A new string instance is created on each call, so that equality checks can't take the identity shortcut.
+	 *
+	 * @param  length the length of the body.
+	 * @return        a note body.
+	 */
+	public static String body(final int length) {
+		final var builder = new StringBuilder(length);
+		while (builder.length() < length) {
+			builder.append(TEXT, 0, Math.min(TEXT.length(), length - builder.length()));
+		}
+		return builder.toString();
+	}
+
+	public static NoteEntity noteEntity(final int bodyLength) {
+		return NoteEntity.create()
+			.withId(NOTE_ID)
+			.withPartyId("fbfbd90c-4c47-11ec-81d3-0242ac130003")
+			.withContext("SUPPORT")
+			.withRole("FIRST_LINE_SUPPORT")
+			.withClientId("SUPPORT_MGMT")
+			.withCreatedBy("John Doe")
+			.withCreated(CREATED)
+			.withModifiedBy("Jane Doe")
+			.withModified(CREATED.plusDays(1))
+			.withSubject("Fråga om faktura")
+			.withBody(body(bodyLength))
+			.withCaseId("12345")
+			.withCaseType("INVOICE")
+			.withCaseLink("https://example.com/cases/12345")
+			.withExternalCaseId("ext-12345")
+			.withMunicipalityId(MUNICIPALITY_ID);
+	}
+}
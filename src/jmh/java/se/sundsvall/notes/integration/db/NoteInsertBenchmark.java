@@ -0,0 +1,121 @@
+package se.sundsvall.notes.integration.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static se.sundsvall.notes.BenchmarkData.MUNICIPALITY_ID;
+import static se.sundsvall.notes.BenchmarkData.body;
+
+/**
+ * Benchmarks of the insert throughput of notes into MariaDB (started by Testcontainers, i.e. Docker is required),
+ * comparing random (UUIDv4) ids in a varchar(255) primary key with time-ordered (UUIDv7) ids in a char(36) primary key.
+ * <p>
+ * The table keeps growing during the run, so the cost of inserting at random positions of the primary key (and of the
+ * secondary indexes, which all contain the primary key) becomes visible as the table outgrows the buffer pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class NoteInsertBenchmark {
+
+	private static final String URL = "jdbc:tc:mariadb:10.6:///benchmark";
+	private static final int BATCH_SIZE = 100;
+
+	@Param({
+		"RANDOM", "TIME_ORDERED"
+	})
+	private IdStrategy idStrategy;
+
+	private Connection connection;
+	private String body;
+	private int sequence;
+
+	public enum IdStrategy {
+		RANDOM("varchar(255)"),
+		TIME_ORDERED("char(36)");
+
+		private final String columnDefinition;
+
+		IdStrategy(final String columnDefinition) {
+			this.columnDefinition = columnDefinition;
+		}
+	}
+
+	@Setup
+	public void setup() throws SQLException {
+		connection = DriverManager.getConnection(URL, "test", "test");
+		connection.setAutoCommit(false);
+		body = body(512);
+
+		try (final var statement = connection.createStatement()) {
+			statement.execute("drop table if exists note");
+			statement.execute("""
+				create table note (
+					id %s not null,
+					created datetime(6),
+					municipality_id varchar(255) not null,
+					party_id varchar(255),
+					subject varchar(255),
+					body longtext,
+					primary key (id)
+				) engine=InnoDB""".formatted(idStrategy.columnDefinition));
+			statement.execute("create index note_municipality_id_party_id_created_index on note (municipality_id, party_id, created)");
+		}
+		connection.commit();
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void insertNotes() throws SQLException {
+		try (final var statement = connection.prepareStatement("insert into note (id, created, municipality_id, party_id, subject, body) values (?, ?, ?, ?, ?, ?)")) {
+			for (var i = 0; i < BATCH_SIZE; i++) {
+				statement.setString(1, idStrategy == IdStrategy.TIME_ORDERED ? timeOrderedId() : UUID.randomUUID().toString());
+				statement.setTimestamp(2, Timestamp.from(Instant.now()));
+				statement.setString(3, MUNICIPALITY_ID);
+				statement.setString(4, UUID.randomUUID().toString());
+				statement.setString(5, "subject");
+				statement.setString(6, body);
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+		connection.commit();
+	}
+
+	/**
+	 * Creates a UUIDv7 (RFC9562), i.e. a 48 bit millisecond timestamp followed by a 12 bit sequence (keeping ids created
+	 * within the same millisecond ordered) and random bits. Equivalent to the ids generated by Hibernate for the entities.
+	 */
+	private String timeOrderedId() {
+		final var mostSignificantBits = System.currentTimeMillis() << 16 | 0x7000 | sequence++ & 0x0FFF;
+		final var leastSignificantBits = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+		return new UUID(mostSignificantBits, leastSignificantBits).toString();
+	}
+}
@@ -0,0 +1,62 @@
+package se.sundsvall.notes.integration.db.model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static se.sundsvall.notes.BenchmarkData.body;
+import static se.sundsvall.notes.BenchmarkData.noteEntity;
+
+/**
+ * Benchmarks of the entity hashCode and equals implementations, which are used by Hibernate (e.g. the persistence
+ * context) and include the (potentially long) body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteEntityBenchmark {
+
+	@Param({
+		"64", "2048"
+	})
+	private int bodyLength;
+
+	private NoteEntity noteEntity;
+	private NoteEntity equalNoteEntity;
+	private NoteEntity differentNoteEntity;
+
+	@Setup
+	public void setup() {
+		noteEntity = noteEntity(bodyLength);
+		equalNoteEntity = noteEntity(bodyLength);
+		// Only the last character differs, i.e. the worst case for the body comparison
+		differentNoteEntity = noteEntity(bodyLength).withBody(body(bodyLength - 1) + "!");
+	}
+
+	@Benchmark
+	public int hashCodeOfNote() {
+		return noteEntity.hashCode();
+	}
+
+	@Benchmark
+	public boolean equalsEqualNote() {
+		return noteEntity.equals(equalNoteEntity);
+	}
+
+	@Benchmark
+	public boolean equalsDifferentNote() {
+		return noteEntity.equals(differentNoteEntity);
+	}
+}
@@ -0,0 +1,159 @@
+package se.sundsvall.notes.service;
+
+import com.flipkart.zjsonpatch.Jackson3JsonDiff;
+import java.lang.reflect.Proxy;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import se.sundsvall.notes.api.model.DifferenceResponse;
+import se.sundsvall.notes.api.model.Operation;
+import se.sundsvall.notes.api.model.RevisionInformation;
+import se.sundsvall.notes.configuration.RevisionProperties;
+import se.sundsvall.notes.configuration.RevisionProperties.Compaction;
+import se.sundsvall.notes.configuration.RevisionProperties.Compression;
+import se.sundsvall.notes.configuration.RevisionProperties.StorageMode;
+import se.sundsvall.notes.integration.db.RevisionRepository;
+import se.sundsvall.notes.integration.db.model.NoteEntity;
+import se.sundsvall.notes.integration.db.model.RevisionEntity;
+import se.sundsvall.notes.integration.db.model.RevisionHeader;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import static com.flipkart.zjsonpatch.DiffFlags.ADD_ORIGINAL_VALUE_ON_REPLACE;
+import static com.flipkart.zjsonpatch.DiffFlags.OMIT_VALUE_ON_REMOVE;
+import static se.sundsvall.notes.BenchmarkData.MUNICIPALITY_ID;
+import static se.sundsvall.notes.BenchmarkData.NOTE_ID;
+import static se.sundsvall.notes.BenchmarkData.body;
+import static se.sundsvall.notes.BenchmarkData.noteEntity;
+
+/**
+ * Benchmarks of the CPU bound parts of the revision handling, i.e. the change detection done when creating a revision
+ * and the diff between two revisions. The repository is replaced by a stub, so no database access is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RevisionServiceBenchmark {
+
+	private static final RevisionProperties REVISION_PROPERTIES = new RevisionProperties(StorageMode.FULL, 10, new Compaction("-", 100), new Compression(false, "-", 100));
+	private static final RevisionProperties DELTA_REVISION_PROPERTIES = new RevisionProperties(StorageMode.DELTA, 10, new Compaction("-", 100), new Compression(false, "-", 100));
+
+	@Param({
+		"64", "512", "2048"
+	})
+	private int bodyLength;
+
+	private NoteEntity noteEntity;
+	private RevisionService unchangedRevisionService;
+	private RevisionService changedRevisionService;
+	private RevisionService changedDeltaRevisionService;
+	private JsonMapper objectMapper;
+	private JsonNode patch;
+
+	@Setup
+	public void setup() {
+		objectMapper = JsonMapper.builder().build();
+		final var projectionFactory = new SpelAwareProxyProjectionFactory();
+
+		noteEntity = noteEntity(bodyLength);
+		final var serializedSnapshot = objectMapper.writeValueAsString(noteEntity);
+
+		// Previous revision with a modified body, i.e. the last part of the body is changed by the update
+		final var previousSnapshot = objectMapper.writeValueAsString(noteEntity(bodyLength)
+			.withBody(body(bodyLength - 16) + "Ändrad av Jane.")
+			.withModifiedBy("John Doe"));
+
+		final var previousRevision = RevisionEntity.create()
+			.withId("previous")
+			.withEntityId(NOTE_ID)
+			.withVersion(0)
+			.withSerializedSnapshot(previousSnapshot)
+			.withContentHash(RevisionService.toContentHash(previousSnapshot));
+		final var currentRevision = RevisionEntity.create()
+			.withId("current")
+			.withEntityId(NOTE_ID)
+			.withVersion(1)
+			.withSerializedSnapshot(serializedSnapshot)
+			.withContentHash(RevisionService.toContentHash(serializedSnapshot));
+
+		final var revisions = Map.of(0, previousRevision, 1, currentRevision);
+		patch = Jackson3JsonDiff.asJson(objectMapper.readTree(previousSnapshot), objectMapper.readTree(serializedSnapshot), EnumSet.of(ADD_ORIGINAL_VALUE_ON_REPLACE, OMIT_VALUE_ON_REMOVE));
+
+		unchangedRevisionService = new RevisionService(revisionRepository(projectionFactory.createProjection(RevisionHeader.class, currentRevision), revisions), objectMapper, REVISION_PROPERTIES);
+		changedRevisionService = new RevisionService(revisionRepository(projectionFactory.createProjection(RevisionHeader.class, previousRevision), revisions), objectMapper, REVISION_PROPERTIES);
+		changedDeltaRevisionService = new RevisionService(revisionRepository(projectionFactory.createProjection(RevisionHeader.class, previousRevision), revisions), objectMapper, DELTA_REVISION_PROPERTIES);
+	}
+
+	@Benchmark
+	public RevisionInformation createRevisionUnchanged() {
+		return unchangedRevisionService.createRevision(noteEntity, MUNICIPALITY_ID);
+	}
+
+	@Benchmark
+	public RevisionInformation createRevisionChanged() {
+		return changedRevisionService.createRevision(noteEntity, MUNICIPALITY_ID);
+	}
+
+	/**
+	 * Creation of a revision stored as a patch against the previous version, i.e. with storage mode DELTA.
+	 */
+	@Benchmark
+	public RevisionInformation createRevisionChangedAsDelta() {
+		return changedDeltaRevisionService.createRevision(noteEntity, MUNICIPALITY_ID);
+	}
+
+	@Benchmark
+	public DifferenceResponse diff() {
+		return changedRevisionService.diff(NOTE_ID, MUNICIPALITY_ID, 0, 1);
+	}
+
+	/**
+	 * Conversion of the diff patch into operations by binding the patch tree directly (as done by the service).
+	 */
+	@Benchmark
+	public List<Operation> patchToOperationsByTree() {
+		return changedRevisionService.toOperations(patch);
+	}
+
+	/**
+	 * Conversion of the diff patch into operations by serializing the patch to a string and parsing it again, kept as
+	 * the baseline for {@link #patchToOperationsByTree()}.
+	 */
+	@Benchmark
+	public List<Operation> patchToOperationsByString() {
+		return List.of(objectMapper.readValue(patch.toString(), Operation[].class));
+	}
+
+	/**
+	 * Creates a lightweight stub of the repository, answering the queries used by the benchmarked methods.
+	 */
+	private static RevisionRepository revisionRepository(final RevisionHeader lastRevision, final Map<Integer, RevisionEntity> revisions) {
+		return (RevisionRepository) Proxy.newProxyInstance(RevisionRepository.class.getClassLoader(), new Class<?>[] {
+			RevisionRepository.class
+		}, (proxy, method, args) -> switch (method.getName()) {
+			case "findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc" -> Optional.of(lastRevision);
+			case "findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions" -> Stream.of(args[2], args[3]).distinct().map(revisions::get).filter(Objects::nonNull).toList();
+			case "save" -> args[0];
+			default -> throw new UnsupportedOperationException(method.getName());
+		});
+	}
+}
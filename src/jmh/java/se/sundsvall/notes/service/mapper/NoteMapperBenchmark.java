@@ -0,0 +1,60 @@
+package se.sundsvall.notes.service.mapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.sundsvall.notes.api.model.Note;
+import se.sundsvall.notes.integration.db.model.NoteEntity;
+
+import static se.sundsvall.notes.BenchmarkData.noteEntity;
+
+/**
+ * Benchmarks of the mapping from entities to API models. The list size matches the default search limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteMapperBenchmark {
+
+	private static final int LIST_SIZE = 100;
+
+	@Param({
+		"64", "2048"
+	})
+	private int bodyLength;
+
+	private NoteEntity noteEntity;
+	private List<NoteEntity> noteEntities;
+
+	@Setup
+	public void setup() {
+		noteEntity = noteEntity(bodyLength);
+		noteEntities = IntStream.range(0, LIST_SIZE)
+			.mapToObj(i -> noteEntity(bodyLength).withId("id-" + i))
+			.toList();
+	}
+
+	@Benchmark
+	public Note toNote() {
+		return NoteMapper.toNote(noteEntity);
+	}
+
+	@Benchmark
+	public List<Note> toNotes() {
+		return NoteMapper.toNotes(noteEntities);
+	}
+}
@@ -8,7 +8,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.ETag;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -18,30 +24,45 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 import se.sundsvall.dept44.common.validators.annotation.ValidMunicipalityId;
 import se.sundsvall.dept44.common.validators.annotation.ValidUuid;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
 import se.sundsvall.notes.api.model.CreateNoteRequest;
+import se.sundsvall.notes.api.model.CreateNoteResult;
 import se.sundsvall.notes.api.model.FindNotesRequest;
 import se.sundsvall.notes.api.model.FindNotesResponse;
 import se.sundsvall.notes.api.model.Note;
+import se.sundsvall.notes.api.model.Revision;
 import se.sundsvall.notes.api.model.RevisionInformation;
 import se.sundsvall.notes.api.model.UpdateNoteRequest;
+import se.sundsvall.notes.api.model.UpdateNoteResult;
+import se.sundsvall.notes.api.model.UpdateNotesRequest;
 import se.sundsvall.notes.service.NoteService;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.joining;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 import static org.springframework.http.HttpHeaders.LOCATION;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 import static org.springframework.http.MediaType.ALL_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
 import static org.springframework.http.ResponseEntity.created;
 import static org.springframework.http.ResponseEntity.noContent;
 import static org.springframework.http.ResponseEntity.ok;
+import static se.sundsvall.notes.service.ServiceConstants.ERROR_IF_MATCH_NOT_A_VERSION;
 import static se.sundsvall.notes.service.ServiceConstants.KEY_CURRENT_REVISION;
 import static se.sundsvall.notes.service.ServiceConstants.KEY_CURRENT_VERSION;
 import static se.sundsvall.notes.service.ServiceConstants.KEY_PREVIOUS_REVISION;
@@ -53,10 +74,14 @@ import static se.sundsvall.notes.service.ServiceConstants.KEY_PREVIOUS_VERSION;
 @Tag(name = "Notes", description = "Note operations")
 class NotesResource {
 
+	static final int MAX_NOTES_PER_BATCH = 1000;
+
 	private final NoteService noteService;
+	private final Validator validator;
 
-	NotesResource(final NoteService noteService) {
+	NotesResource(final NoteService noteService, final Validator validator) {
 		this.noteService = noteService;
+		this.validator = validator;
 	}
 
 	@PostMapping(consumes = APPLICATION_JSON_VALUE, produces = ALL_VALUE)
@@ -82,34 +107,97 @@ class NotesResource {
 			.build();
 	}
 
+	@PostMapping(path = "/batch", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	@Operation(summary = "Create new notes in bulk",
+		description = "Creates all valid notes of the request in one transaction. The result of each note (in the same order as in the request) tells if it was created or why it was not.",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+				Problem.class, ConstraintViolationProblem.class
+			}))),
+			@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+		})
+	ResponseEntity<List<CreateNoteResult>> createNotes(
+		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @PathVariable @ValidMunicipalityId final String municipalityId,
+		@NotEmpty @Size(max = MAX_NOTES_PER_BATCH) @RequestBody final List<CreateNoteRequest> body) {
+
+		final var results = new ArrayList<CreateNoteResult>(body.size());
+		final var validRequests = new ArrayList<CreateNoteRequest>(body.size());
+		for (var index = 0; index < body.size(); index++) {
+			final var createNoteRequest = body.get(index);
+			final var detail = validate(createNoteRequest);
+			if (isNull(detail)) {
+				validRequests.add(createNoteRequest);
+				results.add(CreateNoteResult.create().withIndex(index));
+			} else {
+				results.add(CreateNoteResult.create().withIndex(index).withStatus(BAD_REQUEST.value()).withDetail(detail));
+			}
+		}
+
+		if (!validRequests.isEmpty()) {
+			final var createdNotes = noteService.createNotes(validRequests, municipalityId).iterator();
+			results.stream()
+				.filter(result -> isNull(result.getStatus()))
+				.forEach(result -> {
+					final var revisionInformation = createdNotes.next();
+					result.withStatus(CREATED.value())
+						.withId(revisionInformation.getNote().getId())
+						.withRevisionId(ofNullable(revisionInformation.getCurrentRevision()).map(Revision::getId).orElse(null));
+				});
+		}
+
+		return ok(results);
+	}
+
 	@PatchMapping(path = "/{id}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
-	@Operation(summary = "Update note", responses = {
-		@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
+	@Operation(summary = "Update note", description = "With an If-Match header holding the ETag of the note, the note is only updated if it hasn't been modified since. The ETag of the response is the current version of the note, also when the update doesn't change the note.", responses = {
+		@ApiResponse(responseCode = "200", headers = @Header(name = ETAG, schema = @Schema(type = "string")), description = "Successful operation", useReturnTypeSchema = true),
 		@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
 			Problem.class, ConstraintViolationProblem.class
 		}))),
 		@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
+		@ApiResponse(responseCode = "412", description = "Precondition failed", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
 		@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
 	})
 	ResponseEntity<Note> updateNote(
 		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @PathVariable @ValidMunicipalityId final String municipalityId,
 		@Parameter(name = "id", description = "Note ID", example = "b82bd8ac-1507-4d9a-958d-369261eecc15") @ValidUuid @PathVariable final String id,
+		@Parameter(name = IF_MATCH, description = "ETag of the version of the note that the changes are based on", example = "\"3\"") @RequestHeader(name = IF_MATCH, required = false) final String ifMatch,
 		@Valid @NotNull @RequestBody final UpdateNoteRequest body) {
 
-		final var revisionInformation = noteService.updateNote(id, body, municipalityId);
+		final var revisionInformation = noteService.updateNote(id, body, toExpectedVersion(ifMatch), municipalityId);
 
+		final var response = ok();
 		if (revisionInformation.isNewRevisionCreated()) {
-			return ok()
-				.headers(createRevisionHeaders(revisionInformation, null))
-				.body(revisionInformation.getNote());
+			response.headers(createRevisionHeaders(revisionInformation, null));
 		}
 
-		return ok().body(revisionInformation.getNote());
+		// The ETag is the current version of the note, whether or not the update created a new revision
+		ofNullable(revisionInformation.getCurrentVersion()).ifPresent(version -> response.eTag(version.toString()));
+		return response.body(revisionInformation.getNote());
+	}
+
+	@PatchMapping(consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	@Operation(summary = "Update notes in bulk",
+		description = "Applies the same changes to all notes with the provided ids, or to all notes of the provided case, in one transaction. The result of each note tells if it was updated (and its current and previous revision) or why it was not.",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+				Problem.class, ConstraintViolationProblem.class
+			}))),
+			@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+		})
+	ResponseEntity<List<UpdateNoteResult>> updateNotes(
+		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @PathVariable @ValidMunicipalityId final String municipalityId,
+		@Valid @NotNull @RequestBody final UpdateNotesRequest body) {
+
+		return ok(noteService.updateNotes(body, municipalityId));
 	}
 
 	@GetMapping(path = "/{id}", produces = APPLICATION_JSON_VALUE)
-	@Operation(summary = "Get note by ID", responses = {
-		@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
+	@Operation(summary = "Get note by ID", description = "The ETag of the response is the current version of the note. A request with a matching If-None-Match header is answered with 304.", responses = {
+		@ApiResponse(responseCode = "200", headers = @Header(name = ETAG, schema = @Schema(type = "string")), description = "Successful operation", useReturnTypeSchema = true),
+		@ApiResponse(responseCode = "304", description = "Not modified"),
 		@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
 			Problem.class, ConstraintViolationProblem.class
 		}))),
@@ -118,9 +206,16 @@ class NotesResource {
 	})
 	ResponseEntity<Note> getNoteByIdAndMunicipalityId(
 		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @PathVariable @ValidMunicipalityId final String municipalityId,
-		@Parameter(name = "id", description = "Note ID", example = "b82bd8ac-1507-4d9a-958d-369261eecc15") @ValidUuid @PathVariable final String id) {
+		@Parameter(name = "id", description = "Note ID", example = "b82bd8ac-1507-4d9a-958d-369261eecc15") @ValidUuid @PathVariable final String id,
+		final WebRequest webRequest) {
+
+		// The note and its version are read (and cached) together, so the ETag is always the version of the body
+		final var versionedNote = noteService.getNoteByIdAndMunicipalityId(id, municipalityId);
+		if (nonNull(versionedNote.version()) && webRequest.checkNotModified(versionedNote.version().toString())) {
+			return null;
+		}
 
-		return ok(noteService.getNoteByIdAndMunicipalityId(id, municipalityId));
+		return ok(versionedNote.note());
 	}
 
 	@GetMapping(produces = APPLICATION_JSON_VALUE)
@@ -157,6 +252,50 @@ class NotesResource {
 			.build();
 	}
 
+	/**
+	 * Converts an If-Match header into the version that the note is expected to have, i.e. the ETag returned when reading
+	 * the note.
+	 *
+	 * @param  ifMatch the If-Match header.
+	 * @return         the expected version or null if the header is absent or a wildcard (i.e. any version matches).
+	 * @throws Problem with status PRECONDITION_FAILED if the header doesn't hold a (single, strong) version ETag, which
+	 *                 can never match.
+	 */
+	private static Integer toExpectedVersion(final String ifMatch) {
+		if (isNull(ifMatch) || "*".equals(ifMatch.strip())) {
+			return null;
+		}
+
+		final var eTags = ETag.parse(ifMatch);
+		if (eTags.size() != 1 || eTags.getFirst().weak() || !eTags.getFirst().tag().matches("\\d{1,9}")) {
+			throw Problem.valueOf(PRECONDITION_FAILED, ERROR_IF_MATCH_NOT_A_VERSION.formatted(ifMatch));
+		}
+
+		return Integer.valueOf(eTags.getFirst().tag());
+	}
+
+	/**
+	 * Validates a note of a bulk request, so that invalid notes can be reported per note instead of failing the request.
+	 *
+	 * @param  createNoteRequest the note to validate.
+	 * @return                   the constraint violations of the note or null if the note is valid.
+	 */
+	private String validate(final CreateNoteRequest createNoteRequest) {
+		if (isNull(createNoteRequest)) {
+			return "must not be null";
+		}
+
+		final var violations = validator.validate(createNoteRequest);
+		if (violations.isEmpty()) {
+			return null;
+		}
+
+		return violations.stream()
+			.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+			.sorted()
+			.collect(joining(", "));
+	}
+
 	HttpHeaders createRevisionHeaders(final RevisionInformation revisionInformation, final HttpHeaders additionalHeaders) {
 		final var httpHeaders = new HttpHeaders();
 
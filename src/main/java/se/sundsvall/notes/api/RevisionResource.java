@@ -2,6 +2,8 @@ package se.sundsvall.notes.api;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,14 +17,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import se.sundsvall.dept44.common.validators.annotation.ValidMunicipalityId;
 import se.sundsvall.dept44.common.validators.annotation.ValidUuid;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
 import se.sundsvall.notes.api.model.DifferenceResponse;
 import se.sundsvall.notes.api.model.Revision;
+import se.sundsvall.notes.api.model.RevisionDifference;
 import se.sundsvall.notes.service.RevisionService;
+import tools.jackson.databind.ObjectMapper;
 
+import static java.util.Objects.nonNull;
+import static org.springframework.http.HttpHeaders.ETAG;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
 import static org.springframework.http.ResponseEntity.ok;
@@ -34,14 +42,17 @@ import static org.springframework.http.ResponseEntity.ok;
 class RevisionResource {
 
 	private final RevisionService revisionService;
+	private final ObjectMapper objectMapper;
 
-	RevisionResource(final RevisionService revisionService) {
+	RevisionResource(final RevisionService revisionService, final ObjectMapper objectMapper) {
 		this.revisionService = revisionService;
+		this.objectMapper = objectMapper;
 	}
 
 	@GetMapping(produces = APPLICATION_JSON_VALUE)
-	@Operation(summary = "Get revisions by note ID", responses = {
-		@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
+	@Operation(summary = "Get revisions by note ID", description = "The ETag of the response is the current version of the note. A request with a matching If-None-Match header is answered with 304 without reading the revisions.", responses = {
+		@ApiResponse(responseCode = "200", headers = @Header(name = ETAG, schema = @Schema(type = "string")), description = "Successful operation", useReturnTypeSchema = true),
+		@ApiResponse(responseCode = "304", description = "Not modified"),
 		@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
 			Problem.class, ConstraintViolationProblem.class
 		}))),
@@ -50,7 +61,13 @@ class RevisionResource {
 	})
 	ResponseEntity<List<Revision>> getRevisionsByNoteId(
 		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @PathVariable @ValidMunicipalityId final String municipalityId,
-		@Parameter(name = "id", description = "Note ID", example = "b82bd8ac-1507-4d9a-958d-369261eecc15") @ValidUuid @PathVariable final String id) {
+		@Parameter(name = "id", description = "Note ID", example = "b82bd8ac-1507-4d9a-958d-369261eecc15") @ValidUuid @PathVariable final String id,
+		final WebRequest webRequest) {
+
+		final var currentVersion = revisionService.getCurrentVersion(id, municipalityId);
+		if (nonNull(currentVersion) && webRequest.checkNotModified(currentVersion.toString())) {
+			return null;
+		}
 
 		return ok(revisionService.getRevisions(id, municipalityId));
 	}
@@ -72,4 +89,31 @@ class RevisionResource {
 
 		return ok(revisionService.diff(id, municipalityId, source, target));
 	}
+
+	@GetMapping(path = "/differences", produces = APPLICATION_JSON_VALUE)
+	@Operation(summary = "Diff each pair of consecutive revisions by noteId within a version range", description = "The differences are streamed in version order", responses = {
+		@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = RevisionDifference.class)))),
+		@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+			Problem.class, ConstraintViolationProblem.class
+		}))),
+		@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
+		@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	})
+	ResponseEntity<StreamingResponseBody> getDifferencesByVersionRange(
+		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @PathVariable @ValidMunicipalityId final String municipalityId,
+		@Parameter(name = "id", description = "Note ID", example = "b82bd8ac-1507-4d9a-958d-369261eecc15") @ValidUuid @PathVariable final String id,
+		@Parameter(name = "from", description = "First version of the range", example = "1", required = true) @Range(min = 0, max = Integer.MAX_VALUE) @RequestParam final Integer from,
+		@Parameter(name = "to", description = "Last version of the range", example = "5", required = true) @Range(min = 0, max = Integer.MAX_VALUE) @RequestParam final Integer to) {
+
+		// Verified before streaming starts, as the status can't be changed once the response is committed.
+		revisionService.verifyVersionRange(id, municipalityId, from, to);
+
+		return ok(outputStream -> {
+			try (final var generator = objectMapper.createGenerator(outputStream)) {
+				generator.writeStartArray();
+				revisionService.diffVersionRange(id, municipalityId, from, to, generator::writePOJO);
+				generator.writeEndArray();
+			}
+		});
+	}
 }
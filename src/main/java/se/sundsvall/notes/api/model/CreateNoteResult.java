@@ -0,0 +1,121 @@
+package se.sundsvall.notes.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Objects;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+@Schema(description = "CreateNoteResult model")
+public class CreateNoteResult {
+
+	@Schema(description = "Index of the note in the request", examples = "0", accessMode = READ_ONLY)
+	private Integer index;
+
+	@Schema(description = "HTTP status of the creation of the note", examples = "201", accessMode = READ_ONLY)
+	private Integer status;
+
+	@Schema(description = "Id of the created note", examples = "b82bd8ac-1507-4d9a-958d-369261eecc15", accessMode = READ_ONLY)
+	private String id;
+
+	@Schema(description = "Id of the initial revision of the created note", examples = "e9c7b4a8-3d9f-4d55-9a4e-0f6a2c6d7b11", accessMode = READ_ONLY)
+	private String revisionId;
+
+	@Schema(description = "Description of why the note could not be created", examples = "subject: must not be blank", accessMode = READ_ONLY)
+	private String detail;
+
+	public static CreateNoteResult create() {
+		return new CreateNoteResult();
+	}
+
+	public Integer getIndex() {
+		return index;
+	}
+
+	public void setIndex(final Integer index) {
+		this.index = index;
+	}
+
+	public CreateNoteResult withIndex(final Integer index) {
+		this.index = index;
+		return this;
+	}
+
+	public Integer getStatus() {
+		return status;
+	}
+
+	public void setStatus(final Integer status) {
+		this.status = status;
+	}
+
+	public CreateNoteResult withStatus(final Integer status) {
+		this.status = status;
+		return this;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(final String id) {
+		this.id = id;
+	}
+
+	public CreateNoteResult withId(final String id) {
+		this.id = id;
+		return this;
+	}
+
+	public String getRevisionId() {
+		return revisionId;
+	}
+
+	public void setRevisionId(final String revisionId) {
+		this.revisionId = revisionId;
+	}
+
+	public CreateNoteResult withRevisionId(final String revisionId) {
+		this.revisionId = revisionId;
+		return this;
+	}
+
+	public String getDetail() {
+		return detail;
+	}
+
+	public void setDetail(final String detail) {
+		this.detail = detail;
+	}
+
+	public CreateNoteResult withDetail(final String detail) {
+		this.detail = detail;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(detail, id, index, revisionId, status);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		final CreateNoteResult other = (CreateNoteResult) obj;
+		return Objects.equals(detail, other.detail) && Objects.equals(id, other.id) && Objects.equals(index, other.index) && Objects.equals(revisionId, other.revisionId) && Objects.equals(status, other.status);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("CreateNoteResult [index=").append(index).append(", status=").append(status).append(", id=").append(id).append(", revisionId=").append(revisionId).append(", detail=").append(detail).append("]");
+		return builder.toString();
+	}
+}
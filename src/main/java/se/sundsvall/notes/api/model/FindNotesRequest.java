@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Min;
 import java.util.Objects;
 import se.sundsvall.dept44.common.validators.annotation.ValidUuid;
 
+import static java.lang.Boolean.parseBoolean;
 import static java.lang.Integer.parseInt;
 
 @Schema(description = "FindNotesRequest model")
@@ -13,6 +14,7 @@ public class FindNotesRequest {
 
 	private static final String DEFAULT_PAGE = "1";
 	private static final String DEFAULT_LIMIT = "100";
+	private static final String DEFAULT_INCLUDE_TOTALS = "true";
 
 	@Schema(description = "Context for note", examples = "SUPPORT")
 	private String context;
@@ -39,6 +41,12 @@ public class FindNotesRequest {
 	@Max(1000)
 	protected int limit = parseInt(DEFAULT_LIMIT);
 
+	@Schema(description = "Cursor for keyset pagination. Send '*' to fetch the first page in cursor mode and then the nextCursor of the previous response. When set, page is ignored and no totals are calculated", examples = "*")
+	private String cursor;
+
+	@Schema(description = "If totalRecords and totalPages should be calculated. Set to false to skip the count and only get hasNext in the response", examples = "false", defaultValue = DEFAULT_INCLUDE_TOTALS)
+	protected boolean includeTotals = parseBoolean(DEFAULT_INCLUDE_TOTALS);
+
 	public static FindNotesRequest create() {
 		return new FindNotesRequest();
 	}
@@ -134,9 +142,35 @@ public class FindNotesRequest {
 		return this;
 	}
 
+	public String getCursor() {
+		return cursor;
+	}
+
+	public void setCursor(String cursor) {
+		this.cursor = cursor;
+	}
+
+	public FindNotesRequest withCursor(String cursor) {
+		this.cursor = cursor;
+		return this;
+	}
+
+	public boolean isIncludeTotals() {
+		return includeTotals;
+	}
+
+	public void setIncludeTotals(boolean includeTotals) {
+		this.includeTotals = includeTotals;
+	}
+
+	public FindNotesRequest withIncludeTotals(boolean includeTotals) {
+		this.includeTotals = includeTotals;
+		return this;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(caseId, clientId, context, limit, page, partyId, role);
+		return Objects.hash(caseId, clientId, context, cursor, includeTotals, limit, page, partyId, role);
 	}
 
 	@Override
@@ -151,7 +185,7 @@ public class FindNotesRequest {
 			return false;
 		}
 		FindNotesRequest other = (FindNotesRequest) obj;
-		return Objects.equals(caseId, other.caseId) && Objects.equals(clientId, other.clientId) && Objects.equals(context, other.context) && limit == other.limit && page == other.page && Objects.equals(partyId, other.partyId) && Objects.equals(role,
+		return Objects.equals(caseId, other.caseId) && Objects.equals(clientId, other.clientId) && Objects.equals(context, other.context) && Objects.equals(cursor, other.cursor) && includeTotals == other.includeTotals && limit == other.limit && page == other.page && Objects.equals(partyId, other.partyId) && Objects.equals(role,
 			other.role);
 	}
 
@@ -164,6 +198,8 @@ public class FindNotesRequest {
 			.append(", caseId=").append(caseId)
 			.append(", page=").append(page)
 			.append(", limit=").append(limit)
+			.append(", cursor=").append(cursor)
+			.append(", includeTotals=").append(includeTotals)
 			.append("]").toString();
 	}
 }
@@ -1,8 +1,10 @@
 package se.sundsvall.notes.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.Objects;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
 
 @Schema(description = "Metadata model")
@@ -17,38 +19,46 @@ public class MetaData {
 	@Schema(description = "Displayed objects on current page", examples = "13", accessMode = READ_ONLY)
 	private int count;
 
-	@Schema(description = "Total amount of hits based on provided search parameters", examples = "98", accessMode = READ_ONLY)
-	private long totalRecords;
+	@Schema(description = "Total amount of hits based on provided search parameters. Not present when totals aren't counted (includeTotals is false)", examples = "98", accessMode = READ_ONLY)
+	@JsonInclude(NON_NULL)
+	private Long totalRecords;
 
-	@Schema(description = "Total amount of pages based on provided search parameters", examples = "23", accessMode = READ_ONLY)
-	private int totalPages;
+	@Schema(description = "Total amount of pages based on provided search parameters. Not present when totals aren't counted (includeTotals is false)", examples = "23", accessMode = READ_ONLY)
+	@JsonInclude(NON_NULL)
+	private Integer totalPages;
+
+	@Schema(description = "If there are more hits after the current page", examples = "true", accessMode = READ_ONLY)
+	private boolean hasNext;
+
+	@Schema(description = "Cursor to send in order to fetch the next page. Only present in cursor mode when there are more hits", examples = "MjAyMi0wMS0wMVQxMjoxNDozMi4yMzRafGEyZjQwZmM3LTdkNzAtNDA0Yi1hMjk0LTg1ZTRmN2VmZjU1ZQ", accessMode = READ_ONLY)
+	private String nextCursor;
 
 	public static MetaData create() {
 		return new MetaData();
 	}
 
-	public long getTotalRecords() {
+	public Long getTotalRecords() {
 		return totalRecords;
 	}
 
-	public void setTotalRecords(long totalRecords) {
+	public void setTotalRecords(Long totalRecords) {
 		this.totalRecords = totalRecords;
 	}
 
-	public MetaData withTotalRecords(long totalRecords) {
+	public MetaData withTotalRecords(Long totalRecords) {
 		this.totalRecords = totalRecords;
 		return this;
 	}
 
-	public int getTotalPages() {
+	public Integer getTotalPages() {
 		return totalPages;
 	}
 
-	public void setTotalPages(int totalPages) {
+	public void setTotalPages(Integer totalPages) {
 		this.totalPages = totalPages;
 	}
 
-	public MetaData withTotalPages(int totalPages) {
+	public MetaData withTotalPages(Integer totalPages) {
 		this.totalPages = totalPages;
 		return this;
 	}
@@ -92,9 +102,35 @@ public class MetaData {
 		return this;
 	}
 
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	public MetaData withHasNext(boolean hasNext) {
+		this.hasNext = hasNext;
+		return this;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	public MetaData withNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+		return this;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(count, limit, page, totalPages, totalRecords);
+		return Objects.hash(count, hasNext, limit, nextCursor, page, totalPages, totalRecords);
 	}
 
 	@Override
@@ -109,13 +145,13 @@ public class MetaData {
 			return false;
 		}
 		MetaData other = (MetaData) obj;
-		return count == other.count && limit == other.limit && page == other.page && totalPages == other.totalPages && totalRecords == other.totalRecords;
+		return count == other.count && limit == other.limit && page == other.page && Objects.equals(totalPages, other.totalPages) && Objects.equals(totalRecords, other.totalRecords) && hasNext == other.hasNext && Objects.equals(nextCursor, other.nextCursor);
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
-		builder.append("MetaData [page=").append(page).append(", limit=").append(limit).append(", count=").append(count).append(", totalRecords=").append(totalRecords).append(", totalPages=").append(totalPages).append("]");
+		builder.append("MetaData [page=").append(page).append(", limit=").append(limit).append(", count=").append(count).append(", totalRecords=").append(totalRecords).append(", totalPages=").append(totalPages).append(", hasNext=").append(hasNext).append(", nextCursor=").append(nextCursor).append("]");
 		return builder.toString();
 	}
 
@@ -0,0 +1,91 @@
+package se.sundsvall.notes.api.model;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Objects;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+@Schema(description = "RevisionDifference model")
+public class RevisionDifference {
+
+	@Schema(description = "Source version", examples = "1", accessMode = READ_ONLY)
+	private Integer source;
+
+	@Schema(description = "Target version", examples = "2", accessMode = READ_ONLY)
+	private Integer target;
+
+	@ArraySchema(schema = @Schema(implementation = Operation.class, accessMode = READ_ONLY))
+	private List<Operation> operations;
+
+	public static RevisionDifference create() {
+		return new RevisionDifference();
+	}
+
+	public Integer getSource() {
+		return source;
+	}
+
+	public void setSource(final Integer source) {
+		this.source = source;
+	}
+
+	public RevisionDifference withSource(final Integer source) {
+		this.source = source;
+		return this;
+	}
+
+	public Integer getTarget() {
+		return target;
+	}
+
+	public void setTarget(final Integer target) {
+		this.target = target;
+	}
+
+	public RevisionDifference withTarget(final Integer target) {
+		this.target = target;
+		return this;
+	}
+
+	public List<Operation> getOperations() {
+		return operations;
+	}
+
+	public void setOperations(final List<Operation> operations) {
+		this.operations = operations;
+	}
+
+	public RevisionDifference withOperations(final List<Operation> operations) {
+		this.operations = operations;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(operations, source, target);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		final RevisionDifference other = (RevisionDifference) obj;
+		return Objects.equals(operations, other.operations) && Objects.equals(source, other.source) && Objects.equals(target, other.target);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("RevisionDifference [source=").append(source).append(", target=").append(target).append(", operations=").append(operations).append("]");
+		return builder.toString();
+	}
+}
@@ -9,6 +9,7 @@ public class RevisionInformation {
 	private Note note;
 	private Revision currentRevision;
 	private Revision previousRevision;
+	private Integer currentVersion;
 
 	public static RevisionInformation create() {
 		return new RevisionInformation();
@@ -57,9 +58,22 @@ public class RevisionInformation {
 		return this;
 	}
 
+	public Integer getCurrentVersion() {
+		return currentVersion;
+	}
+
+	public void setCurrentVersion(final Integer currentVersion) {
+		this.currentVersion = currentVersion;
+	}
+
+	public RevisionInformation withCurrentVersion(final Integer currentVersion) {
+		this.currentVersion = currentVersion;
+		return this;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(currentRevision, previousRevision, note);
+		return Objects.hash(currentRevision, previousRevision, currentVersion, note);
 	}
 
 	@Override
@@ -72,6 +86,7 @@ public class RevisionInformation {
 		}
 		return Objects.equals(currentRevision, other.currentRevision)
 			&& Objects.equals(previousRevision, other.previousRevision)
+			&& Objects.equals(currentVersion, other.currentVersion)
 			&& Objects.equals(note, other.note)
 			&& Objects.equals(isNewRevisionCreated(), other.isNewRevisionCreated());
 	}
@@ -82,6 +97,7 @@ public class RevisionInformation {
 		builder.append("RevisionInformation [note=").append(note)
 			.append(", currentRevision=").append(currentRevision)
 			.append(", previousRevision=").append(previousRevision)
+			.append(", currentVersion=").append(currentVersion)
 			.append(", newRevisionCreated=").append(isNewRevisionCreated())
 			.append("]");
 		return builder.toString();
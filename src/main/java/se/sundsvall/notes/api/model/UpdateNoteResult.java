@@ -0,0 +1,122 @@
+package se.sundsvall.notes.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Objects;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+@Schema(description = "UpdateNoteResult model")
+public class UpdateNoteResult {
+
+	@Schema(description = "Id of the note", examples = "b82bd8ac-1507-4d9a-958d-369261eecc15", accessMode = READ_ONLY)
+	private String id;
+
+	@Schema(description = "HTTP status of the update of the note", examples = "200", accessMode = READ_ONLY)
+	private Integer status;
+
+	@Schema(description = "The revision created by the update, absent if the note was not changed", accessMode = READ_ONLY)
+	private Revision currentRevision;
+
+	@Schema(description = "The revision preceding the revision created by the update", accessMode = READ_ONLY)
+	private Revision previousRevision;
+
+	@Schema(description = "Description of why the note could not be updated", examples = "Note with id 'b82bd8ac-1507-4d9a-958d-369261eecc15' not found", accessMode = READ_ONLY)
+	private String detail;
+
+	public static UpdateNoteResult create() {
+		return new UpdateNoteResult();
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(final String id) {
+		this.id = id;
+	}
+
+	public UpdateNoteResult withId(final String id) {
+		this.id = id;
+		return this;
+	}
+
+	public Integer getStatus() {
+		return status;
+	}
+
+	public void setStatus(final Integer status) {
+		this.status = status;
+	}
+
+	public UpdateNoteResult withStatus(final Integer status) {
+		this.status = status;
+		return this;
+	}
+
+	public Revision getCurrentRevision() {
+		return currentRevision;
+	}
+
+	public void setCurrentRevision(final Revision currentRevision) {
+		this.currentRevision = currentRevision;
+	}
+
+	public UpdateNoteResult withCurrentRevision(final Revision currentRevision) {
+		this.currentRevision = currentRevision;
+		return this;
+	}
+
+	public Revision getPreviousRevision() {
+		return previousRevision;
+	}
+
+	public void setPreviousRevision(final Revision previousRevision) {
+		this.previousRevision = previousRevision;
+	}
+
+	public UpdateNoteResult withPreviousRevision(final Revision previousRevision) {
+		this.previousRevision = previousRevision;
+		return this;
+	}
+
+	public String getDetail() {
+		return detail;
+	}
+
+	public void setDetail(final String detail) {
+		this.detail = detail;
+	}
+
+	public UpdateNoteResult withDetail(final String detail) {
+		this.detail = detail;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(currentRevision, detail, id, previousRevision, status);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		final UpdateNoteResult other = (UpdateNoteResult) obj;
+		return Objects.equals(currentRevision, other.currentRevision) && Objects.equals(detail, other.detail) && Objects.equals(id, other.id) && Objects.equals(previousRevision, other.previousRevision) && Objects.equals(status, other.status);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("UpdateNoteResult [id=").append(id).append(", status=").append(status).append(", currentRevision=").append(currentRevision).append(", previousRevision=").append(previousRevision).append(", detail=").append(detail).append(
+			"]");
+		return builder.toString();
+	}
+}
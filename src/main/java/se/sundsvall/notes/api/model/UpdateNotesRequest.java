@@ -0,0 +1,98 @@
+package se.sundsvall.notes.api.model;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.Objects;
+
+import static io.swagger.v3.oas.annotations.media.Schema.RequiredMode.REQUIRED;
+
+@Schema(description = "UpdateNotesRequest model")
+public class UpdateNotesRequest {
+
+	@ArraySchema(schema = @Schema(description = "Id of a note to update", examples = "b82bd8ac-1507-4d9a-958d-369261eecc15"), arraySchema = @Schema(description = "Ids of the notes to update. Either ids or caseId must be provided"))
+	@Size(min = 1, max = 1000)
+	private List<String> ids;
+
+	@Schema(description = "Id of the case whose notes are updated. Either ids or caseId must be provided", examples = "12345")
+	@Size(min = 1, max = 255)
+	private String caseId;
+
+	@Schema(description = "The changes to apply to each note", requiredMode = REQUIRED)
+	@NotNull
+	@Valid
+	private UpdateNoteRequest changes;
+
+	public static UpdateNotesRequest create() {
+		return new UpdateNotesRequest();
+	}
+
+	public List<String> getIds() {
+		return ids;
+	}
+
+	public void setIds(final List<String> ids) {
+		this.ids = ids;
+	}
+
+	public UpdateNotesRequest withIds(final List<String> ids) {
+		this.ids = ids;
+		return this;
+	}
+
+	public String getCaseId() {
+		return caseId;
+	}
+
+	public void setCaseId(final String caseId) {
+		this.caseId = caseId;
+	}
+
+	public UpdateNotesRequest withCaseId(final String caseId) {
+		this.caseId = caseId;
+		return this;
+	}
+
+	public UpdateNoteRequest getChanges() {
+		return changes;
+	}
+
+	public void setChanges(final UpdateNoteRequest changes) {
+		this.changes = changes;
+	}
+
+	public UpdateNotesRequest withChanges(final UpdateNoteRequest changes) {
+		this.changes = changes;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(caseId, changes, ids);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		final var other = (UpdateNotesRequest) obj;
+		return Objects.equals(caseId, other.caseId) && Objects.equals(changes, other.changes) && Objects.equals(ids, other.ids);
+	}
+
+	@Override
+	public String toString() {
+		final var builder = new StringBuilder();
+		builder.append("UpdateNotesRequest [ids=").append(ids).append(", caseId=").append(caseId).append(", changes=").append(changes).append("]");
+		return builder.toString();
+	}
+}
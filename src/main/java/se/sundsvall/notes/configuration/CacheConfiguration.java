@@ -0,0 +1,113 @@
+package se.sundsvall.notes.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import se.sundsvall.notes.api.model.DifferenceResponse;
+import se.sundsvall.notes.api.model.Operation;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties({
+	DiffCacheProperties.class, NoteCacheProperties.class, InvalidationProperties.class
+})
+public class CacheConfiguration {
+
+	public static final String DIFF_CACHE = "revisionDiffs";
+	public static final String NOTE_CACHE = "notes";
+
+	static final String METRIC_CACHE_WEIGHT = "cache.weight";
+
+	// Rough per entry and per operation overhead (object headers, references and collection entries) in bytes
+	private static final int ENTRY_OVERHEAD = 128;
+	private static final int OPERATION_OVERHEAD = 64;
+
+	@Bean
+	CacheManager cacheManager(final DiffCacheProperties diffCacheProperties, final NoteCacheProperties noteCacheProperties, final MeterRegistry meterRegistry) {
+		final var cacheManager = new SimpleCacheManager();
+		cacheManager.setCaches(List.of(createDiffCache(diffCacheProperties, meterRegistry), createNoteCache(noteCacheProperties, meterRegistry)));
+		return cacheManager;
+	}
+
+	private static Cache createDiffCache(final DiffCacheProperties properties, final MeterRegistry meterRegistry) {
+		if (!properties.enabled()) {
+			return new NoOpCache(DIFF_CACHE);
+		}
+
+		final var nativeCache = Caffeine.newBuilder()
+			.maximumWeight(properties.maximumWeight())
+			.weigher((key, value) -> weigh(value))
+			.expireAfterAccess(properties.expireAfterAccess())
+			.recordStats()
+			.build();
+
+		// Hit ratio, evictions (count and weight) and the current weight of the cache
+		CaffeineCacheMetrics.monitor(meterRegistry, nativeCache, DIFF_CACHE);
+		Gauge.builder(METRIC_CACHE_WEIGHT, nativeCache, cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+			.tag("cache", DIFF_CACHE)
+			.description("The approximate size in bytes of the cached entries")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+
+		return new CaffeineCache(DIFF_CACHE, nativeCache);
+	}
+
+	private static Cache createNoteCache(final NoteCacheProperties properties, final MeterRegistry meterRegistry) {
+		if (!properties.enabled()) {
+			return new NoOpCache(NOTE_CACHE);
+		}
+
+		final var nativeCache = Caffeine.newBuilder()
+			.maximumSize(properties.maximumSize())
+			.expireAfterWrite(properties.expireAfterWrite())
+			.recordStats()
+			.build();
+
+		// Hit ratio, evictions and the number of cached notes
+		CaffeineCacheMetrics.monitor(meterRegistry, nativeCache, NOTE_CACHE);
+
+		// Not transaction aware, as NoteCache puts loaded notes at once and defers its evictions until commit itself
+		return new CaffeineCache(NOTE_CACHE, nativeCache);
+	}
+
+	/**
+	 * Estimates the retained size in bytes of a cached diff, dominated by the (UTF-16) characters of the operation
+	 * values.
+	 *
+	 * @param  value the cached value.
+	 * @return       the estimated size in bytes.
+	 */
+	static int weigh(final Object value) {
+		if (!(value instanceof final DifferenceResponse differenceResponse)) {
+			return ENTRY_OVERHEAD;
+		}
+
+		final var operationsWeight = Optional.ofNullable(differenceResponse.getOperations()).orElse(List.of()).stream()
+			.filter(Objects::nonNull)
+			.mapToLong(CacheConfiguration::weighOperation)
+			.sum();
+
+		return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + operationsWeight);
+	}
+
+	private static long weighOperation(final Operation operation) {
+		return OPERATION_OVERHEAD + 2L * (length(operation.getOp()) + length(operation.getPath()) + length(operation.getValue()) + length(operation.getFromValue()));
+	}
+
+	private static int length(final String value) {
+		return Optional.ofNullable(value).map(String::length).orElse(0);
+	}
+}
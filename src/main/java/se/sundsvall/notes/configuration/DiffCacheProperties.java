@@ -0,0 +1,19 @@
+package se.sundsvall.notes.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Properties for the cache of computed revision diffs.
+ *
+ * @param enabled           if the cache is enabled.
+ * @param maximumWeight     the maximum (approximate) size in bytes of the cached diffs.
+ * @param expireAfterAccess the time after which a diff that hasn't been read is evicted.
+ */
+@ConfigurationProperties(prefix = "notes.cache.diff")
+public record DiffCacheProperties(
+	@DefaultValue("true") boolean enabled,
+	@DefaultValue("52428800") long maximumWeight,
+	@DefaultValue("PT1H") Duration expireAfterAccess) {
+}
@@ -0,0 +1,50 @@
+package se.sundsvall.notes.configuration;
+
+import jakarta.validation.Valid;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Properties for the invalidation of cached notes between the instances of the service.
+ *
+ * @param type     how changes of notes are published to the other instances.
+ * @param database properties for the DATABASE type.
+ */
+@Validated
+@ConfigurationProperties(prefix = "notes.invalidation")
+public record InvalidationProperties(
+	@DefaultValue("NONE") Type type,
+	@DefaultValue @Valid Database database) {
+
+	public enum Type {
+
+		/**
+		 * Changes are not published, i.e. only the instance that handled a write evicts the note from its cache. Suitable
+		 * for a single instance, as other instances serve a changed note stale until it expires from their caches.
+		 */
+		NONE,
+
+		/**
+		 * Changes are written to a change log table (when the transaction of the write has committed) that every instance
+		 * polls.
+		 */
+		DATABASE
+	}
+
+	/**
+	 * @param pollInterval  the time between the polls of the change log.
+	 * @param lookback      how far before the previous poll each poll reads, covering changes that are committed after
+	 *                      the poll (changes are stamped after the write has committed, so this is only the insert of
+	 *                      the change itself) and clock differences between the instances.
+	 * @param retention     the time after which changes are purged from the change log.
+	 * @param purgeInterval the time between the purges of the change log.
+	 */
+	public record Database(
+		@DefaultValue("PT5S") Duration pollInterval,
+		@DefaultValue("PT30S") Duration lookback,
+		@DefaultValue("PT1H") Duration retention,
+		@DefaultValue("PT10M") Duration purgeInterval) {
+	}
+}
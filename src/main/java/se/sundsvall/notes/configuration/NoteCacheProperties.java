@@ -0,0 +1,20 @@
+package se.sundsvall.notes.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Properties for the cache of notes read by id.
+ *
+ * @param enabled          if the cache is enabled.
+ * @param maximumSize      the maximum number of cached notes.
+ * @param expireAfterWrite the time after which a cached note is evicted, which also bounds how long a note changed by
+ *                         another instance of the service can be served stale.
+ */
+@ConfigurationProperties(prefix = "notes.cache.note")
+public record NoteCacheProperties(
+	@DefaultValue("true") boolean enabled,
+	@DefaultValue("10000") long maximumSize,
+	@DefaultValue("PT5M") Duration expireAfterWrite) {
+}
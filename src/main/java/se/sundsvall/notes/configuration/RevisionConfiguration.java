@@ -0,0 +1,11 @@
+package se.sundsvall.notes.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(RevisionProperties.class)
+public class RevisionConfiguration {
+}
@@ -0,0 +1,68 @@
+package se.sundsvall.notes.configuration;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Properties for the storage of revisions.
+ *
+ * @param storageMode      how the snapshots of new revisions are stored.
+ * @param keyframeInterval the number of versions between full snapshots (keyframes) when storage mode is DELTA.
+ * @param compaction       properties for the job that converts existing revisions into the current storage mode.
+ * @param compression      properties for the compression of stored snapshots.
+ */
+@Validated
+@ConfigurationProperties(prefix = "notes.revision")
+public record RevisionProperties(
+	@DefaultValue("FULL") StorageMode storageMode,
+	@DefaultValue("10") @Positive int keyframeInterval,
+	@DefaultValue @Valid Compaction compaction,
+	@DefaultValue @Valid Compression compression) {
+
+	public enum StorageMode {
+
+		/**
+		 * Every revision stores a full snapshot of the entity.
+		 */
+		FULL,
+
+		/**
+		 * Revisions store an RFC6902 patch against the previous version, with a full snapshot every keyframe interval
+		 * versions.
+		 */
+		DELTA
+	}
+
+	/**
+	 * @param cron      the cron expression for the compaction job ("-" disables the job).
+	 * @param batchSize the maximum number of entities that are compacted per run.
+	 */
+	public record Compaction(
+		@DefaultValue("-") String cron,
+		@DefaultValue("100") @Positive int batchSize) {
+	}
+
+	/**
+	 * @param enabled   whether snapshots of new and rewritten revisions are stored compressed.
+	 * @param cron      the cron expression for the job that compresses existing revisions ("-" disables the job).
+	 * @param batchSize the maximum number of revisions that are compressed per run.
+	 */
+	public record Compression(
+		@DefaultValue("false") boolean enabled,
+		@DefaultValue("-") String cron,
+		@DefaultValue("100") @Positive int batchSize) {
+	}
+
+	/**
+	 * Returns the number of versions between full snapshots in the configured storage mode, i.e. 1 when every revision
+	 * is a full snapshot.
+	 *
+	 * @return the effective keyframe interval.
+	 */
+	public int effectiveKeyframeInterval() {
+		return storageMode == StorageMode.DELTA ? keyframeInterval : 1;
+	}
+}
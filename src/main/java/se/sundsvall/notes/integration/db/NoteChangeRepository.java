@@ -0,0 +1,47 @@
+package se.sundsvall.notes.integration.db;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.notes.integration.db.model.NoteChangeEntity;
+
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+
+@CircuitBreaker(name = "NoteChangeRepository")
+public interface NoteChangeRepository extends JpaRepository<NoteChangeEntity, String> {
+
+	/**
+	 * Save note changes in a new transaction, as they are saved after the transaction of the write has committed (see
+	 * {@link org.springframework.transaction.support.TransactionSynchronization#afterCommit()}).
+	 *
+	 * @param  entities the note changes.
+	 * @return          the saved note changes.
+	 */
+	@Override
+	@Transactional(propagation = REQUIRES_NEW)
+	<S extends NoteChangeEntity> List<S> saveAll(Iterable<S> entities);
+
+	/**
+	 * Find the note changes created at or after the provided point in time.
+	 *
+	 * @param  created the point in time.
+	 * @return         a list of the matching note changes.
+	 */
+	List<NoteChangeEntity> findByCreatedGreaterThanEqual(OffsetDateTime created);
+
+	/**
+	 * Delete the note changes created before the provided point in time with a single DELETE statement.
+	 *
+	 * @param  created the point in time.
+	 * @return         the number of deleted note changes.
+	 */
+	@Transactional
+	@Modifying
+	@Query("delete from NoteChangeEntity c where c.created < :created")
+	int deleteByCreatedBefore(@Param("created") OffsetDateTime created);
+}
@@ -1,36 +1,153 @@
 package se.sundsvall.notes.integration.db;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import se.sundsvall.notes.api.model.FindNotesRequest;
 import se.sundsvall.notes.integration.db.model.NoteEntity;
 
+import static jakarta.persistence.LockModeType.PESSIMISTIC_WRITE;
+import static java.util.Collections.emptyList;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.data.support.PageableExecutionUtils.getPage;
 import static se.sundsvall.notes.integration.db.specification.NoteSpecification.withCaseId;
 import static se.sundsvall.notes.integration.db.specification.NoteSpecification.withClientId;
 import static se.sundsvall.notes.integration.db.specification.NoteSpecification.withContext;
+import static se.sundsvall.notes.integration.db.specification.NoteSpecification.withCreatedAndIdBefore;
 import static se.sundsvall.notes.integration.db.specification.NoteSpecification.withMunicipalityId;
 import static se.sundsvall.notes.integration.db.specification.NoteSpecification.withPartyId;
 import static se.sundsvall.notes.integration.db.specification.NoteSpecification.withRole;
 
 @CircuitBreaker(name = "NoteRepository")
-public interface NoteRepository extends JpaRepository<NoteEntity, String>, JpaSpecificationExecutor<NoteEntity> {
+public interface NoteRepository extends JpaRepository<NoteEntity, String>, JpaSpecificationExecutor<NoteEntity>, NoteSearchRepository {
 
+	Sort KEYSET_SORT = Sort.by(DESC, "created", "id");
+
+	/**
+	 * Find the page of notes matching the provided parameters.
+	 * <p>
+	 * The first page is queried first, and the matches are only counted when the page is full (otherwise the total is
+	 * the number of notes on the page). Later pages are counted first, and the content query is only executed when the
+	 * requested page contains any matches, so that a page past the last page doesn't make the database skip the offset
+	 * of rows.
+	 *
+	 * @param  findNotesRequest the search parameters.
+	 * @param  pageable         the pagination and sort information.
+	 * @param  municipalityId   the id of the municipality.
+	 * @return                  a page of matching notes.
+	 */
 	default Page<NoteEntity> findAllByParameters(final FindNotesRequest findNotesRequest, final Pageable pageable, final String municipalityId) {
-		return this.findAll(withPartyId(findNotesRequest.getPartyId())
-			.and(withCaseId(findNotesRequest.getCaseId()))
-			.and(withContext(findNotesRequest.getContext()))
-			.and(withRole(findNotesRequest.getRole()))
-			.and(withMunicipalityId(municipalityId))
-			.and(withClientId(findNotesRequest.getClientId())), pageable);
+		final var specification = toSpecification(findNotesRequest, municipalityId);
+		if (pageable.getOffset() == 0) {
+			return getPage(this.findContent(specification, pageable), pageable, () -> this.count(specification));
+		}
+
+		final var totalElements = this.count(specification);
+		if (pageable.getOffset() >= totalElements) {
+			return new PageImpl<>(emptyList(), pageable, totalElements);
+		}
+		return new PageImpl<>(this.findContent(specification, pageable), pageable, totalElements);
+	}
+
+	/**
+	 * Find notes matching the provided parameters without counting the total number of matches.
+	 *
+	 * @param  findNotesRequest the search parameters.
+	 * @param  pageable         the pagination and sort information.
+	 * @param  municipalityId   the id of the municipality.
+	 * @return                  a slice of matching notes.
+	 */
+	default Slice<NoteEntity> findSliceByParameters(final FindNotesRequest findNotesRequest, final Pageable pageable, final String municipalityId) {
+		return this.findSlice(toSpecification(findNotesRequest, municipalityId), pageable);
 	}
 
-	boolean existsByIdAndMunicipalityId(String id, String municipalityId);
+	/**
+	 * Find notes matching the provided parameters using keyset pagination, i.e. seeking directly to the notes positioned
+	 * after the provided created and id values (sorted on created and id in descending order) instead of using an offset.
+	 * No count query is executed.
+	 *
+	 * @param  findNotesRequest the search parameters.
+	 * @param  created          created value of the last note on the previous page, or null to start from the beginning.
+	 * @param  id               id of the last note on the previous page, or null to start from the beginning.
+	 * @param  limit            maximum number of notes to return.
+	 * @param  municipalityId   the id of the municipality.
+	 * @return                  a list of matching notes.
+	 */
+	default List<NoteEntity> findAllByParametersAfter(final FindNotesRequest findNotesRequest, final OffsetDateTime created, final String id, final int limit, final String municipalityId) {
+		return this.findBy(toSpecification(findNotesRequest, municipalityId).and(withCreatedAndIdBefore(created, id)),
+			query -> query.sortBy(KEYSET_SORT).limit(limit).all());
+	}
 
 	Optional<NoteEntity> findByIdAndMunicipalityId(String id, String municipalityId);
 
-	void deleteByIdAndMunicipalityId(String id, String municipalityId);
+	/**
+	 * Find note by id and municipalityId and lock it for update (i.e. SELECT ... FOR UPDATE).
+	 * <p>
+	 * The lock is held until the surrounding transaction ends, which serializes concurrent modifications (and thereby
+	 * the revision versions allocated for them) of the same note.
+	 *
+	 * @param  id             the id of the note.
+	 * @param  municipalityId the id of the municipality.
+	 * @return                an optional entity that matches the provided parameters.
+	 */
+	@Lock(PESSIMISTIC_WRITE)
+	Optional<NoteEntity> findWithLockByIdAndMunicipalityId(String id, String municipalityId);
+
+	/**
+	 * Find notes by ids and municipalityId and lock them for update (i.e. SELECT ... FOR UPDATE).
+	 * <p>
+	 * The notes are locked in id order, so that concurrent bulk updates of overlapping notes can't deadlock.
+	 *
+	 * @param  ids            the ids of the notes.
+	 * @param  municipalityId the id of the municipality.
+	 * @return                a list of the found notes ordered by id (ids that don't exist are absent in the list).
+	 */
+	@Lock(PESSIMISTIC_WRITE)
+	List<NoteEntity> findWithLockByIdInAndMunicipalityIdOrderByIdAsc(Collection<String> ids, String municipalityId);
+
+	/**
+	 * Find notes by caseId and municipalityId and lock them for update (i.e. SELECT ... FOR UPDATE).
+	 * <p>
+	 * The notes are locked in id order, so that concurrent bulk updates of overlapping notes can't deadlock.
+	 *
+	 * @param  caseId         the id of the case.
+	 * @param  municipalityId the id of the municipality.
+	 * @return                a list of the notes of the case ordered by id.
+	 */
+	@Lock(PESSIMISTIC_WRITE)
+	List<NoteEntity> findWithLockByCaseIdAndMunicipalityIdOrderByIdAsc(String caseId, String municipalityId);
+
+	/**
+	 * Delete note by id and municipalityId with a single DELETE statement, i.e. without loading the note first.
+	 *
+	 * @param  id             the id of the note.
+	 * @param  municipalityId the id of the municipality.
+	 * @return                the number of deleted notes (0 if no note matches the provided parameters).
+	 */
+	@Modifying
+	@Query("delete from NoteEntity n where n.id = :id and n.municipalityId = :municipalityId")
+	int deleteByIdAndMunicipalityId(@Param("id") String id, @Param("municipalityId") String municipalityId);
+
+	private static Specification<NoteEntity> toSpecification(final FindNotesRequest findNotesRequest, final String municipalityId) {
+		return withPartyId(findNotesRequest.getPartyId())
+			.and(withCaseId(findNotesRequest.getCaseId()))
+			.and(withContext(findNotesRequest.getContext()))
+			.and(withRole(findNotesRequest.getRole()))
+			.and(withMunicipalityId(municipalityId))
+			.and(withClientId(findNotesRequest.getClientId()));
+	}
 }
@@ -0,0 +1,34 @@
+package se.sundsvall.notes.integration.db;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import se.sundsvall.notes.integration.db.model.NoteEntity;
+
+/**
+ * Repository fragment for reading pages of notes without the implicit count query that
+ * {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(Specification, Pageable)} executes.
+ */
+public interface NoteSearchRepository {
+
+	/**
+	 * Find the notes on the requested page matching the provided specification, without counting the matches (the
+	 * caller decides when to count, see {@link NoteRepository#findAllByParameters}).
+	 *
+	 * @param  specification the specification to match.
+	 * @param  pageable      the pagination and sort information.
+	 * @return               a list containing at most page size matching notes.
+	 */
+	List<NoteEntity> findContent(Specification<NoteEntity> specification, Pageable pageable);
+
+	/**
+	 * Find the slice of notes matching the provided specification. One extra row is fetched in order to find out if there
+	 * is a next slice.
+	 *
+	 * @param  specification the specification to match.
+	 * @param  pageable      the pagination and sort information.
+	 * @return               a slice of matching notes.
+	 */
+	Slice<NoteEntity> findSlice(Specification<NoteEntity> specification, Pageable pageable);
+}
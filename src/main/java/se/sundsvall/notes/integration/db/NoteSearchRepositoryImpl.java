@@ -0,0 +1,51 @@
+package se.sundsvall.notes.integration.db;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import se.sundsvall.notes.integration.db.model.NoteEntity;
+
+import static java.util.Objects.nonNull;
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+class NoteSearchRepositoryImpl implements NoteSearchRepository {
+
+	private final EntityManager entityManager;
+
+	NoteSearchRepositoryImpl(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	public List<NoteEntity> findContent(final Specification<NoteEntity> specification, final Pageable pageable) {
+		return find(specification, pageable, pageable.getPageSize());
+	}
+
+	@Override
+	public Slice<NoteEntity> findSlice(final Specification<NoteEntity> specification, final Pageable pageable) {
+		final var matches = find(specification, pageable, pageable.getPageSize() + 1);
+
+		final var hasNext = matches.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? matches.subList(0, pageable.getPageSize()) : matches, pageable, hasNext);
+	}
+
+	private List<NoteEntity> find(final Specification<NoteEntity> specification, final Pageable pageable, final int maxResults) {
+		final var criteriaBuilder = entityManager.getCriteriaBuilder();
+		final var criteriaQuery = criteriaBuilder.createQuery(NoteEntity.class);
+		final var root = criteriaQuery.from(NoteEntity.class);
+
+		final var predicate = specification.toPredicate(root, criteriaQuery, criteriaBuilder);
+		if (nonNull(predicate)) {
+			criteriaQuery.where(predicate);
+		}
+		criteriaQuery.select(root).orderBy(toOrders(pageable.getSort(), root, criteriaBuilder));
+
+		return entityManager.createQuery(criteriaQuery)
+			.setFirstResult((int) pageable.getOffset())
+			.setMaxResults(maxResults)
+			.getResultList();
+	}
+}
@@ -1,40 +1,208 @@
 package se.sundsvall.notes.integration.db;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import se.sundsvall.notes.integration.db.model.RevisionEntity;
+import se.sundsvall.notes.integration.db.model.RevisionHeader;
+import se.sundsvall.notes.integration.db.model.RevisionOwner;
+import se.sundsvall.notes.integration.db.model.RevisionSnapshot;
+
+import static jakarta.persistence.LockModeType.PESSIMISTIC_WRITE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @CircuitBreaker(name = "RevisionRepository")
 public interface RevisionRepository extends JpaRepository<RevisionEntity, String> {
 
 	/**
 	 * Find the last revision by entityId.
+	 * <p>
+	 * Only the revision header is fetched, i.e. the serialized snapshot is not read from the database.
 	 *
 	 * @param  entityId       the entityId to find revisions for.
 	 * @param  municipalityId the municipalityId to find revisions for.
-	 * @return                an optional entity that matches the provided parameters (i.e. last created revision for an
-	 *                        entity).
+	 * @return                an optional revision header that matches the provided parameters (i.e. last created revision
+	 *                        for an entity).
+	 */
+	Optional<RevisionHeader> findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(String entityId, String municipalityId);
+
+	/**
+	 * Find the version of the last revision of a note that exists, i.e. isn't deleted.
+	 * <p>
+	 * Only the version is fetched, by lookups in the primary key of the note and in the unique index of the revisions.
+	 *
+	 * @param  entityId       the id of the note.
+	 * @param  municipalityId the municipalityId of the note.
+	 * @return                an optional version (empty if the note doesn't exist or has no revisions).
 	 */
-	Optional<RevisionEntity> findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(String entityId, String municipalityId);
+	@Query("""
+		select max(r.version) from RevisionEntity r
+		where r.entityId = :entityId and r.municipalityId = :municipalityId
+			and exists (
+				select n.id from NoteEntity n
+				where n.id = :entityId and n.municipalityId = :municipalityId)""")
+	Optional<Integer> findLastVersionOfExistingNote(@Param("entityId") String entityId, @Param("municipalityId") String municipalityId);
 
 	/**
-	 * Find the revision by entityId and version.
+	 * Find the last revisions of several entities in a single query.
+	 * <p>
+	 * Only the revision headers are fetched, i.e. the serialized snapshots are not read from the database.
+	 *
+	 * @param  entityIds      the entityIds to find revisions for.
+	 * @param  municipalityId the municipalityId to find revisions for.
+	 * @return                a list of the last revision header of each entity (entities without revisions are absent
+	 *                        in the list).
+	 */
+	@Query("""
+		select r.id as id, r.entityId as entityId, r.entityType as entityType, r.version as version, r.created as created,
+			r.contentHash as contentHash from RevisionEntity r
+		where r.entityId in :entityIds and r.municipalityId = :municipalityId
+			and r.version = (
+				select max(l.version) from RevisionEntity l
+				where l.entityId = r.entityId and l.municipalityId = r.municipalityId)""")
+	List<RevisionHeader> findLastByEntityIdInAndMunicipalityId(@Param("entityIds") Collection<String> entityIds, @Param("municipalityId") String municipalityId);
+
+	/**
+	 * Find the revisions needed to reconstruct the snapshots of two versions by entityId, in a single query.
+	 * <p>
+	 * For each version this is the revision itself and, if it's stored as a delta, the revisions since the closest
+	 * preceding full snapshot.
+	 *
+	 * @param  entityId       the entityId for the revisions.
+	 * @param  municipalityId the municipalityId for the revisions.
+	 * @param  version1       the first version to reconstruct.
+	 * @param  version2       the second version to reconstruct.
+	 * @return                a list of the revisions ordered by version (versions that don't exist are absent in the
+	 *                        list).
+	 */
+	@Query("""
+		select r from RevisionEntity r
+		where r.entityId = :entityId and r.municipalityId = :municipalityId
+			and (r.version between coalesce((
+				select max(k.version) from RevisionEntity k
+				where k.entityId = :entityId and k.municipalityId = :municipalityId
+					and k.snapshotType = se.sundsvall.notes.integration.db.model.SnapshotType.FULL and k.version <= :version1), :version1) and :version1
+				or r.version between coalesce((
+				select max(k.version) from RevisionEntity k
+				where k.entityId = :entityId and k.municipalityId = :municipalityId
+					and k.snapshotType = se.sundsvall.notes.integration.db.model.SnapshotType.FULL and k.version <= :version2), :version2) and :version2)
+		order by r.version""")
+	List<RevisionEntity> findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(@Param("entityId") String entityId, @Param("municipalityId") String municipalityId,
+		@Param("version1") int version1, @Param("version2") int version2);
+
+	/**
+	 * Find the revision header by entityId and version.
+	 * <p>
+	 * Only the revision header is fetched, i.e. the serialized snapshot is not read from the database.
 	 *
 	 * @param  entityId       the entityId for the revision.
 	 * @param  municipalityId the municipalityId for the revision.
 	 * @param  version        the version for the revision.
-	 * @return                an optional entity that matches the provided parameters.
+	 * @return                an optional revision header that matches the provided parameters.
 	 */
-	Optional<RevisionEntity> findByEntityIdAndMunicipalityIdAndVersion(String entityId, String municipalityId, int version);
+	Optional<RevisionHeader> findHeaderByEntityIdAndMunicipalityIdAndVersion(String entityId, String municipalityId, int version);
 
 	/**
 	 * Find all revisions by entityId and municipalityId.
+	 * <p>
+	 * Only the revision headers are fetched, i.e. the serialized snapshot is not read from the database.
 	 *
 	 * @param  entityId       the entityId.
 	 * @param  municipalityId the id of municipality.
-	 * @return                a list of entities that matches the provided parameter ordered by version descending.
+	 * @return                a list of revision headers that matches the provided parameter ordered by version descending.
+	 */
+	List<RevisionHeader> findAllByEntityIdAndMunicipalityIdOrderByVersionDesc(String entityId, String municipalityId);
+
+	/**
+	 * Stream the snapshots of the revisions within a version range by entityId, ordered by version.
+	 * <p>
+	 * If the first version of the range is stored as a delta, the stream starts with the closest preceding full snapshot
+	 * so that the range can be reconstructed. The stream must be consumed within a transaction and closed after use. Rows
+	 * are fetched from the database in batches while the stream is consumed.
+	 *
+	 * @param  entityId       the entityId for the revisions.
+	 * @param  municipalityId the municipalityId for the revisions.
+	 * @param  from           the first version (inclusive).
+	 * @param  to             the last version (inclusive).
+	 * @return                a stream of revision snapshots ordered by version.
+	 */
+	@Query("""
+		select r.version as version, r.snapshotType as snapshotType, r.serializedSnapshot as serializedSnapshot,
+			r.compressedSnapshot as compressedSnapshot from RevisionEntity r
+		where r.entityId = :entityId and r.municipalityId = :municipalityId
+			and r.version between coalesce((
+				select max(k.version) from RevisionEntity k
+				where k.entityId = :entityId and k.municipalityId = :municipalityId
+					and k.snapshotType = se.sundsvall.notes.integration.db.model.SnapshotType.FULL and k.version <= :from), :from) and :to
+		order by r.version""")
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "25"))
+	Stream<RevisionSnapshot> streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween(@Param("entityId") String entityId, @Param("municipalityId") String municipalityId,
+		@Param("from") int from, @Param("to") int to);
+
+	/**
+	 * Find and lock all revisions by entityId, ordered by version.
+	 * <p>
+	 * The revisions are locked (SELECT ... FOR UPDATE) until the surrounding transaction ends, which serializes
+	 * concurrent rewrites of the revisions of the same entity.
+	 *
+	 * @param  entityId       the entityId for the revisions.
+	 * @param  municipalityId the municipalityId for the revisions.
+	 * @return                a list of revisions ordered by version.
+	 */
+	@Lock(PESSIMISTIC_WRITE)
+	List<RevisionEntity> findWithLockByEntityIdAndMunicipalityIdOrderByVersionAsc(String entityId, String municipalityId);
+
+	/**
+	 * Find the entities that have revisions stored in another way than given by the keyframe rule (see
+	 * {@link se.sundsvall.notes.service.RevisionService}), i.e. exactly the entities that a compaction would change: full
+	 * snapshots of versions that should be patches, or patches of versions that should be full snapshots.
+	 * <p>
+	 * The predicate on the version can't use an index, so every call scans the whole revision table. The query is only
+	 * meant for the compaction job, which is disabled by default and run off-peak after a change of storage mode.
+	 *
+	 * @param  keyframeInterval the number of versions between full snapshots.
+	 * @param  limit            the maximum number of entities to return.
+	 * @return                  a list of the entities to compact.
+	 */
+	@Query("""
+		select distinct r.entityId as entityId, r.municipalityId as municipalityId from RevisionEntity r
+		where (r.snapshotType = se.sundsvall.notes.integration.db.model.SnapshotType.FULL and mod(r.version, :keyframeInterval) <> 0
+				and exists (select p.id from RevisionEntity p where p.entityId = r.entityId and p.municipalityId = r.municipalityId and p.version = r.version - 1))
+			or (r.snapshotType = se.sundsvall.notes.integration.db.model.SnapshotType.DELTA and (mod(r.version, :keyframeInterval) = 0
+				or not exists (select p.id from RevisionEntity p where p.entityId = r.entityId and p.municipalityId = r.municipalityId and p.version = r.version - 1)))""")
+	List<RevisionOwner> findOwnersToCompact(@Param("keyframeInterval") int keyframeInterval, Limit limit);
+
+	/**
+	 * Find the ids of revisions that have an uncompressed snapshot.
+	 * <p>
+	 * A plain (non-locking) read. There is no index on the snapshot, so a locking read would lock every scanned revision
+	 * and the gaps between them, blocking the inserts of new revisions (see
+	 * {@link #findWithLockByIdInAndSerializedSnapshotNotNull(Collection)}).
+	 *
+	 * @param  limit the maximum number of ids to return.
+	 * @return       a list of ids of revisions with an uncompressed snapshot.
+	 */
+	@Query("select r.id from RevisionEntity r where r.serializedSnapshot is not null")
+	List<String> findIdsBySerializedSnapshotNotNull(Limit limit);
+
+	/**
+	 * Find and lock revisions by id that (still) have an uncompressed snapshot.
+	 * <p>
+	 * The revisions are locked (SELECT ... FOR UPDATE) until the surrounding transaction ends. As they are selected by
+	 * primary key, only the found revisions are locked.
+	 *
+	 * @param  ids the ids of the revisions.
+	 * @return     a list of revisions with an uncompressed snapshot.
 	 */
-	List<RevisionEntity> findAllByEntityIdAndMunicipalityIdOrderByVersionDesc(String entityId, String municipalityId);
+	@Lock(PESSIMISTIC_WRITE)
+	List<RevisionEntity> findWithLockByIdInAndSerializedSnapshotNotNull(Collection<String> ids);
 }
@@ -0,0 +1,133 @@
+package se.sundsvall.notes.integration.db.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.TimeZoneStorage;
+import org.hibernate.annotations.UuidGenerator;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.ZoneId.systemDefault;
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
+import static org.hibernate.annotations.UuidGenerator.Style.VERSION_7;
+import static org.hibernate.type.SqlTypes.CHAR;
+
+/**
+ * A change of a note, written to the change log that the instances of the service poll in order to invalidate their
+ * cached copies of the note.
+ */
+@Entity
+@Table(name = "note_change",
+	indexes = {
+		@Index(name = "note_change_created_index", columnList = "created")
+	})
+public class NoteChangeEntity {
+
+	@Id
+	@UuidGenerator(style = VERSION_7)
+	@Column(name = "id", length = 36)
+	@JdbcTypeCode(CHAR)
+	private String id;
+
+	@Column(name = "note_id", length = 36, nullable = false)
+	@JdbcTypeCode(CHAR)
+	private String noteId;
+
+	@Column(name = "municipality_id", nullable = false)
+	private String municipalityId;
+
+	@Column(name = "created")
+	@TimeZoneStorage(NORMALIZE)
+	private OffsetDateTime created;
+
+	public static NoteChangeEntity create() {
+		return new NoteChangeEntity();
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(final String id) {
+		this.id = id;
+	}
+
+	public NoteChangeEntity withId(final String id) {
+		this.id = id;
+		return this;
+	}
+
+	public String getNoteId() {
+		return noteId;
+	}
+
+	public void setNoteId(final String noteId) {
+		this.noteId = noteId;
+	}
+
+	public NoteChangeEntity withNoteId(final String noteId) {
+		this.noteId = noteId;
+		return this;
+	}
+
+	public String getMunicipalityId() {
+		return municipalityId;
+	}
+
+	public void setMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+	}
+
+	public NoteChangeEntity withMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+		return this;
+	}
+
+	public OffsetDateTime getCreated() {
+		return created;
+	}
+
+	public void setCreated(final OffsetDateTime created) {
+		this.created = created;
+	}
+
+	public NoteChangeEntity withCreated(final OffsetDateTime created) {
+		this.created = created;
+		return this;
+	}
+
+	@PrePersist
+	void prePersist() {
+		created = now(systemDefault()).truncatedTo(MILLIS);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(created, id, municipalityId, noteId);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof final NoteChangeEntity other)) {
+			return false;
+		}
+		return Objects.equals(created, other.created) && Objects.equals(id, other.id) && Objects.equals(municipalityId, other.municipalityId) && Objects.equals(noteId, other.noteId);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("NoteChangeEntity [id=").append(id).append(", noteId=").append(noteId).append(", municipalityId=").append(municipalityId).append(", created=").append(created).append("]");
+		return builder.toString();
+	}
+}
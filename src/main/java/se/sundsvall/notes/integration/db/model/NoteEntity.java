@@ -10,6 +10,7 @@ import jakarta.persistence.Table;
 import java.io.Serializable;
 import java.time.OffsetDateTime;
 import java.util.Objects;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.TimeZoneStorage;
 import org.hibernate.annotations.UuidGenerator;
 
@@ -18,23 +19,26 @@ import static java.time.ZoneId.systemDefault;
 import static java.time.temporal.ChronoUnit.MILLIS;
 import static org.hibernate.Length.LONG32;
 import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
+import static org.hibernate.annotations.UuidGenerator.Style.VERSION_7;
+import static org.hibernate.type.SqlTypes.CHAR;
 
 @Entity
 @Table(name = "note",
 	indexes = {
-		@Index(name = "note_party_id_index", columnList = "party_id"),
 		@Index(name = "note_context_index", columnList = "context"),
-		@Index(name = "note_client_id_index", columnList = "client_id"),
 		@Index(name = "note_role_index", columnList = "role"),
-		@Index(name = "note_municipality_id_index", columnList = "municipality_id")
+		@Index(name = "note_municipality_id_party_id_created_index", columnList = "municipality_id, party_id, created"),
+		@Index(name = "note_municipality_id_case_id_created_index", columnList = "municipality_id, case_id, created"),
+		@Index(name = "note_municipality_id_client_id_context_created_index", columnList = "municipality_id, client_id, context, created")
 	})
 public class NoteEntity implements Serializable {
 
 	private static final long serialVersionUID = -3451441096651461590L;
 
 	@Id
-	@UuidGenerator
-	@Column(name = "id")
+	@UuidGenerator(style = VERSION_7)
+	@Column(name = "id", length = 36)
+	@JdbcTypeCode(CHAR)
 	private String id;
 
 	@Column(name = "party_id")
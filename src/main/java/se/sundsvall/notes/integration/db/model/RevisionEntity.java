@@ -2,36 +2,52 @@ package se.sundsvall.notes.integration.db.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.Optional;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.TimeZoneStorage;
 import org.hibernate.annotations.UuidGenerator;
 
+import static jakarta.persistence.EnumType.STRING;
 import static java.time.OffsetDateTime.now;
 import static java.time.ZoneId.systemDefault;
 import static java.time.temporal.ChronoUnit.MILLIS;
+import static java.util.Objects.isNull;
 import static org.hibernate.Length.LONG32;
 import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
+import static org.hibernate.annotations.UuidGenerator.Style.VERSION_7;
+import static org.hibernate.type.SqlTypes.CHAR;
+import static org.hibernate.type.SqlTypes.VARCHAR;
+import static se.sundsvall.notes.integration.db.model.SnapshotType.FULL;
 
 @Entity
 @Table(name = "revision",
 	indexes = {
-		@Index(name = "revision_entity_id_index", columnList = "entity_id"),
-		@Index(name = "revision_entity_type_index", columnList = "entity_type"),
-		@Index(name = "revision_municipality_id_index", columnList = "municipality_id")
+		@Index(name = "revision_entity_type_index", columnList = "entity_type")
+	},
+	uniqueConstraints = {
+		@UniqueConstraint(name = "revision_unique_entity_id_municipality_id_version", columnNames = {
+			"entity_id", "municipality_id", "version"
+		})
 	})
 public class RevisionEntity {
 
 	@Id
-	@UuidGenerator
-	@Column(name = "id")
+	@UuidGenerator(style = VERSION_7)
+	@Column(name = "id", length = 36)
+	@JdbcTypeCode(CHAR)
 	private String id;
 
-	@Column(name = "entity_id")
+	@Column(name = "entity_id", length = 36)
+	@JdbcTypeCode(CHAR)
 	private String entityId;
 
 	@Column(name = "entity_type")
@@ -43,6 +59,18 @@ public class RevisionEntity {
 	@Column(name = "serialized_snapshot", length = LONG32)
 	private String serializedSnapshot;
 
+	@Column(name = "compressed_snapshot", length = LONG32)
+	private byte[] compressedSnapshot;
+
+	@Column(name = "snapshot_type", nullable = false)
+	@Enumerated(STRING)
+	@JdbcTypeCode(VARCHAR)
+	private SnapshotType snapshotType;
+
+	@Column(name = "content_hash", length = 64)
+	@JdbcTypeCode(CHAR)
+	private String contentHash;
+
 	@Column(name = "municipality_id", nullable = false)
 	private String municipalityId;
 
@@ -119,6 +147,45 @@ public class RevisionEntity {
 		return this;
 	}
 
+	public byte[] getCompressedSnapshot() {
+		return compressedSnapshot;
+	}
+
+	public void setCompressedSnapshot(final byte[] compressedSnapshot) {
+		this.compressedSnapshot = compressedSnapshot;
+	}
+
+	public RevisionEntity withCompressedSnapshot(final byte[] compressedSnapshot) {
+		this.compressedSnapshot = compressedSnapshot;
+		return this;
+	}
+
+	public SnapshotType getSnapshotType() {
+		return snapshotType;
+	}
+
+	public void setSnapshotType(final SnapshotType snapshotType) {
+		this.snapshotType = snapshotType;
+	}
+
+	public RevisionEntity withSnapshotType(final SnapshotType snapshotType) {
+		this.snapshotType = snapshotType;
+		return this;
+	}
+
+	public String getContentHash() {
+		return contentHash;
+	}
+
+	public void setContentHash(final String contentHash) {
+		this.contentHash = contentHash;
+	}
+
+	public RevisionEntity withContentHash(final String contentHash) {
+		this.contentHash = contentHash;
+		return this;
+	}
+
 	public String getMunicipalityId() {
 		return municipalityId;
 	}
@@ -148,11 +215,14 @@ public class RevisionEntity {
 	@PrePersist
 	void prePersist() {
 		created = now(systemDefault()).truncatedTo(MILLIS);
+		if (isNull(snapshotType)) {
+			snapshotType = FULL;
+		}
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(created, entityId, entityType, id, serializedSnapshot, version, municipalityId);
+		return 31 * Objects.hash(created, entityId, entityType, id, serializedSnapshot, snapshotType, contentHash, version, municipalityId) + Arrays.hashCode(compressedSnapshot);
 	}
 
 	@Override
@@ -163,15 +233,15 @@ public class RevisionEntity {
 		if (!(obj instanceof final RevisionEntity other)) {
 			return false;
 		}
-		return Objects.equals(created, other.created) && Objects.equals(entityId, other.entityId) && Objects.equals(entityType, other.entityType) && Objects.equals(id, other.id) && Objects.equals(serializedSnapshot, other.serializedSnapshot) && Objects
-			.equals(version, other.version) && Objects.equals(municipalityId, other.municipalityId);
+		return Objects.equals(created, other.created) && Objects.equals(entityId, other.entityId) && Objects.equals(entityType, other.entityType) && Objects.equals(id, other.id) && Objects.equals(serializedSnapshot, other.serializedSnapshot) && Arrays
+			.equals(compressedSnapshot, other.compressedSnapshot) && Objects.equals(snapshotType, other.snapshotType) && Objects.equals(contentHash, other.contentHash) && Objects.equals(version, other.version) && Objects.equals(municipalityId, other.municipalityId);
 	}
 
 	@Override
 	public String toString() {
 		final StringBuilder builder = new StringBuilder();
 		builder.append("RevisionEntity [id=").append(id).append(", entityId=").append(entityId).append(", entityType=").append(entityType).append(", version=").append(version).append(", serializedSnapshot=").append(serializedSnapshot)
-			.append(", municipalityId=").append(municipalityId).append(", created=").append(created).append("]");
+			.append(", compressedSnapshot=").append(Optional.ofNullable(compressedSnapshot).map(bytes -> bytes.length + " bytes").orElse(null)).append(", snapshotType=").append(snapshotType).append(", contentHash=").append(contentHash).append(", municipalityId=").append(municipalityId).append(", created=").append(created).append("]");
 		return builder.toString();
 	}
 }
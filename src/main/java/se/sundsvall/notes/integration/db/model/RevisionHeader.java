@@ -0,0 +1,24 @@
+package se.sundsvall.notes.integration.db.model;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Projection of a revision without the serialized snapshot.
+ * <p>
+ * Used when only the revision metadata is needed, so that the (potentially large) snapshot column is never read from
+ * the database.
+ */
+public interface RevisionHeader {
+
+	String getId();
+
+	String getEntityId();
+
+	String getEntityType();
+
+	Integer getVersion();
+
+	OffsetDateTime getCreated();
+
+	String getContentHash();
+}
@@ -0,0 +1,11 @@
+package se.sundsvall.notes.integration.db.model;
+
+/**
+ * Projection of the entity that a revision belongs to.
+ */
+public interface RevisionOwner {
+
+	String getEntityId();
+
+	String getMunicipalityId();
+}
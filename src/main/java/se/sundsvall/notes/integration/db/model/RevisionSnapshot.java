@@ -0,0 +1,17 @@
+package se.sundsvall.notes.integration.db.model;
+
+/**
+ * Projection of a revision containing only the version and the stored (serialized or compressed) snapshot.
+ * <p>
+ * Used when streaming snapshots, as projections (unlike entities) are not kept in the persistence context.
+ */
+public interface RevisionSnapshot {
+
+	Integer getVersion();
+
+	SnapshotType getSnapshotType();
+
+	String getSerializedSnapshot();
+
+	byte[] getCompressedSnapshot();
+}
@@ -0,0 +1,17 @@
+package se.sundsvall.notes.integration.db.model;
+
+/**
+ * The type of the serialized snapshot of a revision.
+ */
+public enum SnapshotType {
+
+	/**
+	 * The snapshot is the complete serialized entity (a keyframe).
+	 */
+	FULL,
+
+	/**
+	 * The snapshot is an RFC6902 patch against the snapshot of the previous version.
+	 */
+	DELTA
+}
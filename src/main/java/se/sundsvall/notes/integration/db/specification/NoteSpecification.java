@@ -1,5 +1,6 @@
 package se.sundsvall.notes.integration.db.specification;
 
+import java.time.OffsetDateTime;
 import org.springframework.data.jpa.domain.Specification;
 import se.sundsvall.notes.integration.db.model.NoteEntity;
 
@@ -31,6 +32,22 @@ public interface NoteSpecification {
 		return buildEqualFilter("municipalityId", municipalityId);
 	}
 
+	/**
+	 * Method builds a keyset (seek) filter matching entities positioned after the provided created and id values when
+	 * sorting on created and id in descending order. If created or id is null, method returns an always-true predicate.
+	 *
+	 * @param  created created value of the last entity on the previous page
+	 * @param  id      id of the last entity on the previous page
+	 * @return         {@code Specification<NoteEntity>} matching entities after the provided position
+	 */
+	static Specification<NoteEntity> withCreatedAndIdBefore(OffsetDateTime created, String id) {
+		return (noteEntity, cq, cb) -> nonNull(created) && nonNull(id)
+			? cb.or(
+				cb.lessThan(noteEntity.get("created"), created),
+				cb.and(cb.equal(noteEntity.get("created"), created), cb.lessThan(noteEntity.get("id"), id)))
+			: cb.and();
+	}
+
 	/**
 	 * Method builds an equal filter if value is not null. If value is null, method returns
 	 * an always-true predicate (meaning no filtering will be applied for sent in attribute)
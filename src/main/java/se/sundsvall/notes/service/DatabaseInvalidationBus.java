@@ -0,0 +1,91 @@
+package se.sundsvall.notes.service;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import se.sundsvall.notes.configuration.InvalidationProperties;
+import se.sundsvall.notes.integration.db.NoteChangeRepository;
+import se.sundsvall.notes.integration.db.model.NoteChangeEntity;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.ZoneId.systemDefault;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
+
+/**
+ * Invalidation bus that needs no other infrastructure than the database. Changes are written to a change log table
+ * when the transaction of the write has committed, and every instance polls the table and evicts the changed notes from
+ * its caches.
+ * <p>
+ * A change is stamped when it's written after the commit, not when the write was made, so a long running write can't
+ * end up with a change older than the polls that follow its commit. Each poll reads the changes created since the
+ * previous poll minus the configured lookback, which then only has to cover the insert of the change itself and clock
+ * differences between the instances. A change can therefore be delivered more than once, which is harmless as eviction
+ * is idempotent. Changes older than the configured retention are purged.
+ * <p>
+ * This is what keeps the caches of the other instances correct: a change is seen by them within about the poll
+ * interval. A change is lost if the instance stops between the commit of the write and the insert of the change, in
+ * which case the other instances serve the note stale until it expires from their caches (see {@link NoteCache}).
+ */
+@Component
+@ConditionalOnProperty(name = "notes.invalidation.type", havingValue = "database")
+class DatabaseInvalidationBus implements InvalidationBus {
+
+	private static final Logger LOG = LoggerFactory.getLogger(DatabaseInvalidationBus.class);
+
+	private final NoteChangeRepository noteChangeRepository;
+	private final NoteCache noteCache;
+	private final InvalidationProperties.Database properties;
+
+	private OffsetDateTime lastPolled;
+
+	DatabaseInvalidationBus(final NoteChangeRepository noteChangeRepository, final NoteCache noteCache, final InvalidationProperties invalidationProperties) {
+		this.noteChangeRepository = noteChangeRepository;
+		this.noteCache = noteCache;
+		this.properties = invalidationProperties.database();
+		this.lastPolled = now(systemDefault());
+	}
+
+	@Override
+	public void publish(final String municipalityId, final Collection<String> noteIds) {
+		final var noteChanges = noteIds.stream()
+			.map(noteId -> NoteChangeEntity.create()
+				.withMunicipalityId(municipalityId)
+				.withNoteId(noteId))
+			.toList();
+
+		if (!isSynchronizationActive()) {
+			noteChangeRepository.saveAll(noteChanges);
+			return;
+		}
+
+		// Written in a transaction of its own (see NoteChangeRepository) when the write has committed
+		registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				noteChangeRepository.saveAll(noteChanges);
+			}
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${notes.invalidation.database.poll-interval:PT5S}")
+	void poll() {
+		final var started = now(systemDefault());
+
+		noteChangeRepository.findByCreatedGreaterThanEqual(lastPolled.minus(properties.lookback()))
+			.forEach(change -> noteCache.evict(change.getMunicipalityId(), change.getNoteId()));
+
+		// Only advanced when the poll succeeds, so that the next poll covers a failed one
+		lastPolled = started;
+	}
+
+	@Scheduled(fixedDelayString = "${notes.invalidation.database.purge-interval:PT10M}")
+	void purge() {
+		LOG.debug("Purged {} note changes", noteChangeRepository.deleteByCreatedBefore(now(systemDefault()).minus(properties.retention())));
+	}
+}
@@ -0,0 +1,24 @@
+package se.sundsvall.notes.service;
+
+import java.util.Collection;
+
+/**
+ * Publishes changes of notes to all instances of the service, so that each instance evicts the notes from its caches
+ * (see {@link NoteCache}). With several instances, this is what keeps the caches of the instances that didn't handle a
+ * write correct.
+ * <p>
+ * The implementation is selected by the property notes.invalidation.type (see
+ * {@link se.sundsvall.notes.configuration.InvalidationProperties}). Another transport, e.g. a message broker, is added
+ * as an implementation of this interface conditional on a type of its own.
+ */
+public interface InvalidationBus {
+
+	/**
+	 * Publishes that notes have been changed or deleted. Called within the transaction of the write, so an
+	 * implementation that publishes to other instances should do so when the transaction has committed.
+	 *
+	 * @param municipalityId the id of the municipality.
+	 * @param noteIds        the ids of the changed notes.
+	 */
+	void publish(String municipalityId, Collection<String> noteIds);
+}
@@ -0,0 +1,19 @@
+package se.sundsvall.notes.service;
+
+import java.util.Collection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidation bus for a single instance of the service. Nothing is published, as the instance that handles a write
+ * evicts the note from its own cache.
+ */
+@Component
+@ConditionalOnProperty(name = "notes.invalidation.type", havingValue = "none", matchIfMissing = true)
+class LocalInvalidationBus implements InvalidationBus {
+
+	@Override
+	public void publish(final String municipalityId, final Collection<String> noteIds) {
+		// Nothing to publish
+	}
+}
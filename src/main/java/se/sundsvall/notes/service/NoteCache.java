@@ -0,0 +1,88 @@
+package se.sundsvall.notes.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+
+import static java.util.Objects.nonNull;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
+import static se.sundsvall.notes.configuration.CacheConfiguration.NOTE_CACHE;
+
+/**
+ * Cache of notes read by id, together with their current version, keyed by municipality id and note id.
+ * <p>
+ * A cache hit doesn't touch the database. The cache is kept correct by evictions: a write evicts the note when its
+ * transaction has committed, and other instances evict it when the change is delivered by the {@link InvalidationBus}.
+ * An entry that escapes eviction is dropped after the configured expire-after-write.
+ * <p>
+ * A reader that loaded a note before a write committed may put it after the eviction of the write. Every eviction is
+ * therefore counted, and a reader that sees the count change while it loaded and put a note evicts the note again.
+ */
+@Component
+class NoteCache {
+
+	private final Cache cache;
+	private final AtomicLong evictions = new AtomicLong();
+
+	NoteCache(final CacheManager cacheManager) {
+		this.cache = cacheManager.getCache(NOTE_CACHE);
+	}
+
+	/**
+	 * Get a note from the cache, or load (and cache) it if it isn't cached.
+	 *
+	 * @param  municipalityId the id of the municipality.
+	 * @param  id             the id of the note.
+	 * @param  loader         loads the note and its current version.
+	 * @return                the note and its current version.
+	 */
+	VersionedNote get(final String municipalityId, final String id, final Supplier<VersionedNote> loader) {
+		final var key = List.of(municipalityId, id);
+		final var cachedNote = cache.get(key, VersionedNote.class);
+		if (nonNull(cachedNote)) {
+			return cachedNote;
+		}
+
+		final var evictionsBeforeLoad = evictions.get();
+		final var note = loader.get();
+		cache.put(key, note);
+
+		// An eviction during the load may have been for this note, in which case the loaded note may already be stale
+		if (evictions.get() != evictionsBeforeLoad) {
+			cache.evict(key);
+		}
+		return note;
+	}
+
+	/**
+	 * Evict a note, when the surrounding transaction (if any) has committed.
+	 *
+	 * @param municipalityId the id of the municipality.
+	 * @param noteId         the id of the note.
+	 */
+	void evict(final String municipalityId, final String noteId) {
+		afterCommit(() -> {
+			evictions.incrementAndGet();
+			cache.evict(List.of(municipalityId, noteId));
+		});
+	}
+
+	private static void afterCommit(final Runnable action) {
+		if (!isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
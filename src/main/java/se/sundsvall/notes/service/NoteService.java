@@ -1,6 +1,8 @@
 package se.sundsvall.notes.service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -11,14 +13,27 @@ import se.sundsvall.notes.api.model.FindNotesRequest;
 import se.sundsvall.notes.api.model.FindNotesResponse;
 import se.sundsvall.notes.api.model.MetaData;
 import se.sundsvall.notes.api.model.Note;
-import se.sundsvall.notes.api.model.Revision;
 import se.sundsvall.notes.api.model.RevisionInformation;
 import se.sundsvall.notes.api.model.UpdateNoteRequest;
+import se.sundsvall.notes.api.model.UpdateNoteResult;
+import se.sundsvall.notes.api.model.UpdateNotesRequest;
 import se.sundsvall.notes.integration.db.NoteRepository;
+import se.sundsvall.notes.integration.db.model.NoteEntity;
+import se.sundsvall.notes.integration.db.model.RevisionHeader;
+import se.sundsvall.notes.service.mapper.CursorMapper.Position;
 
-import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static se.sundsvall.notes.service.ServiceConstants.ERROR_IDS_OR_CASE_ID;
 import static se.sundsvall.notes.service.ServiceConstants.ERROR_NOTE_NOT_FOUND;
+import static se.sundsvall.notes.service.ServiceConstants.ERROR_VERSION_MISMATCH;
+import static se.sundsvall.notes.service.mapper.CursorMapper.toCursor;
+import static se.sundsvall.notes.service.mapper.CursorMapper.toPosition;
 import static se.sundsvall.notes.service.mapper.NoteMapper.toNote;
 import static se.sundsvall.notes.service.mapper.NoteMapper.toNoteEntity;
 import static se.sundsvall.notes.service.mapper.NoteMapper.toNotes;
@@ -29,54 +44,162 @@ public class NoteService {
 
 	private final NoteRepository noteRepository;
 	private final RevisionService revisionService;
+	private final InvalidationBus invalidationBus;
+	private final NoteCache noteCache;
 
-	NoteService(NoteRepository noteRepository, RevisionService revisionService) {
+	NoteService(NoteRepository noteRepository, RevisionService revisionService, InvalidationBus invalidationBus, NoteCache noteCache) {
 		this.noteRepository = noteRepository;
 		this.revisionService = revisionService;
+		this.invalidationBus = invalidationBus;
+		this.noteCache = noteCache;
 	}
 
 	public RevisionInformation createNote(final CreateNoteRequest createNoteRequest, final String municipalityId) {
 		final var noteEntity = noteRepository.save(toNoteEntity(municipalityId, createNoteRequest));
 
-		// Create revision
-		final var currentRevision = revisionService.createRevision(noteEntity, municipalityId);
+		// Create revision, a new note has no previous revisions to compare with
+		final var currentRevision = revisionService.createInitialRevision(noteEntity, municipalityId);
 
 		return RevisionInformation.create()
 			.withNote(toNote(noteEntity))
 			.withCurrentRevision(currentRevision);
 	}
 
-	public RevisionInformation updateNote(final String id, final UpdateNoteRequest updateNoteRequest, final String municipalityId) {
-		final var noteEntity = noteRepository.findByIdAndMunicipalityId(id, municipalityId).orElseThrow(() -> Problem.valueOf(NOT_FOUND, ERROR_NOTE_NOT_FOUND.formatted(id)));
+	/**
+	 * Creates notes and their initial revisions in one transaction.
+	 * <p>
+	 * The inserts are sent to the database in JDBC batches (see hibernate.jdbc.batch_size) when the transaction commits.
+	 *
+	 * @param  createNoteRequests the notes to create.
+	 * @param  municipalityId     the id of the municipality.
+	 * @return                    the revision information of the created notes, in the same order as the requests.
+	 */
+	public List<RevisionInformation> createNotes(final List<CreateNoteRequest> createNoteRequests, final String municipalityId) {
+		final var noteEntities = noteRepository.saveAll(createNoteRequests.stream()
+			.map(createNoteRequest -> toNoteEntity(municipalityId, createNoteRequest))
+			.toList());
+
+		final var currentRevisions = revisionService.createInitialRevisions(noteEntities, municipalityId);
+
+		return IntStream.range(0, noteEntities.size())
+			.mapToObj(index -> RevisionInformation.create()
+				.withNote(toNote(noteEntities.get(index)))
+				.withCurrentRevision(currentRevisions.get(index)))
+			.toList();
+	}
+
+	/**
+	 * Updates a note and creates a new revision of it if its content changed.
+	 * <p>
+	 * If an expected version is provided, the note is only updated if its current version (the version of its last
+	 * revision) is the expected one. The version is compared while the note is locked, so no other update can come in
+	 * between the comparison and the update.
+	 *
+	 * @param  id                the id of the note.
+	 * @param  updateNoteRequest the changes to apply.
+	 * @param  expectedVersion   the expected current version of the note or null to update the note regardless of version.
+	 * @param  municipalityId    the id of the municipality.
+	 * @return                   the updated note, its current and previous revision (if a new revision was created) and its
+	 *                           current version (also if no new revision was created).
+	 * @throws Problem           with status NOT_FOUND if the note doesn't exist or PRECONDITION_FAILED if the current
+	 *                           version isn't the expected one.
+	 */
+	public RevisionInformation updateNote(final String id, final UpdateNoteRequest updateNoteRequest, final Integer expectedVersion, final String municipalityId) {
+		// Lock the note for the rest of the transaction, so concurrent updates can't allocate the same revision version
+		final var noteEntity = noteRepository.findWithLockByIdAndMunicipalityId(id, municipalityId).orElseThrow(() -> Problem.valueOf(NOT_FOUND, ERROR_NOTE_NOT_FOUND.formatted(id)));
+
+		// Read once while the note is locked, both to compare with the expected version and to create the next revision from
+		final var lastRevision = revisionService.getLastRevision(id, municipalityId);
+		if (nonNull(expectedVersion)) {
+			final var currentVersion = ofNullable(lastRevision).map(RevisionHeader::getVersion).orElse(null);
+			if (!expectedVersion.equals(currentVersion)) {
+				throw Problem.valueOf(PRECONDITION_FAILED, ERROR_VERSION_MISMATCH.formatted(id, currentVersion, expectedVersion));
+			}
+		}
 
 		toNoteEntity(noteEntity, updateNoteRequest);
 		noteRepository.flush();
+		evict(municipalityId, List.of(id));
 
-		// Create revision
-		final var currentRevision = revisionService.createRevision(noteEntity, municipalityId);
+		// Create revision (the previous revision and the current version follow from the last revision)
+		return revisionService.createRevision(noteEntity, lastRevision, municipalityId)
+			.withNote(toNote(noteEntity));
+	}
 
-		var revisionInformation = RevisionInformation.create()
-			.withNote(toNote(noteEntity))
-			.withCurrentRevision(currentRevision);
+	/**
+	 * Applies the same changes to several notes, selected either by ids or by caseId, in one transaction.
+	 * <p>
+	 * The notes are fetched and locked by a single query, the last revisions of all notes are fetched by a single query
+	 * and the note updates and revision inserts are sent to the database in JDBC batches.
+	 *
+	 * @param  updateNotesRequest the notes to update and the changes to apply.
+	 * @param  municipalityId     the id of the municipality.
+	 * @return                    the result of each note, in the order of the requested ids (or ordered by id when updating
+	 *                            by caseId).
+	 */
+	public List<UpdateNoteResult> updateNotes(final UpdateNotesRequest updateNotesRequest, final String municipalityId) {
+		final var ids = ofNullable(updateNotesRequest.getIds()).map(list -> list.stream().distinct().toList()).orElse(null);
+		if (isNull(ids) == isNull(updateNotesRequest.getCaseId())) {
+			throw Problem.valueOf(BAD_REQUEST, ERROR_IDS_OR_CASE_ID);
+		}
 
-		if (revisionInformation.isNewRevisionCreated()) {
-			revisionInformation.setPreviousRevision(getPreviousRevision(noteEntity.getId(), municipalityId, currentRevision));
+		final var noteEntities = nonNull(ids)
+			? noteRepository.findWithLockByIdInAndMunicipalityIdOrderByIdAsc(ids, municipalityId)
+			: noteRepository.findWithLockByCaseIdAndMunicipalityIdOrderByIdAsc(updateNotesRequest.getCaseId(), municipalityId);
+
+		noteEntities.forEach(noteEntity -> toNoteEntity(noteEntity, updateNotesRequest.getChanges()));
+		noteRepository.flush();
+		evict(municipalityId, noteEntities.stream().map(NoteEntity::getId).toList());
+
+		final var revisionInformations = revisionService.createRevisions(noteEntities, municipalityId);
+		final var results = new LinkedHashMap<String, UpdateNoteResult>();
+		IntStream.range(0, noteEntities.size())
+			.forEach(index -> results.put(noteEntities.get(index).getId(), UpdateNoteResult.create()
+				.withId(noteEntities.get(index).getId())
+				.withStatus(OK.value())
+				.withCurrentRevision(revisionInformations.get(index).getCurrentRevision())
+				.withPreviousRevision(revisionInformations.get(index).getPreviousRevision())));
+
+		if (isNull(ids)) {
+			return List.copyOf(results.values());
 		}
-		return revisionInformation;
-	}
 
-	public Note getNoteByIdAndMunicipalityId(final String id, final String municipalityId) {
-		final var noteEntity = noteRepository.findByIdAndMunicipalityId(id, municipalityId).orElseThrow(() -> Problem.valueOf(NOT_FOUND, ERROR_NOTE_NOT_FOUND.formatted(id)));
+		return ids.stream()
+			.map(id -> ofNullable(results.get(id)).orElseGet(() -> UpdateNoteResult.create()
+				.withId(id)
+				.withStatus(NOT_FOUND.value())
+				.withDetail(ERROR_NOTE_NOT_FOUND.formatted(id))))
+			.toList();
+	}
 
-		return toNote(noteEntity);
+	/**
+	 * Get a note and its current version, from the note cache if cached (see {@link NoteCache}).
+	 * <p>
+	 * The note and its version are read in the same transaction, so the version is the version of the note.
+	 *
+	 * @param  id             the id of the note.
+	 * @param  municipalityId the id of the municipality.
+	 * @return                the note and its current version.
+	 */
+	public VersionedNote getNoteByIdAndMunicipalityId(final String id, final String municipalityId) {
+		return noteCache.get(municipalityId, id, () -> new VersionedNote(
+			toNote(noteRepository.findByIdAndMunicipalityId(id, municipalityId).orElseThrow(() -> Problem.valueOf(NOT_FOUND, ERROR_NOTE_NOT_FOUND.formatted(id)))),
+			revisionService.getCurrentVersion(id, municipalityId)));
 	}
 
 	public FindNotesResponse getNotes(final FindNotesRequest findNotesRequest, final String municipalityId) {
-		final var matches = noteRepository.findAllByParameters(findNotesRequest, PageRequest.of(findNotesRequest.getPage() - 1,
-			findNotesRequest.getLimit(), Sort.by("created").descending()), municipalityId);
+		if (nonNull(findNotesRequest.getCursor())) {
+			return getNotesByCursor(findNotesRequest, municipalityId);
+		}
+
+		if (!findNotesRequest.isIncludeTotals()) {
+			return getNotesWithoutTotals(findNotesRequest, municipalityId);
+		}
 
-		// If page larger than last page is requested, an empty list is returned otherwise the current page
-		final List<Note> notes = matches.getTotalPages() < findNotesRequest.getPage() ? emptyList() : toNotes(matches.getContent());
+		final var matches = noteRepository.findAllByParameters(findNotesRequest, toPageRequest(findNotesRequest), municipalityId);
+
+		// If page larger than last page is requested, the page content is empty (and not fetched, as later pages are counted first)
+		final var notes = toNotes(matches.getContent());
 
 		return FindNotesResponse.create()
 			.withMetaData(MetaData.create()
@@ -84,25 +207,66 @@ public class NoteService {
 				.withTotalPages(matches.getTotalPages())
 				.withTotalRecords(matches.getTotalElements())
 				.withCount(notes.size())
-				.withLimit(findNotesRequest.getLimit()))
+				.withLimit(findNotesRequest.getLimit())
+				.withHasNext(matches.hasNext()))
+			.withNotes(notes);
+	}
+
+	private FindNotesResponse getNotesWithoutTotals(final FindNotesRequest findNotesRequest, final String municipalityId) {
+		final var matches = noteRepository.findSliceByParameters(findNotesRequest, toPageRequest(findNotesRequest), municipalityId);
+		final var notes = toNotes(matches.getContent());
+
+		return FindNotesResponse.create()
+			.withMetaData(MetaData.create()
+				.withPage(findNotesRequest.getPage())
+				.withCount(notes.size())
+				.withLimit(findNotesRequest.getLimit())
+				.withHasNext(matches.hasNext()))
 			.withNotes(notes);
 	}
 
+	private FindNotesResponse getNotesByCursor(final FindNotesRequest findNotesRequest, final String municipalityId) {
+		final var position = toPosition(findNotesRequest.getCursor());
+		final var limit = findNotesRequest.getLimit();
+
+		// Fetch one extra note to find out if there is a next page
+		final var matches = noteRepository.findAllByParametersAfter(findNotesRequest,
+			ofNullable(position).map(Position::created).orElse(null),
+			ofNullable(position).map(Position::id).orElse(null),
+			limit + 1, municipalityId);
+
+		final var hasNext = matches.size() > limit;
+		final var noteEntities = hasNext ? matches.subList(0, limit) : matches;
+
+		return FindNotesResponse.create()
+			.withMetaData(MetaData.create()
+				.withCount(noteEntities.size())
+				.withLimit(limit)
+				.withHasNext(hasNext)
+				.withNextCursor(hasNext ? toCursor(noteEntities.getLast()) : null))
+			.withNotes(toNotes(noteEntities));
+	}
+
 	public RevisionInformation deleteNoteByIdAndMunicipalityId(final String id, final String municipalityId) {
-		if (!noteRepository.existsByIdAndMunicipalityId(id, municipalityId)) {
+		if (noteRepository.deleteByIdAndMunicipalityId(id, municipalityId) == 0) {
 			throw Problem.valueOf(NOT_FOUND, ERROR_NOTE_NOT_FOUND.formatted(id));
 		}
+		evict(municipalityId, List.of(id));
 
-		noteRepository.deleteByIdAndMunicipalityId(id, municipalityId);
-
-		final var currentRevision = revisionService.getRevisions(id, municipalityId).stream().findFirst().orElse(null);
+		final var currentRevision = revisionService.getLatestRevision(id, municipalityId);
 
 		return RevisionInformation.create()
 			.withCurrentRevision(currentRevision);
 	}
 
-	private Revision getPreviousRevision(final String noteEntityId, final String municipalityId, final Revision currentRevision) {
-		return revisionService.getRevisions(noteEntityId, municipalityId).stream()
-			.filter(revision -> !revision.getId().equals(currentRevision.getId())).findFirst().orElse(null);
+	private void evict(final String municipalityId, final List<String> ids) {
+		// Evicted from the cache of this instance when the transaction has committed, and from the caches of the other
+		// instances when the change is delivered by the invalidation bus
+		ids.forEach(id -> noteCache.evict(municipalityId, id));
+		invalidationBus.publish(municipalityId, ids);
+	}
+
+	private static PageRequest toPageRequest(final FindNotesRequest findNotesRequest) {
+		return PageRequest.of(findNotesRequest.getPage() - 1, findNotesRequest.getLimit(), Sort.by("created").descending());
 	}
 }
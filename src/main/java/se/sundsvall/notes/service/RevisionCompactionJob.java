@@ -0,0 +1,48 @@
+package se.sundsvall.notes.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import se.sundsvall.notes.configuration.RevisionProperties;
+import se.sundsvall.notes.integration.db.RevisionRepository;
+
+/**
+ * Converts existing revisions into the configured storage mode (see {@link RevisionProperties}), e.g. full snapshots
+ * written before the storage mode was changed to DELTA.
+ * <p>
+ * Each run compacts at most the configured batch size of entities, each in a transaction of its own. The job is
+ * disabled by default and is enabled by setting the property notes.revision.compaction.cron.
+ */
+@Component
+class RevisionCompactionJob {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RevisionCompactionJob.class);
+
+	private final RevisionRepository revisionRepository;
+	private final RevisionService revisionService;
+	private final RevisionProperties revisionProperties;
+
+	RevisionCompactionJob(final RevisionRepository revisionRepository, final RevisionService revisionService, final RevisionProperties revisionProperties) {
+		this.revisionRepository = revisionRepository;
+		this.revisionService = revisionService;
+		this.revisionProperties = revisionProperties;
+	}
+
+	@Scheduled(cron = "${notes.revision.compaction.cron:-}")
+	void compactRevisions() {
+		final var owners = revisionRepository.findOwnersToCompact(revisionProperties.effectiveKeyframeInterval(), Limit.of(revisionProperties.compaction().batchSize()));
+
+		var rewritten = 0;
+		for (final var owner : owners) {
+			try {
+				rewritten += revisionService.compactRevisions(owner.getEntityId(), owner.getMunicipalityId());
+			} catch (final RuntimeException e) {
+				LOG.error("Error occurred during compaction of revisions for entityId '{}'", owner.getEntityId(), e);
+			}
+		}
+
+		LOG.info("Compacted {} revisions of {} entities", rewritten, owners.size());
+	}
+}
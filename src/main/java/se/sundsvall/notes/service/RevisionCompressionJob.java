@@ -0,0 +1,38 @@
+package se.sundsvall.notes.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import se.sundsvall.notes.configuration.RevisionProperties;
+
+/**
+ * Compresses the snapshots of existing revisions when compression is enabled (see {@link RevisionProperties}), e.g.
+ * revisions written before compression was enabled.
+ * <p>
+ * Each run compresses at most the configured batch size of revisions in one transaction. The job is disabled by default
+ * and is enabled by setting the property notes.revision.compression.cron.
+ */
+@Component
+class RevisionCompressionJob {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RevisionCompressionJob.class);
+
+	private final RevisionService revisionService;
+	private final RevisionProperties revisionProperties;
+
+	RevisionCompressionJob(final RevisionService revisionService, final RevisionProperties revisionProperties) {
+		this.revisionService = revisionService;
+		this.revisionProperties = revisionProperties;
+	}
+
+	@Scheduled(cron = "${notes.revision.compression.cron:-}")
+	void compressSnapshots() {
+		if (!revisionProperties.compression().enabled()) {
+			LOG.warn("Compression of revision snapshots is disabled, skipping run");
+			return;
+		}
+
+		LOG.info("Compressed {} revision snapshots", revisionService.compressSnapshots(revisionProperties.compression().batchSize()));
+	}
+}
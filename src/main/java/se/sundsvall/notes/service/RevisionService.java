@@ -2,27 +2,57 @@ package se.sundsvall.notes.service;
 
 import com.flipkart.zjsonpatch.DiffFlags;
 import com.flipkart.zjsonpatch.Jackson3JsonDiff;
+import com.flipkart.zjsonpatch.Jackson3JsonPatch;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.notes.api.model.DifferenceResponse;
 import se.sundsvall.notes.api.model.Operation;
 import se.sundsvall.notes.api.model.Revision;
+import se.sundsvall.notes.api.model.RevisionDifference;
+import se.sundsvall.notes.api.model.RevisionInformation;
+import se.sundsvall.notes.configuration.RevisionProperties;
 import se.sundsvall.notes.integration.db.RevisionRepository;
 import se.sundsvall.notes.integration.db.model.NoteEntity;
 import se.sundsvall.notes.integration.db.model.RevisionEntity;
+import se.sundsvall.notes.integration.db.model.RevisionHeader;
+import se.sundsvall.notes.integration.db.model.RevisionSnapshot;
+import se.sundsvall.notes.integration.db.model.SnapshotType;
+import se.sundsvall.notes.service.mapper.RevisionMapper;
 import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
 import static com.flipkart.zjsonpatch.DiffFlags.ADD_ORIGINAL_VALUE_ON_REPLACE;
+import static com.flipkart.zjsonpatch.DiffFlags.OMIT_COPY_OPERATION;
+import static com.flipkart.zjsonpatch.DiffFlags.OMIT_MOVE_OPERATION;
 import static com.flipkart.zjsonpatch.DiffFlags.OMIT_VALUE_ON_REMOVE;
-import static org.apache.commons.lang3.ObjectUtils.anyNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.notes.configuration.CacheConfiguration.DIFF_CACHE;
+import static se.sundsvall.notes.integration.db.model.SnapshotType.DELTA;
+import static se.sundsvall.notes.integration.db.model.SnapshotType.FULL;
+import static se.sundsvall.notes.service.ServiceConstants.ERROR_INVALID_VERSION_RANGE;
 import static se.sundsvall.notes.service.ServiceConstants.PROBLEM_DURING_DIFF;
 import static se.sundsvall.notes.service.ServiceConstants.REVISION_NOT_FOUND_FOR_ID_AND_VERSION;
 import static se.sundsvall.notes.service.mapper.RevisionMapper.toRevision;
@@ -34,19 +64,24 @@ public class RevisionService {
 
 	private static final Logger LOG = LoggerFactory.getLogger(RevisionService.class);
 	private static final EnumSet<DiffFlags> DIFF_FLAGS = EnumSet.of(ADD_ORIGINAL_VALUE_ON_REPLACE, OMIT_VALUE_ON_REMOVE);
+	private static final EnumSet<DiffFlags> DELTA_FLAGS = EnumSet.of(OMIT_VALUE_ON_REMOVE, OMIT_MOVE_OPERATION, OMIT_COPY_OPERATION);
+	private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
 
 	private final RevisionRepository revisionRepository;
 	private final ObjectMapper objectMapper;
+	private final RevisionProperties revisionProperties;
 
-	RevisionService(RevisionRepository revisionRepository, ObjectMapper objectMapper) {
+	RevisionService(RevisionRepository revisionRepository, ObjectMapper objectMapper, RevisionProperties revisionProperties) {
 		this.revisionRepository = revisionRepository;
 		this.objectMapper = objectMapper;
+		this.revisionProperties = revisionProperties;
 	}
 
 	/**
 	 * Performs a diff between to versions of a NoteEntity.
 	 * <p>
-	 * The diff will be performed and returned according to RFC6902.
+	 * The diff will be performed and returned according to RFC6902. As revisions never change once written, the result
+	 * is cached (see {@link se.sundsvall.notes.configuration.CacheConfiguration}).
 	 *
 	 * @see                   <a href="https://datatracker.ietf.org/doc/html/rfc6902">RFC6902</a>.
 	 * @param  noteEntityId   the NoteEntity id (uuid).
@@ -55,84 +90,460 @@ public class RevisionService {
 	 * @param  target         the diff target version.
 	 * @return                the difference result represented as a DifferenceResponse object.
 	 */
+	@Cacheable(DIFF_CACHE)
 	public DifferenceResponse diff(final String noteEntityId, final String municipalityId, final int source, final int target) {
 
-		try {
-			// Fetch revisions from DB.
-			final var revisionEntity1 = revisionRepository.findByEntityIdAndMunicipalityIdAndVersion(noteEntityId, municipalityId, source)
-				.orElseThrow(() -> Problem.valueOf(NOT_FOUND, REVISION_NOT_FOUND_FOR_ID_AND_VERSION.formatted(noteEntityId, source)));
-			final var revisionEntity2 = revisionRepository.findByEntityIdAndMunicipalityIdAndVersion(noteEntityId, municipalityId, target)
-				.orElseThrow(() -> Problem.valueOf(NOT_FOUND, REVISION_NOT_FOUND_FOR_ID_AND_VERSION.formatted(noteEntityId, target)));
+		// Fetch both revisions (and the revisions needed to reconstruct them) from DB in one query.
+		final var revisions = revisionRepository.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(noteEntityId, municipalityId, source, target);
 
-			final var sourceJson = objectMapper.readTree(revisionEntity1.getSerializedSnapshot());
-			final var targetJson = objectMapper.readTree(revisionEntity2.getSerializedSnapshot());
+		Stream.of(source, target)
+			.filter(version -> revisions.stream().noneMatch(revision -> version.equals(revision.getVersion())))
+			.findFirst()
+			.ifPresent(version -> {
+				throw Problem.valueOf(NOT_FOUND, REVISION_NOT_FOUND_FOR_ID_AND_VERSION.formatted(noteEntityId, version));
+			});
 
-			final var diffResult = Jackson3JsonDiff.asJson(sourceJson, targetJson, DIFF_FLAGS).toString();
+		try {
+			final var snapshots = reconstruct(revisions, List.of(source, target));
 
 			// Return result.
-			return DifferenceResponse.create().withOperations(List.of(objectMapper.readValue(diffResult, Operation[].class)));
+			return DifferenceResponse.create().withOperations(diff(snapshots.get(source), snapshots.get(target)));
 		} catch (final Exception e) {
 			LOG.error("Error occurred during diff: ", e);
 			throw Problem.valueOf(INTERNAL_SERVER_ERROR, PROBLEM_DURING_DIFF.formatted(noteEntityId, source, target));
 		}
 	}
 
+	/**
+	 * Verifies that a version range can be diffed, i.e. that from isn't greater than to and that revisions with both the
+	 * from and to versions exist.
+	 *
+	 * @param  noteEntityId   the NoteEntity id (uuid).
+	 * @param  municipalityId the id of the municipality.
+	 * @param  from           the first version of the range.
+	 * @param  to             the last version of the range.
+	 * @throws Problem        with status BAD_REQUEST if the range is invalid or NOT_FOUND if any revision is missing.
+	 */
+	public void verifyVersionRange(final String noteEntityId, final String municipalityId, final int from, final int to) {
+		if (from > to) {
+			throw Problem.valueOf(BAD_REQUEST, ERROR_INVALID_VERSION_RANGE.formatted(from, to));
+		}
+
+		Stream.of(from, to).distinct()
+			.filter(version -> revisionRepository.findHeaderByEntityIdAndMunicipalityIdAndVersion(noteEntityId, municipalityId, version).isEmpty())
+			.findFirst()
+			.ifPresent(version -> {
+				throw Problem.valueOf(NOT_FOUND, REVISION_NOT_FOUND_FOR_ID_AND_VERSION.formatted(noteEntityId, version));
+			});
+	}
+
+	/**
+	 * Performs a diff between each pair of consecutive revisions of a NoteEntity within a version range.
+	 * <p>
+	 * The snapshots are read by a single query ordered by version and consumed as a stream, so only two snapshots are held
+	 * in memory at any time regardless of the length of the range. Each difference is handed to the consumer as soon as it
+	 * has been computed.
+	 *
+	 * @param  noteEntityId   the NoteEntity id (uuid).
+	 * @param  municipalityId the id of the municipality.
+	 * @param  from           the first version of the range.
+	 * @param  to             the last version of the range.
+	 * @param  consumer       the consumer of the differences (in version order).
+	 */
+	@Transactional(readOnly = true)
+	public void diffVersionRange(final String noteEntityId, final String municipalityId, final int from, final int to, final Consumer<RevisionDifference> consumer) {
+		try (final var snapshots = revisionRepository.streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween(noteEntityId, municipalityId, from, to)) {
+			Integer previousVersion = null;
+			JsonNode previousJson = null;
+
+			for (final var iterator = snapshots.iterator(); iterator.hasNext();) {
+				final var snapshot = iterator.next();
+				final var json = readSnapshot(noteEntityId, previousJson, snapshot);
+
+				// The stream starts with the closest full snapshot, which may precede the range.
+				if (nonNull(previousVersion) && previousVersion >= from) {
+					consumer.accept(RevisionDifference.create()
+						.withSource(previousVersion)
+						.withTarget(snapshot.getVersion())
+						.withOperations(diff(previousJson, json)));
+				}
+
+				previousVersion = snapshot.getVersion();
+				previousJson = json;
+			}
+		}
+	}
+
 	/**
 	 * Create a new revision.
 	 * <p>
 	 * A new revision will be created if:
-	 * - the last revisions serialized-snapshot differs from the current (i.e. provided) entity.
+	 * - the content hash of the last revision differs from the content hash of the current (i.e. provided) entity.
 	 * - no previous revisions exist for the provided entity.
+	 * <p>
+	 * Depending on the configured storage mode, the revision stores either a full snapshot of the entity or a patch
+	 * against the previous version, optionally compressed (see {@link RevisionProperties}).
 	 *
 	 * @param  entity         the entity that will have a new revision.
 	 * @param  municipalityId the id of the municipality.
-	 * @return                the created revision.
+	 * @return                the created revision, the previous revision and the current version of the entity (see
+	 *                        {@link #createRevision(NoteEntity, RevisionHeader, String)}).
+	 */
+	public RevisionInformation createRevision(final NoteEntity entity, final String municipalityId) {
+		return createRevision(entity, getLastRevision(entity.getId(), municipalityId), municipalityId);
+	}
+
+	/**
+	 * Create a new revision (see {@link #createRevision(NoteEntity, String)}) from the last revision of the entity, as
+	 * already read by the caller (see {@link #getLastRevision(String, String)}).
+	 *
+	 * @param  entity         the entity that will have a new revision.
+	 * @param  lastRevision   the last revision of the entity or null if the entity has no revisions.
+	 * @param  municipalityId the id of the municipality.
+	 * @return                the created revision, the previous revision (i.e. the last revision) and the current version
+	 *                        of the entity (the created and previous revision are null if the entity has no changes since
+	 *                        its last revision, in which case the current version is the version of the last revision).
 	 */
-	public Revision createRevision(final NoteEntity entity, final String municipalityId) {
+	public RevisionInformation createRevision(final NoteEntity entity, final RevisionHeader lastRevision, final String municipalityId) {
 
-		final var lastRevision = revisionRepository.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(entity.getId(), municipalityId);
+		final var serializedSnapshot = toJsonString(entity);
+		final var contentHash = toContentHash(serializedSnapshot);
 
-		if (lastRevision.isPresent()) {
+		if (nonNull(lastRevision)) {
 
 			// No changes since last revision, return.
-			if (jsonEquals(lastRevision.get().getSerializedSnapshot(), toJsonString(entity))) {
-				return null;
+			if (nonNull(contentHash) && contentHash.equals(lastRevision.getContentHash())) {
+				return RevisionInformation.create()
+					.withCurrentVersion(lastRevision.getVersion());
 			}
 
 			// Create revision <lastRevision.version + 1>
-			return toRevision(createRevision(entity, lastRevision.get().getVersion() + 1, municipalityId));
+			return RevisionInformation.create()
+				.withCurrentRevision(toRevision(createRevision(entity, serializedSnapshot, contentHash, lastRevision.getVersion() + 1, municipalityId)))
+				.withPreviousRevision(toRevision(lastRevision))
+				.withCurrentVersion(lastRevision.getVersion() + 1);
 		}
 
 		// No previous revisions exist. Create revision 0
-		return toRevision(createRevision(entity, 0, municipalityId));
+		return RevisionInformation.create()
+			.withCurrentRevision(toRevision(createRevision(entity, serializedSnapshot, contentHash, 0, municipalityId)))
+			.withCurrentVersion(0);
+	}
+
+	/**
+	 * Create new revisions of several entities (see {@link #createRevision(NoteEntity, String)}).
+	 * <p>
+	 * The last revisions of all entities are fetched by a single query and the new revisions are inserted when the
+	 * persistence context is flushed, in JDBC batches. With storage mode DELTA the previous snapshot of each changed entity
+	 * is still read by a query of its own.
+	 *
+	 * @param  entities       the entities that will have new revisions.
+	 * @param  municipalityId the id of the municipality.
+	 * @return                the current and previous revision of each entity, in the same order as the entities (both
+	 *                        are null for entities without changes since their last revision).
+	 */
+	public List<RevisionInformation> createRevisions(final List<NoteEntity> entities, final String municipalityId) {
+		final var lastRevisions = revisionRepository.findLastByEntityIdInAndMunicipalityId(entities.stream().map(NoteEntity::getId).toList(), municipalityId).stream()
+			.collect(toMap(RevisionHeader::getEntityId, identity()));
+
+		return entities.stream()
+			.map(entity -> {
+				final var serializedSnapshot = toJsonString(entity);
+				final var contentHash = toContentHash(serializedSnapshot);
+				final var lastRevision = lastRevisions.get(entity.getId());
+
+				if (isNull(lastRevision)) {
+					return RevisionInformation.create()
+						.withCurrentRevision(toRevision(createRevision(entity, serializedSnapshot, contentHash, 0, municipalityId)));
+				}
+
+				// No changes since last revision.
+				if (nonNull(contentHash) && contentHash.equals(lastRevision.getContentHash())) {
+					return RevisionInformation.create();
+				}
+
+				return RevisionInformation.create()
+					.withCurrentRevision(toRevision(createRevision(entity, serializedSnapshot, contentHash, lastRevision.getVersion() + 1, municipalityId)))
+					.withPreviousRevision(toRevision(lastRevision));
+			})
+			.toList();
+	}
+
+	/**
+	 * Create the initial revision (version 0) of a new entity.
+	 * <p>
+	 * A new entity has no previous revisions, so no lookup of the last revision and no comparison of content is done. The
+	 * revision stores a full snapshot.
+	 *
+	 * @param  entity         the new entity.
+	 * @param  municipalityId the id of the municipality.
+	 * @return                the created revision.
+	 */
+	public Revision createInitialRevision(final NoteEntity entity, final String municipalityId) {
+		final var serializedSnapshot = toJsonString(entity);
+		return toRevision(createRevision(entity, serializedSnapshot, toContentHash(serializedSnapshot), 0, municipalityId));
+	}
+
+	/**
+	 * Create the initial revisions (version 0) of new entities (see {@link #createInitialRevision(NoteEntity, String)}).
+	 * <p>
+	 * The revisions are inserted when the persistence context is flushed, in JDBC batches.
+	 *
+	 * @param  entities       the new entities.
+	 * @param  municipalityId the id of the municipality.
+	 * @return                the created revisions, in the same order as the entities.
+	 */
+	public List<Revision> createInitialRevisions(final List<NoteEntity> entities, final String municipalityId) {
+		return entities.stream()
+			.map(entity -> createInitialRevision(entity, municipalityId))
+			.toList();
 	}
 
 	public List<Revision> getRevisions(final String noteEntityId, final String municipalityId) {
 		return toRevisionList(revisionRepository.findAllByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntityId, municipalityId));
 	}
 
-	private RevisionEntity createRevision(final NoteEntity entity, final int version, final String municipalityId) {
-		return revisionRepository.save(RevisionEntity.create()
+	/**
+	 * Get the latest revision of an entity.
+	 *
+	 * @param  noteEntityId   the NoteEntity id (uuid).
+	 * @param  municipalityId the id of the municipality.
+	 * @return                the revision with the highest version or null if the entity has no revisions.
+	 */
+	public Revision getLatestRevision(final String noteEntityId, final String municipalityId) {
+		return revisionRepository.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntityId, municipalityId)
+			.map(RevisionMapper::toRevision)
+			.orElse(null);
+	}
+
+	/**
+	 * Get the last revision of an entity, without its snapshot.
+	 *
+	 * @param  noteEntityId   the NoteEntity id (uuid).
+	 * @param  municipalityId the id of the municipality.
+	 * @return                the header of the revision with the highest version or null if the entity has no revisions.
+	 */
+	public RevisionHeader getLastRevision(final String noteEntityId, final String municipalityId) {
+		return revisionRepository.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntityId, municipalityId).orElse(null);
+	}
+
+	/**
+	 * Get the current version of a note, i.e. the version of its last revision, without reading the note or any snapshot.
+	 * <p>
+	 * Every change of the content of a note creates a new revision, so the version identifies the current content of the
+	 * note (and of its list of revisions).
+	 *
+	 * @param  noteEntityId   the NoteEntity id (uuid).
+	 * @param  municipalityId the id of the municipality.
+	 * @return                the current version or null if the note doesn't exist or has no revisions.
+	 */
+	public Integer getCurrentVersion(final String noteEntityId, final String municipalityId) {
+		return revisionRepository.findLastVersionOfExistingNote(noteEntityId, municipalityId).orElse(null);
+	}
+
+	/**
+	 * Rewrites the revisions of an entity according to the configured storage mode, i.e. converts full snapshots into
+	 * patches (except for every keyframe interval version) or the other way around. The content of the revisions is not
+	 * changed.
+	 *
+	 * @param  entityId       the id of the entity.
+	 * @param  municipalityId the id of the municipality.
+	 * @return                the number of rewritten revisions.
+	 */
+	public int compactRevisions(final String entityId, final String municipalityId) {
+		final var keyframeInterval = revisionProperties.effectiveKeyframeInterval();
+		var rewritten = 0;
+		RevisionEntity previous = null;
+		JsonNode previousJson = null;
+
+		for (final var revision : revisionRepository.findWithLockByEntityIdAndMunicipalityIdOrderByVersionAsc(entityId, municipalityId)) {
+			final var json = toSnapshot(previousJson, revision.getSnapshotType(), readStored(revision.getSerializedSnapshot(), revision.getCompressedSnapshot()));
+			final var keyframe = isKeyframe(revision.getVersion(), nonNull(previous) && previous.getVersion() == revision.getVersion() - 1, keyframeInterval);
+			final var snapshotType = keyframe ? FULL : DELTA;
+
+			if (snapshotType != revision.getSnapshotType()) {
+				revision.setSnapshotType(snapshotType);
+				store(revision, keyframe ? objectMapper.writeValueAsString(json) : toDelta(previousJson, json));
+				rewritten++;
+			}
+
+			previous = revision;
+			previousJson = json;
+		}
+
+		return rewritten;
+	}
+
+	/**
+	 * The keyframe rule, shared by new revisions and compaction (and {@link RevisionRepository#findOwnersToCompact}): a
+	 * version is stored as a full snapshot if it's a multiple of the keyframe interval or if the version before it
+	 * doesn't exist (the first version or a gap), and as a patch against the version before it otherwise.
+	 *
+	 * @param  version               the version.
+	 * @param  previousVersionExists if the version before it exists.
+	 * @param  keyframeInterval      the effective keyframe interval.
+	 * @return                       true if the version is stored as a full snapshot.
+	 */
+	static boolean isKeyframe(final int version, final boolean previousVersionExists, final int keyframeInterval) {
+		return version % keyframeInterval == 0 || !previousVersionExists;
+	}
+
+	/**
+	 * Compresses the snapshots of existing revisions that are stored uncompressed, e.g. revisions written before
+	 * compression was enabled. The content of the revisions is not changed.
+	 *
+	 * @param  batchSize the maximum number of revisions to compress.
+	 * @return           the number of compressed revisions.
+	 */
+	public int compressSnapshots(final int batchSize) {
+		// Read the ids without locks and lock the revisions by id, so that only the revisions to compress are locked
+		final var ids = revisionRepository.findIdsBySerializedSnapshotNotNull(Limit.of(batchSize));
+		if (ids.isEmpty()) {
+			return 0;
+		}
+
+		// Revisions compressed by someone else in between are not found again
+		final var revisions = revisionRepository.findWithLockByIdInAndSerializedSnapshotNotNull(ids);
+		revisions.forEach(revision -> revision
+			.withCompressedSnapshot(SnapshotCompression.compress(revision.getSerializedSnapshot()))
+			.withSerializedSnapshot(null));
+
+		return revisions.size();
+	}
+
+	private RevisionEntity createRevision(final NoteEntity entity, final String serializedSnapshot, final String contentHash, final int version, final String municipalityId) {
+		final var revisionEntity = RevisionEntity.create()
 			.withEntityId(entity.getId())
 			.withEntityType(entity.getClass().getSimpleName())
-			.withSerializedSnapshot(toJsonString(entity))
+			.withSnapshotType(FULL)
+			.withContentHash(contentHash)
 			.withVersion(version)
-			.withMunicipalityId(municipalityId));
+			.withMunicipalityId(municipalityId);
+
+		var storedSnapshot = serializedSnapshot;
+		final var keyframeInterval = revisionProperties.effectiveKeyframeInterval();
+		if (version % keyframeInterval != 0 && nonNull(serializedSnapshot)) {
+			// Store a patch against the previous version, unless the version is a keyframe (the same rule as compaction)
+			final var previousVersion = version - 1;
+			final var revisions = revisionRepository.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(entity.getId(), municipalityId, previousVersion, previousVersion);
+			final var previousVersionExists = !revisions.isEmpty() && revisions.getLast().getVersion() == previousVersion;
+
+			if (!isKeyframe(version, previousVersionExists, keyframeInterval)) {
+				final var previousJson = reconstruct(revisions, List.of(previousVersion)).get(previousVersion);
+				revisionEntity.setSnapshotType(DELTA);
+				storedSnapshot = toDelta(previousJson, objectMapper.readTree(serializedSnapshot));
+			}
+		}
+
+		return revisionRepository.save(store(revisionEntity, storedSnapshot));
+	}
+
+	/**
+	 * Reconstructs the snapshots of the provided versions from a list of revisions ordered by version, where each
+	 * revision stored as a patch is preceded by the revisions back to its closest full snapshot.
+	 */
+	private Map<Integer, JsonNode> reconstruct(final List<RevisionEntity> revisions, final Collection<Integer> versions) {
+		final var snapshots = new HashMap<Integer, JsonNode>();
+		JsonNode json = null;
+
+		for (final var revision : revisions) {
+			json = toSnapshot(json, revision.getSnapshotType(), readStored(revision.getSerializedSnapshot(), revision.getCompressedSnapshot()));
+			if (versions.contains(revision.getVersion())) {
+				snapshots.put(revision.getVersion(), json);
+			}
+		}
+
+		return snapshots;
+	}
+
+	/**
+	 * Stores a serialized snapshot in a revision, compressed if compression is enabled.
+	 */
+	private RevisionEntity store(final RevisionEntity revision, final String serializedSnapshot) {
+		if (revisionProperties.compression().enabled() && nonNull(serializedSnapshot)) {
+			return revision
+				.withCompressedSnapshot(SnapshotCompression.compress(serializedSnapshot))
+				.withSerializedSnapshot(null);
+		}
+
+		return revision
+			.withSerializedSnapshot(serializedSnapshot)
+			.withCompressedSnapshot(null);
+	}
+
+	/**
+	 * Reads a stored snapshot, which is the compressed snapshot if present and otherwise the serialized snapshot.
+	 */
+	private JsonNode readStored(final String serializedSnapshot, final byte[] compressedSnapshot) {
+		return nonNull(compressedSnapshot) ? objectMapper.readTree(SnapshotCompression.decompress(compressedSnapshot)) : objectMapper.readTree(serializedSnapshot);
 	}
 
-	private boolean jsonEquals(final String json1, final String json2) {
-		if (anyNull(json1, json2)) {
-			return false;
+	/**
+	 * Reads a stored snapshot, applying it to the snapshot of the previous version if it's a patch.
+	 */
+	private JsonNode toSnapshot(final JsonNode previousJson, final SnapshotType snapshotType, final JsonNode json) {
+		if (snapshotType != DELTA) {
+			return json;
 		}
+		if (isNull(previousJson)) {
+			throw new IllegalStateException("Revision stored as a patch is not preceded by a full snapshot");
+		}
+
+		return Jackson3JsonPatch.apply(json, previousJson);
+	}
+
+	private String toDelta(final JsonNode previousJson, final JsonNode json) {
+		return objectMapper.writeValueAsString(Jackson3JsonDiff.asJson(previousJson, json, DELTA_FLAGS));
+	}
+
+	private List<Operation> diff(final JsonNode source, final JsonNode target) {
+		return toOperations(Jackson3JsonDiff.asJson(source, target, DIFF_FLAGS));
+	}
 
+	private JsonNode readSnapshot(final String noteEntityId, final JsonNode previousJson, final RevisionSnapshot snapshot) {
 		try {
-			return objectMapper.readTree(json1).equals(objectMapper.readTree(json2));
-		} catch (final Exception e) {
-			LOG.error("Error during JSON compare!", e);
-			return false;
+			return toSnapshot(previousJson, snapshot.getSnapshotType(), readStored(snapshot.getSerializedSnapshot(), snapshot.getCompressedSnapshot()));
+		} catch (final RuntimeException e) {
+			LOG.error("Error occurred during diff: ", e);
+			throw Problem.valueOf(INTERNAL_SERVER_ERROR, PROBLEM_DURING_DIFF.formatted(noteEntityId, snapshot.getVersion() - 1, snapshot.getVersion()));
 		}
 	}
 
+	/**
+	 * Converts a JSON patch into operations, binding the patch tree directly instead of serializing it to a string and
+	 * parsing it again.
+	 *
+	 * @param  patch the JSON patch (an array of operations).
+	 * @return       the operations of the patch.
+	 */
+	List<Operation> toOperations(final JsonNode patch) {
+		return List.of(objectMapper.treeToValue(patch, Operation[].class));
+	}
+
+	/**
+	 * Calculates the content hash of a serialized snapshot, i.e. the hex encoded SHA-256 digest of its UTF-8 bytes.
+	 * <p>
+	 * The snapshot is always produced by the same serializer from the same entity type, so equal content gives equal
+	 * snapshots and therefore equal hashes. This is the same hash as MariaDB's
+	 * SHA2(CONVERT(serialized_snapshot USING utf8mb4), 256), which is used to backfill existing revisions.
+	 *
+	 * @param  serializedSnapshot the serialized snapshot.
+	 * @return                    the content hash or null if no snapshot is provided.
+	 */
+	static String toContentHash(final String serializedSnapshot) {
+		if (isNull(serializedSnapshot)) {
+			return null;
+		}
+
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance(CONTENT_HASH_ALGORITHM).digest(serializedSnapshot.getBytes(UTF_8)));
+		} catch (final NoSuchAlgorithmException e) {
+			LOG.error("Error during calculation of content hash!", e);
+		}
+
+		return null;
+	}
+
 	private String toJsonString(final NoteEntity entity) {
 		try {
 			return objectMapper.writeValueAsString(entity);
@@ -7,6 +7,10 @@ public final class ServiceConstants {
 	static final String REVISION_NOT_FOUND_FOR_ID_AND_VERSION = "No revision with entityId '%s' and version '%s' was found!";
 	static final String PROBLEM_DURING_DIFF = "An error occurred during diff of entityId '%s' looking at version '%s' and version '%s'!";
 	static final String ERROR_NOTE_NOT_FOUND = "Note with id '%s' not found";
+	static final String ERROR_IDS_OR_CASE_ID = "Either ids or caseId must be provided, but not both";
+	static final String ERROR_VERSION_MISMATCH = "Note with id '%s' has version '%s', but version '%s' was expected";
+	public static final String ERROR_IF_MATCH_NOT_A_VERSION = "If-Match '%s' doesn't match any version of a note";
+	static final String ERROR_INVALID_VERSION_RANGE = "Version range from '%s' to '%s' is invalid, from must not be greater than to";
 	public static final String KEY_CURRENT_VERSION = "x-current-version";
 	public static final String KEY_PREVIOUS_VERSION = "x-previous-version";
 	public static final String KEY_PREVIOUS_REVISION = "x-previous-revision";
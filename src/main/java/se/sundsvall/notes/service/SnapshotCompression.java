@@ -0,0 +1,82 @@
+package se.sundsvall.notes.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compression of serialized snapshots.
+ * <p>
+ * A compressed snapshot is the UTF-8 bytes of the JSON snapshot prefixed by one byte that identifies the format, so
+ * that the format can be changed later without rewriting existing revisions.
+ */
+final class SnapshotCompression {
+
+	static final byte FORMAT_DEFLATE = 1;
+
+	private static final int BUFFER_SIZE = 4096;
+
+	private SnapshotCompression() {}
+
+	/**
+	 * Compresses a serialized snapshot.
+	 *
+	 * @param  serializedSnapshot the serialized snapshot.
+	 * @return                    the format marker followed by the deflated UTF-8 bytes of the snapshot.
+	 */
+	static byte[] compress(final String serializedSnapshot) {
+		final var deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try (final var outputStream = new ByteArrayOutputStream()) {
+			outputStream.write(FORMAT_DEFLATE);
+			deflater.setInput(serializedSnapshot.getBytes(UTF_8));
+			deflater.finish();
+
+			final var buffer = new byte[BUFFER_SIZE];
+			while (!deflater.finished()) {
+				outputStream.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return outputStream.toByteArray();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			deflater.end();
+		}
+	}
+
+	/**
+	 * Decompresses a compressed snapshot.
+	 *
+	 * @param  compressedSnapshot the compressed snapshot (format marker followed by the compressed bytes).
+	 * @return                    the UTF-8 bytes of the serialized snapshot.
+	 * @throws IllegalStateException if the format is unknown or the compressed bytes are corrupt.
+	 */
+	static byte[] decompress(final byte[] compressedSnapshot) {
+		if (compressedSnapshot.length == 0 || compressedSnapshot[0] != FORMAT_DEFLATE) {
+			throw new IllegalStateException("Unknown format of compressed snapshot");
+		}
+
+		final var inflater = new Inflater();
+		try (final var outputStream = new ByteArrayOutputStream()) {
+			inflater.setInput(compressedSnapshot, 1, compressedSnapshot.length - 1);
+
+			final var buffer = new byte[BUFFER_SIZE];
+			while (!inflater.finished()) {
+				final var length = inflater.inflate(buffer);
+				if (length == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IllegalStateException("Compressed snapshot is truncated");
+				}
+				outputStream.write(buffer, 0, length);
+			}
+			return outputStream.toByteArray();
+		} catch (final DataFormatException | IOException e) {
+			throw new IllegalStateException("Compressed snapshot is corrupt", e);
+		} finally {
+			inflater.end();
+		}
+	}
+}
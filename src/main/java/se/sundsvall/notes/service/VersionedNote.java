@@ -0,0 +1,12 @@
+package se.sundsvall.notes.service;
+
+import se.sundsvall.notes.api.model.Note;
+
+/**
+ * A note together with its current version, read in the same transaction.
+ *
+ * @param note    the note.
+ * @param version the current version of the note or null if the note has no revisions.
+ */
+public record VersionedNote(Note note, Integer version) {
+}
@@ -0,0 +1,60 @@
+package se.sundsvall.notes.service.mapper;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.notes.integration.db.model.NoteEntity;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneOffset.UTC;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Maps between note positions and the opaque cursors used for keyset pagination. A cursor is the base64url encoded
+ * value of the created timestamp and the id of the last note on a page.
+ */
+public final class CursorMapper {
+
+	public static final String FIRST_PAGE_CURSOR = "*";
+
+	private static final String SEPARATOR = "|";
+	private static final String ERROR_INVALID_CURSOR = "Invalid cursor '%s'";
+
+	private CursorMapper() {}
+
+	public static String toCursor(final NoteEntity noteEntity) {
+		return Optional.ofNullable(noteEntity)
+			.map(entity -> Base64.getUrlEncoder().withoutPadding().encodeToString((entity.getCreated().toInstant() + SEPARATOR + entity.getId()).getBytes(UTF_8)))
+			.orElse(null);
+	}
+
+	/**
+	 * Decodes a cursor.
+	 *
+	 * @param  cursor the cursor to decode.
+	 * @return        the position of the cursor or null if the cursor points to the first page.
+	 * @throws        Problem with status BAD_REQUEST if the cursor is malformed.
+	 */
+	public static Position toPosition(final String cursor) {
+		if (FIRST_PAGE_CURSOR.equals(cursor)) {
+			return null;
+		}
+
+		try {
+			final var decoded = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+			final var separatorIndex = decoded.indexOf(SEPARATOR);
+			if (separatorIndex < 1 || separatorIndex == decoded.length() - 1) {
+				throw Problem.valueOf(BAD_REQUEST, ERROR_INVALID_CURSOR.formatted(cursor));
+			}
+
+			return new Position(OffsetDateTime.ofInstant(Instant.parse(decoded.substring(0, separatorIndex)), UTC), decoded.substring(separatorIndex + 1));
+		} catch (final IllegalArgumentException | DateTimeParseException e) {
+			throw Problem.valueOf(BAD_REQUEST, ERROR_INVALID_CURSOR.formatted(cursor));
+		}
+	}
+
+	public record Position(OffsetDateTime created, String id) {}
+}
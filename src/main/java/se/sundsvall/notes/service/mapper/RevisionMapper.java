@@ -5,6 +5,7 @@ import java.util.Objects;
 import java.util.Optional;
 import se.sundsvall.notes.api.model.Revision;
 import se.sundsvall.notes.integration.db.model.RevisionEntity;
+import se.sundsvall.notes.integration.db.model.RevisionHeader;
 
 import static java.util.Collections.emptyList;
 
@@ -12,8 +13,8 @@ public final class RevisionMapper {
 
 	private RevisionMapper() {}
 
-	public static List<Revision> toRevisionList(final List<RevisionEntity> revisionEntityList) {
-		return Optional.ofNullable(revisionEntityList).orElse(emptyList()).stream()
+	public static List<Revision> toRevisionList(final List<RevisionHeader> revisionHeaderList) {
+		return Optional.ofNullable(revisionHeaderList).orElse(emptyList()).stream()
 			.map(RevisionMapper::toRevision)
 			.filter(Objects::nonNull)
 			.toList();
@@ -29,4 +30,15 @@ public final class RevisionMapper {
 				.withVersion(entity.getVersion()))
 			.orElse(null);
 	}
+
+	public static Revision toRevision(final RevisionHeader revisionHeader) {
+		return Optional.ofNullable(revisionHeader)
+			.map(header -> Revision.create()
+				.withCreated(header.getCreated())
+				.withEntityId(header.getEntityId())
+				.withEntityType(header.getEntityType())
+				.withId(header.getId())
+				.withVersion(header.getVersion()))
+			.orElse(null);
+	}
 }
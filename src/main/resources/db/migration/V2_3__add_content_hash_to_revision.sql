@@ -0,0 +1,4 @@
+alter table revision add column content_hash char(64);
+
+-- Backfill content hash (hex encoded SHA-256 of the UTF-8 bytes of the serialized snapshot) for existing revisions
+update revision set content_hash = sha2(convert(serialized_snapshot using utf8mb4), 256) where serialized_snapshot is not null;
@@ -0,0 +1,20 @@
+-- Renumber revisions of entities that have duplicate versions (caused by concurrent updates), keeping the original order
+update revision r
+join (
+    select id,
+           min(version) over (partition by entity_id, municipality_id)
+               + row_number() over (partition by entity_id, municipality_id order by version, created, id) - 1 as new_version
+    from revision
+    where (entity_id, municipality_id) in (
+        select entity_id, municipality_id
+        from revision
+        group by entity_id, municipality_id, version
+        having count(*) > 1)
+) renumbered on renumbered.id = r.id
+set r.version = renumbered.new_version;
+
+alter table revision add constraint revision_unique_entity_id_municipality_id_version unique (entity_id, municipality_id, version);
+
+-- Covered by the leftmost columns of the constraint above
+drop index revision_entity_id_index on revision;
+drop index revision_municipality_id_index on revision;
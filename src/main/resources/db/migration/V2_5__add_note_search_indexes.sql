@@ -0,0 +1,10 @@
+create index note_municipality_id_party_id_created_index on note (municipality_id, party_id, created);
+create index note_municipality_id_case_id_created_index on note (municipality_id, case_id, created);
+create index note_municipality_id_client_id_context_created_index on note (municipality_id, client_id, context, created);
+
+-- Covered by the composite indexes above, as municipality_id is their leftmost column.
+drop index note_municipality_id_index on note;
+-- Covered by note_municipality_id_party_id_created_index and note_municipality_id_client_id_context_created_index, as
+-- every query on party_id or client_id is also restricted to a municipality_id.
+drop index note_party_id_index on note;
+drop index note_client_id_index on note;
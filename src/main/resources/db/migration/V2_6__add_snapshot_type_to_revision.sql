@@ -0,0 +1,2 @@
+-- Existing revisions all contain full snapshots
+alter table revision add column snapshot_type varchar(255) not null default 'FULL';
@@ -0,0 +1,2 @@
+-- Existing snapshots are compressed by a background job (see RevisionCompressionJob)
+alter table revision add column compressed_snapshot longblob;
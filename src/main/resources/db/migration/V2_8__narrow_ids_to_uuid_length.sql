@@ -0,0 +1,4 @@
+-- Ids are UUIDs, new ids are time-ordered (UUIDv7) so that inserts append to the end of the primary key index.
+-- Existing (random) ids are kept as is.
+alter table note modify id char(36) not null;
+alter table revision modify id char(36) not null, modify entity_id char(36);
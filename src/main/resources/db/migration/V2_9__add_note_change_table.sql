@@ -0,0 +1,10 @@
+-- Change log of notes, polled by the instances of the service to invalidate their note caches.
+create table note_change (
+    created datetime(6),
+    municipality_id varchar(255) not null,
+    id char(36) not null,
+    note_id char(36) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index note_change_created_index on note_change (created);
@@ -1,8 +1,12 @@
 package se.sundsvall.notes.api;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
@@ -14,13 +18,16 @@ import se.sundsvall.dept44.problem.violations.Violation;
 import se.sundsvall.notes.Application;
 import se.sundsvall.notes.api.model.CreateNoteRequest;
 import se.sundsvall.notes.api.model.UpdateNoteRequest;
+import se.sundsvall.notes.api.model.UpdateNotesRequest;
 
 import static org.apache.commons.lang3.StringUtils.repeat;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON;
 
@@ -284,6 +291,59 @@ class NoteResourceFailuresTest {
 		assertThat(response.getDetail()).contains("Failed to read request");
 	}
 
+	@Test
+	void createNotesEmptyList() {
+
+		// Act
+		final var response = webTestClient.post().uri(builder -> builder.path(PATH + "/batch").build())
+			.contentType(APPLICATION_JSON)
+			.bodyValue(List.of())
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactly(tuple("createNotes.body", "must not be empty"));
+	}
+
+	@Test
+	void createNotesTooManyNotes() {
+
+		// Arrange
+		final var createNoteRequests = Collections.nCopies(NotesResource.MAX_NOTES_PER_BATCH + 1, CreateNoteRequest.create()
+			.withBody("body")
+			.withClientId("clientId")
+			.withContext("context")
+			.withCreatedBy("createdBy")
+			.withRole("role")
+			.withSubject("subject"));
+
+		// Act
+		final var response = webTestClient.post().uri(builder -> builder.path(PATH + "/batch").build())
+			.contentType(APPLICATION_JSON)
+			.bodyValue(createNoteRequests)
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull();
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactly(tuple("createNotes.body", "size must be between 0 and 1000"));
+	}
+
 	@Test
 	void updateNoteInvalidId() {
 
@@ -341,6 +401,62 @@ class NoteResourceFailuresTest {
 				tuple("modifiedBy", "must not be blank"));
 	}
 
+	@Test
+	void updateNotesMissingChanges() {
+
+		// Arrange
+		final var updateNotesRequest = UpdateNotesRequest.create().withCaseId("caseId");
+
+		// Act
+		final var response = webTestClient.patch().uri(builder -> builder.path(PATH).build())
+			.contentType(APPLICATION_JSON)
+			.bodyValue(updateNotesRequest)
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactly(tuple("changes", "must not be null"));
+	}
+
+	@Test
+	void updateNotesInvalidProperties() {
+
+		// Arrange
+		final var updateNotesRequest = UpdateNotesRequest.create()
+			.withIds(List.of())
+			.withChanges(UpdateNoteRequest.create().withSubject("subject"));
+
+		// Act
+		final var response = webTestClient.patch().uri(builder -> builder.path(PATH).build())
+			.contentType(APPLICATION_JSON)
+			.bodyValue(updateNotesRequest)
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactlyInAnyOrder(
+				tuple("changes.modifiedBy", "must not be blank"),
+				tuple("ids", "size must be between 1 and 1000"));
+	}
+
 	@Test
 	void updateNoteTooLongParameterValues() {
 
@@ -404,6 +520,37 @@ class NoteResourceFailuresTest {
 		assertThat(response.getDetail()).contains("Failed to read request");
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"W/\"1\"", "\"not-a-version\"", "\"1\", \"2\""
+	})
+	void updateNoteIfMatchNotAVersion(final String ifMatch) {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+		final var updateNoteRequest = UpdateNoteRequest.create()
+			.withBody("body")
+			.withModifiedBy("modifiedBy");
+
+		// Act
+		final var response = webTestClient.patch().uri(builder -> builder.path(PATH + "/{id}").build(Map.of("id", id)))
+			.contentType(APPLICATION_JSON)
+			.header(IF_MATCH, ifMatch)
+			.bodyValue(updateNoteRequest)
+			.exchange()
+			.expectStatus().isEqualTo(PRECONDITION_FAILED)
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(Problem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo(PRECONDITION_FAILED.getReasonPhrase());
+		assertThat(response.getStatus()).isEqualTo(PRECONDITION_FAILED);
+		assertThat(response.getDetail()).isEqualTo("If-Match '%s' doesn't match any version of a note".formatted(ifMatch));
+	}
+
 	@Test
 	void getNoteByIdInvalidId() {
 
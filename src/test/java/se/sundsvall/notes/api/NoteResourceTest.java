@@ -5,6 +5,8 @@ import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -18,13 +20,18 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import se.sundsvall.notes.Application;
 import se.sundsvall.notes.api.model.CreateNoteRequest;
+import se.sundsvall.notes.api.model.CreateNoteResult;
 import se.sundsvall.notes.api.model.FindNotesRequest;
 import se.sundsvall.notes.api.model.FindNotesResponse;
+import se.sundsvall.notes.api.model.MetaData;
 import se.sundsvall.notes.api.model.Note;
 import se.sundsvall.notes.api.model.Revision;
 import se.sundsvall.notes.api.model.RevisionInformation;
 import se.sundsvall.notes.api.model.UpdateNoteRequest;
+import se.sundsvall.notes.api.model.UpdateNoteResult;
+import se.sundsvall.notes.api.model.UpdateNotesRequest;
 import se.sundsvall.notes.service.NoteService;
+import se.sundsvall.notes.service.VersionedNote;
 
 import static java.util.Optional.ofNullable;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,9 +39,14 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.ALL;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
@@ -134,6 +146,93 @@ class NoteResourceTest {
 		verify(noteService).createNote(createNoteRequest, MUNICIPALITY_ID);
 	}
 
+	@Test
+	void createNotes() {
+
+		// Arrange
+		final var id1 = UUID.randomUUID().toString();
+		final var id2 = UUID.randomUUID().toString();
+		final var createNoteRequest1 = createNoteRequest("subject 1");
+		final var invalidCreateNoteRequest = createNoteRequest(null).withContext(" ");
+		final var createNoteRequest2 = createNoteRequest("subject 2");
+
+		when(noteService.createNotes(any(), anyString())).thenReturn(List.of(
+			RevisionInformation.create().withNote(Note.create().withId(id1)).withCurrentRevision(Revision.create().withId("revision1").withVersion(0)),
+			RevisionInformation.create().withNote(Note.create().withId(id2)).withCurrentRevision(Revision.create().withId("revision2").withVersion(0))));
+
+		// Act
+		final var response = webTestClient.post().uri(PATH + "/batch")
+			.contentType(APPLICATION_JSON)
+			.bodyValue(List.of(createNoteRequest1, invalidCreateNoteRequest, createNoteRequest2))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBodyList(CreateNoteResult.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).containsExactly(
+			CreateNoteResult.create().withIndex(0).withStatus(201).withId(id1).withRevisionId("revision1"),
+			CreateNoteResult.create().withIndex(1).withStatus(400).withDetail("context: must not be blank, subject: must not be blank"),
+			CreateNoteResult.create().withIndex(2).withStatus(201).withId(id2).withRevisionId("revision2"));
+		verify(noteService).createNotes(List.of(createNoteRequest1, createNoteRequest2), MUNICIPALITY_ID);
+	}
+
+	@Test
+	void createNotesAllInvalid() {
+
+		// Act
+		final var response = webTestClient.post().uri(PATH + "/batch")
+			.contentType(APPLICATION_JSON)
+			.bodyValue(List.of(createNoteRequest(null)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectBodyList(CreateNoteResult.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).containsExactly(CreateNoteResult.create().withIndex(0).withStatus(400).withDetail("subject: must not be blank"));
+		verifyNoInteractions(noteService);
+	}
+
+	@Test
+	void updateNotes() {
+
+		// Arrange
+		final var id1 = UUID.randomUUID().toString();
+		final var id2 = UUID.randomUUID().toString();
+		final var updateNotesRequest = UpdateNotesRequest.create()
+			.withIds(List.of(id1, id2))
+			.withChanges(UpdateNoteRequest.create()
+				.withModifiedBy("modifiedBy")
+				.withCaseType("caseType")
+				.withCaseLink("caseLink"));
+		final var results = List.of(
+			UpdateNoteResult.create().withId(id1).withStatus(200)
+				.withCurrentRevision(Revision.create().withId("currentRevision").withVersion(1))
+				.withPreviousRevision(Revision.create().withId("previousRevision").withVersion(0)),
+			UpdateNoteResult.create().withId(id2).withStatus(404).withDetail("Note with id '%s' not found".formatted(id2)));
+
+		when(noteService.updateNotes(updateNotesRequest, MUNICIPALITY_ID)).thenReturn(results);
+
+		// Act
+		final var response = webTestClient.patch().uri(PATH)
+			.contentType(APPLICATION_JSON)
+			.bodyValue(updateNotesRequest)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBodyList(UpdateNoteResult.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isEqualTo(results);
+		verify(noteService).updateNotes(updateNotesRequest, MUNICIPALITY_ID);
+	}
+
 	@Test
 	void updateNote() {
 
@@ -154,9 +253,10 @@ class NoteResourceTest {
 
 		final Note note = Note.create().withId(id);
 
-		when(noteService.updateNote(id, updateNoteRequest, MUNICIPALITY_ID)).thenReturn(RevisionInformation.create().withNote(note)
+		when(noteService.updateNote(id, updateNoteRequest, null, MUNICIPALITY_ID)).thenReturn(RevisionInformation.create().withNote(note)
 			.withCurrentRevision(currentRevision)
-			.withPreviousRevision(previousRevision));
+			.withPreviousRevision(previousRevision)
+			.withCurrentVersion(1));
 
 		// Act
 		final var response = webTestClient.patch().uri(builder -> builder.path(PATH + "/{id}").build(Map.of("id", id)))
@@ -169,13 +269,80 @@ class NoteResourceTest {
 			.expectHeader().valueEquals(KEY_CURRENT_VERSION, "1")
 			.expectHeader().valueEquals(KEY_PREVIOUS_REVISION, "previousRevision")
 			.expectHeader().valueEquals(KEY_PREVIOUS_VERSION, "0")
+			.expectHeader().valueEquals(ETAG, "\"1\"")
 			.expectBody(Note.class)
 			.returnResult()
 			.getResponseBody();
 
 		// Assert
 		assertThat(response).isNotNull().isEqualTo(note);
-		verify(noteService).updateNote(id, updateNoteRequest, MUNICIPALITY_ID);
+		verify(noteService).updateNote(id, updateNoteRequest, null, MUNICIPALITY_ID);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = {
+		"'\"3\"', 3", "*, null"
+	}, nullValues = "null")
+	void updateNoteWithIfMatch(final String ifMatch, final Integer expectedVersion) {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+		final var updateNoteRequest = UpdateNoteRequest.create()
+			.withBody("body")
+			.withModifiedBy("modifiedBy");
+		final var note = Note.create().withId(id);
+
+		when(noteService.updateNote(id, updateNoteRequest, expectedVersion, MUNICIPALITY_ID)).thenReturn(RevisionInformation.create().withNote(note)
+			.withCurrentRevision(Revision.create().withId("currentRevision").withVersion(4))
+			.withPreviousRevision(Revision.create().withId("previousRevision").withVersion(3))
+			.withCurrentVersion(4));
+
+		// Act
+		final var response = webTestClient.patch().uri(builder -> builder.path(PATH + "/{id}").build(Map.of("id", id)))
+			.contentType(APPLICATION_JSON)
+			.header(IF_MATCH, ifMatch)
+			.bodyValue(updateNoteRequest)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().valueEquals(ETAG, "\"4\"")
+			.expectBody(Note.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull().isEqualTo(note);
+		verify(noteService).updateNote(id, updateNoteRequest, expectedVersion, MUNICIPALITY_ID);
+	}
+
+	@Test
+	void updateNoteWithoutChanges() {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+		final var updateNoteRequest = UpdateNoteRequest.create()
+			.withBody("body")
+			.withModifiedBy("modifiedBy");
+		final var note = Note.create().withId(id);
+
+		when(noteService.updateNote(id, updateNoteRequest, null, MUNICIPALITY_ID)).thenReturn(RevisionInformation.create().withNote(note)
+			.withCurrentVersion(3));
+
+		// Act
+		final var response = webTestClient.patch().uri(builder -> builder.path(PATH + "/{id}").build(Map.of("id", id)))
+			.contentType(APPLICATION_JSON)
+			.bodyValue(updateNoteRequest)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().valueEquals(ETAG, "\"3\"")
+			.expectHeader().doesNotExist(KEY_CURRENT_REVISION)
+			.expectHeader().doesNotExist(KEY_PREVIOUS_REVISION)
+			.expectBody(Note.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull().isEqualTo(note);
+		verify(noteService).updateNote(id, updateNoteRequest, null, MUNICIPALITY_ID);
 	}
 
 	@Test
@@ -206,13 +373,14 @@ class NoteResourceTest {
 		final var id = UUID.randomUUID().toString();
 
 		final Note note = Note.create().withId(id);
-		when(noteService.getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(note);
+		when(noteService.getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(new VersionedNote(note, 1));
 
 		// Act
 		final var response = webTestClient.get().uri(builder -> builder.path(PATH + "/{id}").build(Map.of("id", id)))
 			.exchange()
 			.expectStatus().isOk()
 			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().valueEquals(ETAG, "\"1\"")
 			.expectBody(Note.class)
 			.returnResult()
 			.getResponseBody();
@@ -222,6 +390,74 @@ class NoteResourceTest {
 		verify(noteService).getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
 	}
 
+	@Test
+	void getNoteWithoutVersion() {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+
+		final Note note = Note.create().withId(id);
+		when(noteService.getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(new VersionedNote(note, null));
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH + "/{id}").build(Map.of("id", id)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().doesNotExist(ETAG)
+			.expectBody(Note.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull().isEqualTo(note);
+		verify(noteService).getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+	}
+
+	@Test
+	void getNoteWithETag() {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+
+		final Note note = Note.create().withId(id);
+		when(noteService.getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(new VersionedNote(note, 3));
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH + "/{id}").build(Map.of("id", id)))
+			.header(IF_NONE_MATCH, "\"2\"")
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().valueEquals(ETAG, "\"3\"")
+			.expectBody(Note.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull().isEqualTo(note);
+		verify(noteService).getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+	}
+
+	@Test
+	void getNoteNotModified() {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+
+		when(noteService.getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(new VersionedNote(Note.create().withId(id), 3));
+
+		// Act
+		webTestClient.get().uri(builder -> builder.path(PATH + "/{id}").build(Map.of("id", id)))
+			.header(IF_NONE_MATCH, "\"3\"")
+			.exchange()
+			.expectStatus().isNotModified()
+			.expectHeader().valueEquals(ETAG, "\"3\"")
+			.expectBody().isEmpty();
+
+		// Assert
+		verify(noteService).getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+		verifyNoMoreInteractions(noteService);
+	}
+
 	@Test
 	void findNotes() {
 
@@ -258,6 +494,36 @@ class NoteResourceTest {
 		assertThat(findNotesRequest.getContext()).isEqualTo(context);
 		assertThat(findNotesRequest.getRole()).isEqualTo(role);
 		assertThat(findNotesRequest.getClientId()).isEqualTo(clientId);
+		assertThat(findNotesRequest.getCursor()).isNull();
+	}
+
+	@Test
+	void findNotesWithCursor() {
+
+		// Arrange
+		final var cursor = "*";
+		final var expectedResponse = FindNotesResponse.create()
+			.withMetaData(MetaData.create().withCount(1).withLimit(1).withNextCursor("nextCursor"))
+			.withNotes(List.of(Note.create()));
+
+		when(noteService.getNotes(any(), anyString())).thenReturn(expectedResponse);
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH).queryParam("cursor", cursor).queryParam("limit", 1).build())
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBody(FindNotesResponse.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull().isEqualTo(expectedResponse);
+		verify(noteService).getNotes(parametersCaptor.capture(), eq(MUNICIPALITY_ID));
+
+		final FindNotesRequest findNotesRequest = parametersCaptor.getValue();
+		assertThat(findNotesRequest.getCursor()).isEqualTo(cursor);
+		assertThat(findNotesRequest.getLimit()).isEqualTo(1);
 	}
 
 	private MultiValueMap<String, String> createParameterMap(final Integer page, final Integer limit, final String partyId, final String caseId, final String context, final String role, final String clientId) {
@@ -273,4 +539,14 @@ class NoteResourceTest {
 
 		return parameters;
 	}
+
+	private static CreateNoteRequest createNoteRequest(final String subject) {
+		return CreateNoteRequest.create()
+			.withBody("Test note")
+			.withClientId("clientId")
+			.withContext("context")
+			.withCreatedBy("createdBy")
+			.withRole("role")
+			.withSubject(subject);
+	}
 }
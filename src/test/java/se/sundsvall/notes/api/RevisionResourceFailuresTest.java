@@ -17,7 +17,10 @@ import se.sundsvall.notes.service.RevisionService;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON;
@@ -211,4 +214,81 @@ class RevisionResourceFailuresTest {
 
 		verifyNoInteractions(revisionServiceMock);
 	}
+
+	@Test
+	void getDifferencesNoParameters() {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH + "/differences").build(Map.of("id", id, "municipalityId", MUNICIPALITY_ID)))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(Problem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Bad Request");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getDetail()).isEqualTo("Required parameter 'from' is not present.");
+
+		verifyNoInteractions(revisionServiceMock);
+	}
+
+	@Test
+	void getDifferencesNegativeValueInFrom() {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH + "/differences").queryParam("from", -1).queryParam("to", 2).build(Map.of("id", id, "municipalityId", MUNICIPALITY_ID)))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactly(tuple("getDifferencesByVersionRange.from", "must be between 0 and 2147483647"));
+
+		verifyNoInteractions(revisionServiceMock);
+	}
+
+	@Test
+	void getDifferencesInvalidRange() {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+
+		doThrow(Problem.valueOf(BAD_REQUEST, "Version range from '3' to '1' is invalid, from must not be greater than to"))
+			.when(revisionServiceMock).verifyVersionRange(id, MUNICIPALITY_ID, 3, 1);
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH + "/differences").queryParam("from", 3).queryParam("to", 1).build(Map.of("id", id, "municipalityId", MUNICIPALITY_ID)))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(Problem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull();
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getDetail()).isEqualTo("Version range from '3' to '1' is invalid, from must not be greater than to");
+
+		verify(revisionServiceMock).verifyVersionRange(id, MUNICIPALITY_ID, 3, 1);
+		verifyNoMoreInteractions(revisionServiceMock);
+	}
 }
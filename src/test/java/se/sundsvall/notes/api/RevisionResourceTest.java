@@ -3,6 +3,7 @@ package se.sundsvall.notes.api;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -12,15 +13,23 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import se.sundsvall.notes.Application;
 import se.sundsvall.notes.api.model.DifferenceResponse;
+import se.sundsvall.notes.api.model.Operation;
 import se.sundsvall.notes.api.model.Revision;
+import se.sundsvall.notes.api.model.RevisionDifference;
 import se.sundsvall.notes.service.RevisionService;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 @AutoConfigureWebTestClient
@@ -59,6 +68,51 @@ class RevisionResourceTest {
 		verify(revisionServiceMock).getRevisions(id, MUNICIPALITY_ID);
 	}
 
+	@Test
+	void getRevisionsWithETag() {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+
+		when(revisionServiceMock.getCurrentVersion(id, MUNICIPALITY_ID)).thenReturn(1);
+		when(revisionServiceMock.getRevisions(id, MUNICIPALITY_ID)).thenReturn(List.of(Revision.create().withVersion(1), Revision.create().withVersion(0)));
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH).build(Map.of("id", id, "municipalityId", MUNICIPALITY_ID)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().valueEquals(ETAG, "\"1\"")
+			.expectBodyList(Revision.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).hasSize(2);
+		verify(revisionServiceMock).getCurrentVersion(id, MUNICIPALITY_ID);
+		verify(revisionServiceMock).getRevisions(id, MUNICIPALITY_ID);
+	}
+
+	@Test
+	void getRevisionsNotModified() {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+
+		when(revisionServiceMock.getCurrentVersion(id, MUNICIPALITY_ID)).thenReturn(1);
+
+		// Act
+		webTestClient.get().uri(builder -> builder.path(PATH).build(Map.of("id", id, "municipalityId", MUNICIPALITY_ID)))
+			.header(IF_NONE_MATCH, "\"0\", \"1\"")
+			.exchange()
+			.expectStatus().isNotModified()
+			.expectHeader().valueEquals(ETAG, "\"1\"")
+			.expectBody().isEmpty();
+
+		// Assert
+		verify(revisionServiceMock).getCurrentVersion(id, MUNICIPALITY_ID);
+		verifyNoMoreInteractions(revisionServiceMock);
+	}
+
 	@Test
 	void getDifference() {
 
@@ -80,4 +134,55 @@ class RevisionResourceTest {
 		assertThat(response).isNotNull();
 		verify(revisionServiceMock).diff(id, MUNICIPALITY_ID, 1, 2);
 	}
+
+	@Test
+	void getDifferences() {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+		final var difference1 = RevisionDifference.create().withSource(1).withTarget(2).withOperations(List.of(Operation.create().withOp("replace").withPath("/body").withValue("b").withFromValue("a")));
+		final var difference2 = RevisionDifference.create().withSource(2).withTarget(3).withOperations(List.of());
+
+		doAnswer(invocation -> {
+			final Consumer<RevisionDifference> consumer = invocation.getArgument(4);
+			consumer.accept(difference1);
+			consumer.accept(difference2);
+			return null;
+		}).when(revisionServiceMock).diffVersionRange(anyString(), anyString(), anyInt(), anyInt(), any());
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH + "/differences").queryParam("from", 1).queryParam("to", 3).build(Map.of("id", id, "municipalityId", MUNICIPALITY_ID)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBodyList(RevisionDifference.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).containsExactly(difference1, difference2);
+		verify(revisionServiceMock).verifyVersionRange(id, MUNICIPALITY_ID, 1, 3);
+		verify(revisionServiceMock).diffVersionRange(eq(id), eq(MUNICIPALITY_ID), eq(1), eq(3), any());
+	}
+
+	@Test
+	void getDifferencesWhenRangeIsEmpty() {
+
+		// Arrange
+		final var id = UUID.randomUUID().toString();
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH + "/differences").queryParam("from", 2).queryParam("to", 2).build(Map.of("id", id, "municipalityId", MUNICIPALITY_ID)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBodyList(RevisionDifference.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isEmpty();
+		verify(revisionServiceMock).verifyVersionRange(id, MUNICIPALITY_ID, 2, 2);
+		verify(revisionServiceMock).diffVersionRange(eq(id), eq(MUNICIPALITY_ID), eq(2), eq(2), any());
+	}
 }
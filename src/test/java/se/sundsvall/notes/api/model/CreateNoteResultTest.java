@@ -0,0 +1,55 @@
+package se.sundsvall.notes.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class CreateNoteResultTest {
+
+	@Test
+	void testBean() {
+		assertThat(CreateNoteResult.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+
+		final var index = 1;
+		final var status = 201;
+		final var id = "id";
+		final var revisionId = "revisionId";
+		final var detail = "detail";
+
+		final var bean = CreateNoteResult.create()
+			.withIndex(index)
+			.withStatus(status)
+			.withId(id)
+			.withRevisionId(revisionId)
+			.withDetail(detail);
+
+		assertThat(bean).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(bean.getIndex()).isEqualTo(index);
+		assertThat(bean.getStatus()).isEqualTo(status);
+		assertThat(bean.getId()).isEqualTo(id);
+		assertThat(bean.getRevisionId()).isEqualTo(revisionId);
+		assertThat(bean.getDetail()).isEqualTo(detail);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(CreateNoteResult.create()).hasAllNullFieldsOrProperties();
+		assertThat(new CreateNoteResult()).hasAllNullFieldsOrProperties();
+	}
+}
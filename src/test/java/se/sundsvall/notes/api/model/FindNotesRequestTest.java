@@ -30,6 +30,8 @@ class FindNotesRequestTest {
 		final var caseId = "caseId";
 		final var clientId = "clientId";
 		final var context = "context";
+		final var cursor = "cursor";
+		final var includeTotals = false;
 		final var limit = 13;
 		final var page = 37;
 		final var partyId = UUID.randomUUID().toString();
@@ -39,6 +41,8 @@ class FindNotesRequestTest {
 			.withCaseId(caseId)
 			.withClientId(clientId)
 			.withContext(context)
+			.withCursor(cursor)
+			.withIncludeTotals(includeTotals)
 			.withLimit(limit)
 			.withPage(page)
 			.withPartyId(partyId)
@@ -48,6 +52,8 @@ class FindNotesRequestTest {
 		assertThat(findNotesRequest.getCaseId()).isEqualTo(caseId);
 		assertThat(findNotesRequest.getClientId()).isEqualTo(clientId);
 		assertThat(findNotesRequest.getContext()).isEqualTo(context);
+		assertThat(findNotesRequest.getCursor()).isEqualTo(cursor);
+		assertThat(findNotesRequest.isIncludeTotals()).isEqualTo(includeTotals);
 		assertThat(findNotesRequest.getLimit()).isEqualTo(limit);
 		assertThat(findNotesRequest.getPage()).isEqualTo(page);
 		assertThat(findNotesRequest.getPartyId()).isEqualTo(partyId);
@@ -56,8 +62,9 @@ class FindNotesRequestTest {
 
 	@Test
 	void testNoDirtOnCreatedBean() {
-		assertThat(FindNotesRequest.create()).hasAllNullFieldsOrPropertiesExcept("limit", "page");
+		assertThat(FindNotesRequest.create()).hasAllNullFieldsOrPropertiesExcept("limit", "page", "includeTotals");
 		assertThat(FindNotesRequest.create().getLimit()).isEqualTo(100);
 		assertThat(FindNotesRequest.create().getPage()).isEqualTo(1);
+		assertThat(FindNotesRequest.create().isIncludeTotals()).isTrue();
 	}
 }
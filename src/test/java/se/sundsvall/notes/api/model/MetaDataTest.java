@@ -27,21 +27,27 @@ class MetaDataTest {
 	void testBuilderMethods() {
 
 		final var count = 13;
+		final var hasNext = true;
 		final var limit = 24;
+		final var nextCursor = "nextCursor";
 		final var page = 35;
 		final var totalPages = 46;
-		final var totalRecords = 57;
+		final var totalRecords = 57L;
 
 		final var bean = MetaData.create()
 			.withCount(count)
+			.withHasNext(hasNext)
 			.withLimit(limit)
+			.withNextCursor(nextCursor)
 			.withPage(page)
 			.withTotalPages(totalPages)
 			.withTotalRecords(totalRecords);
 
 		assertThat(bean).isNotNull().hasNoNullFieldsOrProperties();
 		assertThat(bean.getCount()).isEqualTo(count);
+		assertThat(bean.isHasNext()).isEqualTo(hasNext);
 		assertThat(bean.getLimit()).isEqualTo(limit);
+		assertThat(bean.getNextCursor()).isEqualTo(nextCursor);
 		assertThat(bean.getPage()).isEqualTo(page);
 		assertThat(bean.getTotalPages()).isEqualTo(totalPages);
 		assertThat(bean.getTotalRecords()).isEqualTo(totalRecords);
@@ -50,9 +56,11 @@ class MetaDataTest {
 	@Test
 	void testNoDirtOnCreatedBean() {
 		assertThat(MetaData.create().getCount()).isZero();
+		assertThat(MetaData.create().isHasNext()).isFalse();
 		assertThat(MetaData.create().getLimit()).isZero();
+		assertThat(MetaData.create().getNextCursor()).isNull();
 		assertThat(MetaData.create().getPage()).isZero();
-		assertThat(MetaData.create().getTotalPages()).isZero();
-		assertThat(MetaData.create().getTotalRecords()).isZero();
+		assertThat(MetaData.create().getTotalPages()).isNull();
+		assertThat(MetaData.create().getTotalRecords()).isNull();
 	}
 }
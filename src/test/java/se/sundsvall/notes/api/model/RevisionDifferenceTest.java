@@ -0,0 +1,50 @@
+package se.sundsvall.notes.api.model;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class RevisionDifferenceTest {
+
+	@Test
+	void testBean() {
+		assertThat(RevisionDifference.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+
+		final var operations = List.of(Operation.create().withOp("op").withPath("path").withValue("value").withFromValue("fromValue"));
+		final var source = 1;
+		final var target = 2;
+
+		final var bean = RevisionDifference.create()
+			.withOperations(operations)
+			.withSource(source)
+			.withTarget(target);
+
+		assertThat(bean).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(bean.getOperations()).isEqualTo(operations);
+		assertThat(bean.getSource()).isEqualTo(source);
+		assertThat(bean.getTarget()).isEqualTo(target);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(RevisionDifference.create()).hasAllNullFieldsOrProperties();
+		assertThat(new RevisionDifference()).hasAllNullFieldsOrProperties();
+	}
+}
@@ -36,12 +36,14 @@ class RevisionInformationTest {
 		final var revisionInformation = RevisionInformation.create()
 			.withNote(note)
 			.withCurrentRevision(currentRevision)
-			.withPreviousRevision(previousRevision);
+			.withPreviousRevision(previousRevision)
+			.withCurrentVersion(1);
 
 		assertThat(revisionInformation).isNotNull().hasNoNullFieldsOrProperties();
 		assertThat(revisionInformation.getNote()).isNotNull().isEqualTo(note);
 		assertThat(revisionInformation.getCurrentRevision()).isNotNull().isEqualTo(currentRevision);
 		assertThat(revisionInformation.getPreviousRevision()).isNotNull().isEqualTo(previousRevision);
+		assertThat(revisionInformation.getCurrentVersion()).isOne();
 		assertThat(revisionInformation.isNewRevisionCreated()).isTrue();
 	}
 
@@ -51,7 +53,8 @@ class RevisionInformationTest {
 		final var revisionInformation = RevisionInformation.create()
 			.withNote(null)
 			.withCurrentRevision(null)
-			.withPreviousRevision(null);
+			.withPreviousRevision(null)
+			.withCurrentVersion(null);
 
 		assertThat(revisionInformation).isNotNull().hasAllNullFieldsOrProperties();
 		assertThat(revisionInformation.isNewRevisionCreated()).isFalse();
@@ -0,0 +1,55 @@
+package se.sundsvall.notes.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class UpdateNoteResultTest {
+
+	@Test
+	void testBean() {
+		assertThat(UpdateNoteResult.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+
+		final var id = "id";
+		final var status = 200;
+		final var currentRevision = Revision.create().withId("currentRevision").withVersion(1);
+		final var previousRevision = Revision.create().withId("previousRevision").withVersion(0);
+		final var detail = "detail";
+
+		final var bean = UpdateNoteResult.create()
+			.withId(id)
+			.withStatus(status)
+			.withCurrentRevision(currentRevision)
+			.withPreviousRevision(previousRevision)
+			.withDetail(detail);
+
+		assertThat(bean).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(bean.getId()).isEqualTo(id);
+		assertThat(bean.getStatus()).isEqualTo(status);
+		assertThat(bean.getCurrentRevision()).isEqualTo(currentRevision);
+		assertThat(bean.getPreviousRevision()).isEqualTo(previousRevision);
+		assertThat(bean.getDetail()).isEqualTo(detail);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(UpdateNoteResult.create()).hasAllNullFieldsOrProperties();
+		assertThat(new UpdateNoteResult()).hasAllNullFieldsOrProperties();
+	}
+}
@@ -0,0 +1,49 @@
+package se.sundsvall.notes.api.model;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class UpdateNotesRequestTest {
+
+	@Test
+	void testBean() {
+		assertThat(UpdateNotesRequest.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+
+		final var ids = List.of("id1", "id2");
+		final var caseId = "caseId";
+		final var changes = UpdateNoteRequest.create().withModifiedBy("modifiedBy");
+
+		final var updateNotesRequest = UpdateNotesRequest.create()
+			.withIds(ids)
+			.withCaseId(caseId)
+			.withChanges(changes);
+
+		assertThat(updateNotesRequest).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(updateNotesRequest.getIds()).isEqualTo(ids);
+		assertThat(updateNotesRequest.getCaseId()).isEqualTo(caseId);
+		assertThat(updateNotesRequest.getChanges()).isEqualTo(changes);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(UpdateNotesRequest.create()).hasAllNullFieldsOrProperties();
+	}
+}
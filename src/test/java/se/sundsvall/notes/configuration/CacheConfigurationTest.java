@@ -0,0 +1,110 @@
+package se.sundsvall.notes.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import se.sundsvall.notes.api.model.DifferenceResponse;
+import se.sundsvall.notes.api.model.Note;
+import se.sundsvall.notes.api.model.Operation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.notes.configuration.CacheConfiguration.DIFF_CACHE;
+import static se.sundsvall.notes.configuration.CacheConfiguration.METRIC_CACHE_WEIGHT;
+import static se.sundsvall.notes.configuration.CacheConfiguration.NOTE_CACHE;
+
+class CacheConfigurationTest {
+
+	private static final NoteCacheProperties NOTE_CACHE_PROPERTIES = new NoteCacheProperties(true, 100, Duration.ofMinutes(5));
+
+	private final CacheConfiguration cacheConfiguration = new CacheConfiguration();
+
+	@Test
+	void cacheManager() {
+
+		// Arrange
+		final var meterRegistry = new SimpleMeterRegistry();
+		final var properties = new DiffCacheProperties(true, 1024, Duration.ofMinutes(5));
+
+		// Act
+		final var cacheManager = cacheConfiguration.cacheManager(properties, NOTE_CACHE_PROPERTIES, meterRegistry);
+		((SimpleCacheManager) cacheManager).afterPropertiesSet();
+		final var cache = cacheManager.getCache(DIFF_CACHE);
+		cache.put("key", DifferenceResponse.create().withOperations(List.of(Operation.create().withOp("add").withPath("/body").withValue("body"))));
+		((CaffeineCache) cache).getNativeCache().cleanUp();
+
+		// Assert
+		assertThat(cache).isInstanceOf(CaffeineCache.class);
+		assertThat(cache.get("key")).isNotNull();
+		assertThat(meterRegistry.get("cache.gets").tag("cache", DIFF_CACHE).meters()).isNotEmpty();
+		assertThat(meterRegistry.get("cache.evictions").tag("cache", DIFF_CACHE).meters()).isNotEmpty();
+		assertThat(meterRegistry.get(METRIC_CACHE_WEIGHT).tag("cache", DIFF_CACHE).gauge().value()).isEqualTo(128 + 64 + 2 * (3 + 5 + 4));
+	}
+
+	@Test
+	void cacheManagerWhenDisabled() {
+
+		// Arrange
+		final var meterRegistry = new SimpleMeterRegistry();
+		final var properties = new DiffCacheProperties(false, 1024, Duration.ofMinutes(5));
+
+		// Act
+		final var cacheManager = cacheConfiguration.cacheManager(properties, NOTE_CACHE_PROPERTIES, meterRegistry);
+		((SimpleCacheManager) cacheManager).afterPropertiesSet();
+
+		// Assert
+		assertThat(cacheManager.getCache(DIFF_CACHE)).isInstanceOf(NoOpCache.class);
+		assertThat(meterRegistry.find("cache.gets").tag("cache", DIFF_CACHE).meters()).isEmpty();
+	}
+
+	@Test
+	void noteCache() {
+
+		// Arrange
+		final var meterRegistry = new SimpleMeterRegistry();
+		final var diffCacheProperties = new DiffCacheProperties(false, 1024, Duration.ofMinutes(5));
+
+		// Act
+		final var cacheManager = cacheConfiguration.cacheManager(diffCacheProperties, NOTE_CACHE_PROPERTIES, meterRegistry);
+		((SimpleCacheManager) cacheManager).afterPropertiesSet();
+		final var cache = cacheManager.getCache(NOTE_CACHE);
+		cache.put(List.of("2281", "id"), Note.create().withId("id"));
+
+		// Assert
+		assertThat(cache).isInstanceOf(CaffeineCache.class);
+		assertThat(cache.get(List.of("2281", "id"), Note.class)).isEqualTo(Note.create().withId("id"));
+		assertThat(meterRegistry.get("cache.gets").tag("cache", NOTE_CACHE).meters()).isNotEmpty();
+		assertThat(meterRegistry.get("cache.size").tag("cache", NOTE_CACHE).gauge().value()).isOne();
+	}
+
+	@Test
+	void noteCacheWhenDisabled() {
+
+		// Arrange
+		final var meterRegistry = new SimpleMeterRegistry();
+		final var diffCacheProperties = new DiffCacheProperties(false, 1024, Duration.ofMinutes(5));
+		final var noteCacheProperties = new NoteCacheProperties(false, 100, Duration.ofMinutes(5));
+
+		// Act
+		final var cacheManager = cacheConfiguration.cacheManager(diffCacheProperties, noteCacheProperties, meterRegistry);
+		((SimpleCacheManager) cacheManager).afterPropertiesSet();
+
+		// Assert
+		assertThat(cacheManager.getCache(NOTE_CACHE)).isInstanceOf(NoOpCache.class);
+		assertThat(meterRegistry.getMeters()).isEmpty();
+	}
+
+	@Test
+	void weigh() {
+		final var operations = List.of(
+			Operation.create().withOp("replace").withPath("/body").withValue("a".repeat(2048)).withFromValue("b".repeat(1024)),
+			Operation.create().withOp("remove").withPath("/subject"));
+
+		assertThat(CacheConfiguration.weigh(DifferenceResponse.create().withOperations(operations))).isEqualTo(128 + 64 + 2 * (7 + 5 + 2048 + 1024) + 64 + 2 * (6 + 8));
+		assertThat(CacheConfiguration.weigh(DifferenceResponse.create())).isEqualTo(128);
+		assertThat(CacheConfiguration.weigh("unknown")).isEqualTo(128);
+	}
+}
@@ -0,0 +1,37 @@
+package se.sundsvall.notes.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.notes.Application;
+import se.sundsvall.notes.configuration.RevisionProperties.Compaction;
+import se.sundsvall.notes.configuration.RevisionProperties.Compression;
+import se.sundsvall.notes.configuration.RevisionProperties.StorageMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("junit")
+class RevisionPropertiesTest {
+
+	@Autowired
+	private RevisionProperties revisionProperties;
+
+	@Test
+	void defaults() {
+		assertThat(revisionProperties.storageMode()).isEqualTo(StorageMode.FULL);
+		assertThat(revisionProperties.keyframeInterval()).isEqualTo(10);
+		assertThat(revisionProperties.compaction().cron()).isEqualTo("-");
+		assertThat(revisionProperties.compaction().batchSize()).isEqualTo(100);
+		assertThat(revisionProperties.compression().enabled()).isFalse();
+		assertThat(revisionProperties.compression().cron()).isEqualTo("-");
+		assertThat(revisionProperties.compression().batchSize()).isEqualTo(100);
+	}
+
+	@Test
+	void effectiveKeyframeInterval() {
+		assertThat(new RevisionProperties(StorageMode.FULL, 10, new Compaction("-", 100), new Compression(false, "-", 100)).effectiveKeyframeInterval()).isOne();
+		assertThat(new RevisionProperties(StorageMode.DELTA, 10, new Compaction("-", 100), new Compression(false, "-", 100)).effectiveKeyframeInterval()).isEqualTo(10);
+	}
+}
@@ -0,0 +1,77 @@
+package se.sundsvall.notes.integration.db;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import se.sundsvall.notes.integration.db.model.NoteChangeEntity;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+
+/**
+ * Note change repository tests.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = NONE)
+@ActiveProfiles("junit")
+@Sql(scripts = "/db/scripts/truncate.sql")
+class NoteChangeRepositoryTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@Autowired
+	private NoteChangeRepository repository;
+
+	@Test
+	void create() {
+
+		final var noteId = randomUUID().toString();
+
+		final var result = repository.saveAndFlush(NoteChangeEntity.create()
+			.withNoteId(noteId)
+			.withMunicipalityId(MUNICIPALITY_ID));
+
+		assertThat(result.getId()).isNotNull();
+		assertThat(result.getNoteId()).isEqualTo(noteId);
+		assertThat(result.getMunicipalityId()).isEqualTo(MUNICIPALITY_ID);
+		assertThat(result.getCreated()).isCloseTo(now(), within(2, SECONDS));
+	}
+
+	@Test
+	void findByCreatedGreaterThanEqual() {
+
+		final var old = createNoteChange();
+		final var recent = createNoteChange();
+		repository.saveAndFlush(old.withCreated(now().minusHours(2)));
+
+		final var result = repository.findByCreatedGreaterThanEqual(now().minusMinutes(1));
+
+		assertThat(result).extracting(NoteChangeEntity::getNoteId).containsExactly(recent.getNoteId());
+	}
+
+	@Test
+	void deleteByCreatedBefore() {
+
+		final var old = createNoteChange();
+		final var recent = createNoteChange();
+		repository.saveAndFlush(old.withCreated(now().minusHours(2)));
+
+		final var result = repository.deleteByCreatedBefore(now().minusHours(1));
+
+		assertThat(result).isOne();
+		assertThat(repository.findAll()).extracting(NoteChangeEntity::getId).containsExactly(recent.getId());
+	}
+
+	private NoteChangeEntity createNoteChange() {
+		return repository.saveAndFlush(NoteChangeEntity.create()
+			.withNoteId(randomUUID().toString())
+			.withMunicipalityId(MUNICIPALITY_ID));
+	}
+}
@@ -1,12 +1,18 @@
 package se.sundsvall.notes.integration.db;
 
+import jakarta.persistence.EntityManager;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import se.sundsvall.notes.api.model.FindNotesRequest;
@@ -40,6 +46,9 @@ class NoteRepositoryTest {
 	@Autowired
 	private NoteRepository noteRepository;
 
+	@Autowired
+	private EntityManager entityManager;
+
 	@Test
 	void findById() {
 		final var noteOptional = noteRepository.findById(ENTITY_1_ID);
@@ -81,17 +90,51 @@ class NoteRepositoryTest {
 	}
 
 	@Test
-	void existsByIdAndMunicipalityId() {
-		final var exists = noteRepository.existsByIdAndMunicipalityId(ENTITY_1_ID, MUNICIPALITY_ID_1);
+	void findByPartyIdPageOutOfRange() {
+		final var findNotesRequest = FindNotesRequest.create().withPartyId(ENTITY_1_PARTY_ID);
+		final var page = noteRepository.findAllByParameters(findNotesRequest, PageRequest.of(1, 100), MUNICIPALITY_ID_1);
+
+		assertThat(page.getContent()).isEmpty();
+		assertThat(page.getNumber()).isEqualTo(1);
+		assertThat(page.getTotalPages()).isEqualTo(1);
+		assertThat(page.getTotalElements()).isEqualTo(1);
+	}
+
+	@Test
+	void findSliceByParameters() {
+		final var findNotesRequest = FindNotesRequest.create();
+		noteRepository.saveAndFlush(NoteEntity.create().withCreatedBy("createdBy").withMunicipalityId(MUNICIPALITY_ID_1));
+
+		final var firstSlice = noteRepository.findSliceByParameters(findNotesRequest, PageRequest.of(0, 1, Sort.by("created").descending()), MUNICIPALITY_ID_1);
+		final var secondSlice = noteRepository.findSliceByParameters(findNotesRequest, PageRequest.of(1, 1, Sort.by("created").descending()), MUNICIPALITY_ID_1);
 
-		assertThat(exists).isTrue();
+		assertThat(firstSlice.getNumberOfElements()).isEqualTo(1);
+		assertThat(firstSlice.hasNext()).isTrue();
+		assertThat(secondSlice.getContent()).extracting(NoteEntity::getId).containsExactly(ENTITY_1_ID);
+		assertThat(secondSlice.hasNext()).isFalse();
 	}
 
 	@Test
-	void existsByIdAndMunicipalityIdNotFound() {
-		final var exists = noteRepository.existsByIdAndMunicipalityId("does-not-exist", MUNICIPALITY_ID_1);
+	void findAllByParametersAfter() {
+		final var findNotesRequest = FindNotesRequest.create();
+		noteRepository.saveAndFlush(NoteEntity.create().withCreatedBy("createdBy").withMunicipalityId(MUNICIPALITY_ID_1));
 
-		assertThat(exists).isFalse();
+		// First page, starting from the beginning
+		final var firstPage = noteRepository.findAllByParametersAfter(findNotesRequest, null, null, 1, MUNICIPALITY_ID_1);
+
+		assertThat(firstPage).hasSize(1);
+		assertThat(firstPage.getFirst().getId()).isNotEqualTo(ENTITY_1_ID);
+
+		// Second page, seeking past the last note of the first page
+		final var last = firstPage.getLast();
+		final var secondPage = noteRepository.findAllByParametersAfter(findNotesRequest, last.getCreated(), last.getId(), 1, MUNICIPALITY_ID_1);
+
+		assertThat(secondPage).extracting(NoteEntity::getId).containsExactly(ENTITY_1_ID);
+
+		// Third page, nothing left
+		final var thirdPage = noteRepository.findAllByParametersAfter(findNotesRequest, secondPage.getLast().getCreated(), secondPage.getLast().getId(), 1, MUNICIPALITY_ID_1);
+
+		assertThat(thirdPage).isEmpty();
 	}
 
 	@Test
@@ -111,6 +154,27 @@ class NoteRepositoryTest {
 		assertThat(noteEntity).isNotPresent();
 	}
 
+	@Test
+	void findWithLockByIdInAndMunicipalityIdOrderByIdAsc() {
+		final var noteEntities = noteRepository.findWithLockByIdInAndMunicipalityIdOrderByIdAsc(List.of(ENTITY_1_ID, ENTITY_2_ID, "does-not-exist"), MUNICIPALITY_ID_1);
+
+		// Entity 2 belongs to another municipality.
+		assertThat(noteEntities).extracting(NoteEntity::getId).containsExactly(ENTITY_1_ID);
+	}
+
+	@Test
+	void findWithLockByCaseIdAndMunicipalityIdOrderByIdAsc() {
+		final var created = noteRepository.saveAll(List.of(
+			NoteEntity.create().withCaseId("caseId").withMunicipalityId(MUNICIPALITY_ID_1),
+			NoteEntity.create().withCaseId("otherCaseId").withMunicipalityId(MUNICIPALITY_ID_1),
+			NoteEntity.create().withCaseId("caseId").withMunicipalityId(MUNICIPALITY_ID_1)));
+
+		final var noteEntities = noteRepository.findWithLockByCaseIdAndMunicipalityIdOrderByIdAsc("caseId", MUNICIPALITY_ID_1);
+
+		assertThat(noteEntities).extracting(NoteEntity::getId)
+			.containsExactly(created.get(0).getId(), created.get(2).getId());
+	}
+
 	@Test
 	void persist() {
 		final var noteEntity = NoteEntity.create()
@@ -130,10 +194,27 @@ class NoteRepositoryTest {
 		assertThat(persistedEntity).isEqualTo(noteEntity);
 		assertThat(persistedEntity.getCreated()).isCloseTo(OffsetDateTime.now(), within(2, SECONDS));
 		assertThat(isValidUUID(persistedEntity.getId())).isTrue();
+		assertThat(UUID.fromString(persistedEntity.getId()).version()).isEqualTo(7);
 		assertThat(persistedEntity.getModified()).isNull();
 		assertThat(persistedEntity.getModifiedBy()).isNull();
 	}
 
+	@Test
+	void createGeneratesTimeOrderedIds() {
+		final var ids = Stream.generate(() -> NoteEntity.create()
+			.withPartyId(UUID.randomUUID().toString())
+			.withCreatedBy("createdBy")
+			.withSubject("subject")
+			.withBody("body")
+			.withMunicipalityId(MUNICIPALITY_ID_1))
+			.limit(10)
+			.map(noteRepository::saveAndFlush)
+			.map(NoteEntity::getId)
+			.toList();
+
+		assertThat(ids).isSorted().doesNotHaveDuplicates();
+	}
+
 	@Test
 	void update() {
 		final var noteEntity = NoteEntity.create()
@@ -174,11 +255,51 @@ class NoteRepositoryTest {
 	void deleteByIdAndMunicipalityId() {
 		assertThat(noteRepository.findByIdAndMunicipalityId(ENTITY_2_ID, MUNICIPALITY_ID_2)).isPresent();
 
-		noteRepository.deleteByIdAndMunicipalityId(ENTITY_2_ID, MUNICIPALITY_ID_2);
+		final var deleted = noteRepository.deleteByIdAndMunicipalityId(ENTITY_2_ID, MUNICIPALITY_ID_2);
 
+		assertThat(deleted).isOne();
 		assertThat(noteRepository.findByIdAndMunicipalityId(ENTITY_2_ID, MUNICIPALITY_ID_2)).isNotPresent();
 	}
 
+	@Test
+	void deleteByIdAndMunicipalityIdNotFound() {
+		// Entity 2 belongs to another municipality.
+		assertThat(noteRepository.deleteByIdAndMunicipalityId(ENTITY_2_ID, MUNICIPALITY_ID_1)).isZero();
+		assertThat(noteRepository.deleteByIdAndMunicipalityId("does-not-exist", MUNICIPALITY_ID_2)).isZero();
+
+		assertThat(noteRepository.findByIdAndMunicipalityId(ENTITY_2_ID, MUNICIPALITY_ID_2)).isPresent();
+	}
+
+	@ParameterizedTest
+	@CsvSource(delimiter = '|', quoteCharacter = '"', textBlock = """
+		party_id = 'partyId'                                             | note_municipality_id_party_id_created_index
+		party_id = 'partyId' and context = 'context'                     | note_municipality_id_party_id_created_index
+		case_id = 'caseId'                                               | note_municipality_id_case_id_created_index
+		case_id = 'caseId' and role = 'role'                             | note_municipality_id_case_id_created_index
+		client_id = 'clientId' and context = 'context'                   | note_municipality_id_client_id_context_created_index
+		client_id = 'clientId' and context = 'context' and role = 'role' | note_municipality_id_client_id_context_created_index
+		""")
+	void searchIsIndexed(final String filter, final String expectedIndex) {
+		// Enough notes, with 10 matches per party, case and client, for the optimizer to prefer an index over a table scan
+		entityManager.createNativeQuery("""
+			insert into note (id, municipality_id, party_id, case_id, client_id, context, role, created)
+			select uuid(), 'municipalityId1', if(seq % 200 = 0, 'partyId', concat('partyId', seq % 200)),
+				if(seq % 200 = 0, 'caseId', concat('caseId', seq % 200)), if(seq % 200 = 0, 'clientId', concat('clientId', seq % 200)),
+				'context', 'role', now() - interval seq minute
+			from seq_1_to_2000""").executeUpdate();
+		entityManager.createNativeQuery("analyze table note").getResultList();
+
+		final var sql = "explain select * from note where municipality_id = 'municipalityId1' and %s order by created desc limit 100".formatted(filter);
+
+		@SuppressWarnings("unchecked")
+		final List<Object[]> plan = entityManager.createNativeQuery(sql).getResultList();
+
+		// Columns: id, select_type, table, type, possible_keys, key, key_len, ref, rows, Extra
+		assertThat(plan).hasSize(1);
+		assertThat(plan.getFirst()[5]).hasToString(expectedIndex);
+		assertThat(String.valueOf(plan.getFirst()[9])).doesNotContain("Using filesort");
+	}
+
 	private boolean isValidUUID(final String value) {
 		try {
 			UUID.fromString(String.valueOf(value));
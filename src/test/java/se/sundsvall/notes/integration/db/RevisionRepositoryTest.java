@@ -1,22 +1,34 @@
 package se.sundsvall.notes.integration.db;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import se.sundsvall.notes.integration.db.model.NoteEntity;
 import se.sundsvall.notes.integration.db.model.RevisionEntity;
+import se.sundsvall.notes.integration.db.model.RevisionHeader;
+import se.sundsvall.notes.integration.db.model.RevisionOwner;
+import se.sundsvall.notes.integration.db.model.RevisionSnapshot;
 
 import static java.time.temporal.ChronoUnit.SECONDS;
 import static java.util.UUID.randomUUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+import static se.sundsvall.notes.integration.db.model.SnapshotType.DELTA;
+import static se.sundsvall.notes.integration.db.model.SnapshotType.FULL;
 
 /**
  * Revision repository tests.
@@ -34,11 +46,15 @@ class RevisionRepositoryTest {
 
 	private static final String ENTITY_ID_1 = "9791682e-4ba8-4f3a-857a-54e14836a53b";
 	private static final String ENTITY_ID_2 = "abe72bbd-9808-4f3a-8aec-cd2945f5a201";
+	private static final String ENTITY_ID_3 = "1e3ac0d3-7d3e-4bd1-a5bb-0d3c5a4b6f10";
 	private static final String MUNICIPALITY_ID = "2281";
 
 	@Autowired
 	private RevisionRepository repository;
 
+	@Autowired
+	private NoteRepository noteRepository;
+
 	@Test
 	void create() {
 
@@ -46,6 +62,7 @@ class RevisionRepositoryTest {
 			.withEntityId(randomUUID().toString())
 			.withEntityType(NoteEntity.class.getSimpleName())
 			.withSerializedSnapshot("{}")
+			.withContentHash("44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a")
 			.withVersion(0)
 			.withMunicipalityId(MUNICIPALITY_ID));
 
@@ -53,33 +70,195 @@ class RevisionRepositoryTest {
 		assertThat(result.getCreated()).isCloseTo(OffsetDateTime.now(), within(2, SECONDS));
 		assertThat(result.getEntityType()).isEqualTo("NoteEntity");
 		assertThat(isValidUUID(result.getId())).isTrue();
+		assertThat(UUID.fromString(result.getId()).version()).isEqualTo(7);
 		assertThat(isValidUUID(result.getEntityId())).isTrue();
 	}
 
 	@Test
-	void findByEntityIdAndVersionAndMunicipalityId() {
+	void createDuplicateVersion() {
 
-		// Setup
-		final var version = 3;
+		final var revisionEntity = RevisionEntity.create()
+			.withEntityId(ENTITY_ID_1)
+			.withEntityType(NoteEntity.class.getSimpleName())
+			.withSerializedSnapshot("{}")
+			.withVersion(5)
+			.withMunicipalityId(MUNICIPALITY_ID);
+
+		assertThrows(DataIntegrityViolationException.class, () -> repository.saveAndFlush(revisionEntity));
+	}
 
-		final var revision = repository.findByEntityIdAndMunicipalityIdAndVersion(ENTITY_ID_1, MUNICIPALITY_ID, version);
+	@Test
+	void findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions() {
 
-		assertThat(revision)
-			.isNotNull()
-			.get()
+		final var revisions = repository.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(ENTITY_ID_1, MUNICIPALITY_ID, 1, 3);
+
+		assertThat(revisions)
 			.extracting(RevisionEntity::getEntityId, RevisionEntity::getVersion)
-			.containsExactly(ENTITY_ID_1, 3);
+			.containsExactly(
+				tuple(ENTITY_ID_1, 1),
+				tuple(ENTITY_ID_1, 3));
+	}
+
+	@ParameterizedTest
+	@CsvSource(delimiter = '|', textBlock = """
+		1 | 4 | 0,1,3,4
+		2 | 2 | 0,1,2
+		3 | 5 | 3,4,5
+		0 | 5 | 0,3,4,5
+		""")
+	void findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersionsWithDeltas(final int version1, final int version2, final String expectedVersions) {
+
+		final var revisions = repository.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(ENTITY_ID_3, MUNICIPALITY_ID, version1, version2);
+
+		assertThat(revisions)
+			.extracting(RevisionEntity::getVersion)
+			.containsExactlyElementsOf(Stream.of(expectedVersions.split(",")).map(Integer::valueOf).toList());
+	}
+
+	@Test
+	void findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersionsNotFound() {
+
+		final var revisions = repository.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions("does-not-exist", MUNICIPALITY_ID, 1, 3);
+
+		assertThat(revisions).isEmpty();
+	}
+
+	@Test
+	void streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween() {
+
+		try (final var snapshots = repository.streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween(ENTITY_ID_1, MUNICIPALITY_ID, 1, 3)) {
+			assertThat(snapshots.toList())
+				.extracting(RevisionSnapshot::getVersion)
+				.containsExactly(1, 2, 3);
+		}
+	}
+
+	@Test
+	void streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetweenWithDeltas() {
+
+		try (final var snapshots = repository.streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween(ENTITY_ID_3, MUNICIPALITY_ID, 2, 4)) {
+			assertThat(snapshots.toList())
+				.extracting(RevisionSnapshot::getVersion, RevisionSnapshot::getSnapshotType)
+				.containsExactly(
+					tuple(0, FULL),
+					tuple(1, DELTA),
+					tuple(2, DELTA),
+					tuple(3, FULL),
+					tuple(4, DELTA));
+		}
+	}
+
+	@Test
+	void findWithLockByEntityIdAndMunicipalityIdOrderByVersionAsc() {
+
+		final var revisions = repository.findWithLockByEntityIdAndMunicipalityIdOrderByVersionAsc(ENTITY_ID_2, MUNICIPALITY_ID);
+
+		assertThat(revisions)
+			.extracting(RevisionEntity::getVersion)
+			.containsExactly(11, 12);
+	}
+
+	@Test
+	void findOwnersToCompact() {
+
+		// Entity 2 (versions 11 and 12) is already compacted, as version 11 has no previous version and 12 is a multiple of 3
+		assertThat(repository.findOwnersToCompact(3, Limit.of(10)))
+			.extracting(RevisionOwner::getEntityId, RevisionOwner::getMunicipalityId)
+			.containsExactly(tuple(ENTITY_ID_1, MUNICIPALITY_ID));
+
+		// Every version is a full snapshot
+		assertThat(repository.findOwnersToCompact(1, Limit.of(10)))
+			.extracting(RevisionOwner::getEntityId)
+			.containsExactly(ENTITY_ID_3);
+
+		assertThat(repository.findOwnersToCompact(2, Limit.of(10)))
+			.extracting(RevisionOwner::getEntityId)
+			.containsExactlyInAnyOrder(ENTITY_ID_1, ENTITY_ID_3);
+		assertThat(repository.findOwnersToCompact(2, Limit.of(1))).hasSize(1);
+	}
+
+	@Test
+	void findIdsBySerializedSnapshotNotNull() {
+
+		// Setup
+		final var compressedRevision = repository.saveAndFlush(RevisionEntity.create()
+			.withEntityId(randomUUID().toString())
+			.withEntityType(NoteEntity.class.getSimpleName())
+			.withCompressedSnapshot(new byte[] {
+				1, 2, 3
+			})
+			.withVersion(0)
+			.withMunicipalityId(MUNICIPALITY_ID));
+
+		assertThat(repository.findIdsBySerializedSnapshotNotNull(Limit.of(100)))
+			.hasSize(13)
+			.doesNotContain(compressedRevision.getId());
+		assertThat(repository.findIdsBySerializedSnapshotNotNull(Limit.of(5))).hasSize(5);
 	}
 
 	@Test
-	void findByEntityIdAndVersionAndMunicipalityIdNotFound() {
+	void findWithLockByIdInAndSerializedSnapshotNotNull() {
 
 		// Setup
-		final var version = 666;
+		final var compressedRevision = repository.saveAndFlush(RevisionEntity.create()
+			.withEntityId(randomUUID().toString())
+			.withEntityType(NoteEntity.class.getSimpleName())
+			.withCompressedSnapshot(new byte[] {
+				1, 2, 3
+			})
+			.withVersion(0)
+			.withMunicipalityId(MUNICIPALITY_ID));
+		final var ids = repository.findIdsBySerializedSnapshotNotNull(Limit.of(2));
 
-		final var revision = repository.findByEntityIdAndMunicipalityIdAndVersion(ENTITY_ID_1, MUNICIPALITY_ID, version);
+		// Revisions without an uncompressed snapshot are not found, even if requested by id
+		assertThat(repository.findWithLockByIdInAndSerializedSnapshotNotNull(Stream.concat(ids.stream(), Stream.of(compressedRevision.getId())).toList()))
+			.extracting(RevisionEntity::getId)
+			.containsExactlyInAnyOrderElementsOf(ids);
+	}
 
-		assertThat(revision).isEmpty();
+	@Test
+	void streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetweenWithCompressedSnapshot() {
+
+		// Setup
+		final var entityId = randomUUID().toString();
+		final var compressedSnapshot = new byte[] {
+			1, 2, 3
+		};
+		repository.saveAndFlush(RevisionEntity.create()
+			.withEntityId(entityId)
+			.withEntityType(NoteEntity.class.getSimpleName())
+			.withCompressedSnapshot(compressedSnapshot)
+			.withVersion(0)
+			.withMunicipalityId(MUNICIPALITY_ID));
+
+		try (final var snapshots = repository.streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween(entityId, MUNICIPALITY_ID, 0, 0)) {
+			assertThat(snapshots.toList())
+				.singleElement()
+				.satisfies(snapshot -> {
+					assertThat(snapshot.getSerializedSnapshot()).isNull();
+					assertThat(snapshot.getCompressedSnapshot()).isEqualTo(compressedSnapshot);
+				});
+		}
+	}
+
+	@Test
+	void findHeaderByEntityIdAndMunicipalityIdAndVersion() {
+
+		final var revisionHeader = repository.findHeaderByEntityIdAndMunicipalityIdAndVersion(ENTITY_ID_1, MUNICIPALITY_ID, 4);
+
+		assertThat(revisionHeader)
+			.isPresent()
+			.get()
+			.extracting(RevisionHeader::getId, RevisionHeader::getEntityId, RevisionHeader::getVersion)
+			.containsExactly("f9e222f3-2476-4ead-bb1a-3e7e25f9c6ee", ENTITY_ID_1, 4);
+	}
+
+	@Test
+	void findHeaderByEntityIdAndMunicipalityIdAndVersionNotFound() {
+
+		final var revisionHeader = repository.findHeaderByEntityIdAndMunicipalityIdAndVersion(ENTITY_ID_1, MUNICIPALITY_ID, 666);
+
+		assertThat(revisionHeader).isEmpty();
 	}
 
 	@Test
@@ -88,9 +267,10 @@ class RevisionRepositoryTest {
 		final var revision = repository.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(ENTITY_ID_1, MUNICIPALITY_ID);
 
 		assertThat(revision).isPresent();
+		assertThat(revision.get().getId()).isEqualTo("203c924b-dd67-4802-b99f-256ef6f2de69");
 		assertThat(revision.get().getEntityId()).isEqualTo(ENTITY_ID_1);
-		assertThat(revision.get().getMunicipalityId()).isEqualTo(MUNICIPALITY_ID);
 		assertThat(revision.get().getVersion()).isEqualTo(5);
+		assertThat(revision.get().getContentHash()).isEqualTo("44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a");
 	}
 
 	@Test
@@ -101,27 +281,59 @@ class RevisionRepositoryTest {
 		assertThat(revision).isEmpty();
 	}
 
+	@Test
+	void findLastByEntityIdInAndMunicipalityId() {
+
+		final var revisionHeaderList = repository.findLastByEntityIdInAndMunicipalityId(List.of(ENTITY_ID_1, ENTITY_ID_2, "does-not-exist"), MUNICIPALITY_ID);
+
+		assertThat(revisionHeaderList)
+			.extracting(RevisionHeader::getId, RevisionHeader::getEntityId, RevisionHeader::getVersion, RevisionHeader::getContentHash)
+			.containsExactlyInAnyOrder(
+				tuple("203c924b-dd67-4802-b99f-256ef6f2de69", ENTITY_ID_1, 5, "44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a"),
+				tuple("9906cef3-810e-4ddc-977a-af0aa259a838", ENTITY_ID_2, 12, "44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a"));
+	}
+
+	@Test
+	void findLastVersionOfExistingNote() {
+
+		final var noteId = noteRepository.saveAndFlush(NoteEntity.create().withMunicipalityId(MUNICIPALITY_ID)).getId();
+		repository.saveAllAndFlush(List.of(
+			RevisionEntity.create().withEntityId(noteId).withEntityType(NoteEntity.class.getSimpleName()).withVersion(0).withMunicipalityId(MUNICIPALITY_ID),
+			RevisionEntity.create().withEntityId(noteId).withEntityType(NoteEntity.class.getSimpleName()).withVersion(1).withMunicipalityId(MUNICIPALITY_ID)));
+
+		assertThat(repository.findLastVersionOfExistingNote(noteId, MUNICIPALITY_ID)).hasValue(1);
+		assertThat(repository.findLastVersionOfExistingNote(noteId, "other-municipality")).isEmpty();
+	}
+
+	@Test
+	void findLastVersionOfExistingNoteWhenNoteIsDeleted() {
+
+		// The revisions of ENTITY_ID_1 are kept, but there is no note with that id
+		assertThat(repository.findLastVersionOfExistingNote(ENTITY_ID_1, MUNICIPALITY_ID)).isEmpty();
+	}
+
 	@Test
 	void findAllByEntityIdAndMunicipalityId() {
 
 		// Setup
-		final var revisionEntityList = repository.findAllByEntityIdAndMunicipalityIdOrderByVersionDesc(ENTITY_ID_2, MUNICIPALITY_ID);
+		final var revisionHeaderList = repository.findAllByEntityIdAndMunicipalityIdOrderByVersionDesc(ENTITY_ID_2, MUNICIPALITY_ID);
 
-		assertThat(revisionEntityList)
+		assertThat(revisionHeaderList)
 			.isNotEmpty()
-			.extracting(RevisionEntity::getEntityId, RevisionEntity::getMunicipalityId, RevisionEntity::getVersion)
+			.extracting(RevisionHeader::getId, RevisionHeader::getEntityId, RevisionHeader::getEntityType, RevisionHeader::getVersion)
 			.containsExactly(
-				tuple(ENTITY_ID_2, MUNICIPALITY_ID, 12),
-				tuple(ENTITY_ID_2, MUNICIPALITY_ID, 11));
+				tuple("9906cef3-810e-4ddc-977a-af0aa259a838", ENTITY_ID_2, "NoteEntity", 12),
+				tuple("c05f025e-b758-40ce-aba7-06e7243395bb", ENTITY_ID_2, "NoteEntity", 11));
+		assertThat(revisionHeaderList).allSatisfy(revisionHeader -> assertThat(revisionHeader).isNotInstanceOf(RevisionEntity.class));
 	}
 
 	@Test
 	void findAllByEntityIdAndMunicipalityIdNotFound() {
 
 		// Setup
-		final var revisionEntityList = repository.findAllByEntityIdAndMunicipalityIdOrderByVersionDesc("not-existing", MUNICIPALITY_ID);
+		final var revisionHeaderList = repository.findAllByEntityIdAndMunicipalityIdOrderByVersionDesc("not-existing", MUNICIPALITY_ID);
 
-		assertThat(revisionEntityList).isEmpty();
+		assertThat(revisionHeaderList).isEmpty();
 	}
 
 	private boolean isValidUUID(final String value) {
@@ -0,0 +1,74 @@
+package se.sundsvall.notes.integration.db.model;
+
+import java.time.OffsetDateTime;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static com.google.code.beanmatchers.BeanMatchers.registerValueGenerator;
+import static java.time.OffsetDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.AllOf.allOf;
+
+class NoteChangeEntityTest {
+
+	@BeforeAll
+	static void setup() {
+		registerValueGenerator(() -> now().plusDays(new Random().nextInt()), OffsetDateTime.class);
+	}
+
+	@Test
+	void testBean() {
+		assertThat(NoteChangeEntity.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+
+		final var created = OffsetDateTime.now();
+		final var id = UUID.randomUUID().toString();
+		final var noteId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+
+		final var noteChangeEntity = NoteChangeEntity.create()
+			.withCreated(created)
+			.withId(id)
+			.withNoteId(noteId)
+			.withMunicipalityId(municipalityId);
+
+		assertThat(noteChangeEntity).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(noteChangeEntity.getCreated()).isEqualTo(created);
+		assertThat(noteChangeEntity.getId()).isEqualTo(id);
+		assertThat(noteChangeEntity.getNoteId()).isEqualTo(noteId);
+		assertThat(noteChangeEntity.getMunicipalityId()).isEqualTo(municipalityId);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(NoteChangeEntity.create()).hasAllNullFieldsOrProperties();
+		assertThat(new NoteChangeEntity()).hasAllNullFieldsOrProperties();
+	}
+
+	@Test
+	void prePersist() {
+
+		final var noteChangeEntity = NoteChangeEntity.create();
+		noteChangeEntity.prePersist();
+
+		assertThat(noteChangeEntity.getCreated()).isCloseTo(now(), within(2, SECONDS));
+	}
+}
@@ -10,11 +10,13 @@ import se.sundsvall.notes.api.model.Note;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
-import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToStringExcluding;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
 import static com.google.code.beanmatchers.BeanMatchers.registerValueGenerator;
 import static java.time.OffsetDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.AllOf.allOf;
 
@@ -32,7 +34,7 @@ class RevisionEntityTest {
 			hasValidGettersAndSetters(),
 			hasValidBeanHashCode(),
 			hasValidBeanEquals(),
-			hasValidBeanToString()));
+			hasValidBeanToStringExcluding("compressedSnapshot")));
 	}
 
 	@Test
@@ -43,6 +45,11 @@ class RevisionEntityTest {
 		final var entityType = Note.class.getSimpleName();
 		final var id = UUID.randomUUID().toString();
 		final var serializedSnapshot = "serializedSnapshot";
+		final var compressedSnapshot = new byte[] {
+			1, 2, 3
+		};
+		final var snapshotType = SnapshotType.DELTA;
+		final var contentHash = "contentHash";
 		final var version = 1;
 		final var municipalityId = "municipalityId";
 
@@ -53,6 +60,9 @@ class RevisionEntityTest {
 			.withId(id)
 			.withVersion(version)
 			.withSerializedSnapshot(serializedSnapshot)
+			.withCompressedSnapshot(compressedSnapshot)
+			.withSnapshotType(snapshotType)
+			.withContentHash(contentHash)
 			.withMunicipalityId(municipalityId);
 
 		assertThat(revisionEntity).isNotNull().hasNoNullFieldsOrProperties();
@@ -62,6 +72,9 @@ class RevisionEntityTest {
 		assertThat(revisionEntity.getId()).isEqualTo(id);
 		assertThat(revisionEntity.getVersion()).isEqualTo(version);
 		assertThat(revisionEntity.getSerializedSnapshot()).isEqualTo(serializedSnapshot);
+		assertThat(revisionEntity.getCompressedSnapshot()).isEqualTo(compressedSnapshot);
+		assertThat(revisionEntity.getSnapshotType()).isEqualTo(snapshotType);
+		assertThat(revisionEntity.getContentHash()).isEqualTo(contentHash);
 		assertThat(revisionEntity.getMunicipalityId()).isEqualTo(municipalityId);
 	}
 
@@ -70,4 +83,28 @@ class RevisionEntityTest {
 		assertThat(RevisionEntity.create()).hasAllNullFieldsOrProperties();
 		assertThat(new RevisionEntity()).hasAllNullFieldsOrProperties();
 	}
+
+	@Test
+	void prePersist() {
+
+		final var revisionEntity = RevisionEntity.create();
+		revisionEntity.prePersist();
+
+		assertThat(revisionEntity.getCreated()).isCloseTo(now(), within(2, SECONDS));
+		assertThat(revisionEntity.getSnapshotType()).isEqualTo(SnapshotType.FULL);
+	}
+
+	@Test
+	void prePersistKeepsSnapshotType() {
+
+		final var revisionEntity = RevisionEntity.create().withSnapshotType(SnapshotType.DELTA);
+		revisionEntity.prePersist();
+
+		assertThat(revisionEntity.getSnapshotType()).isEqualTo(SnapshotType.DELTA);
+	}
+
+	@Test
+	void testToStringWithCompressedSnapshot() {
+		assertThat(RevisionEntity.create().withCompressedSnapshot(new byte[42]).toString()).contains("compressedSnapshot=42 bytes");
+	}
 }
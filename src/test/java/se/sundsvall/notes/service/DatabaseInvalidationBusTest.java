@@ -0,0 +1,153 @@
+package se.sundsvall.notes.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import se.sundsvall.notes.configuration.InvalidationProperties;
+import se.sundsvall.notes.configuration.InvalidationProperties.Database;
+import se.sundsvall.notes.configuration.InvalidationProperties.Type;
+import se.sundsvall.notes.integration.db.NoteChangeRepository;
+import se.sundsvall.notes.integration.db.model.NoteChangeEntity;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.clearSynchronization;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.getSynchronizations;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.initSynchronization;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseInvalidationBusTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@Mock
+	private NoteChangeRepository noteChangeRepositoryMock;
+
+	@Mock
+	private NoteCache noteCacheMock;
+
+	@Captor
+	private ArgumentCaptor<List<NoteChangeEntity>> noteChangesCaptor;
+
+	@Captor
+	private ArgumentCaptor<OffsetDateTime> createdCaptor;
+
+	private DatabaseInvalidationBus databaseInvalidationBus;
+
+	@BeforeEach
+	void setup() {
+		databaseInvalidationBus = new DatabaseInvalidationBus(noteChangeRepositoryMock, noteCacheMock,
+			new InvalidationProperties(Type.DATABASE, new Database(Duration.ofSeconds(5), Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofMinutes(10))));
+	}
+
+	@Test
+	void publishWithoutTransaction() {
+
+		// Act
+		databaseInvalidationBus.publish(MUNICIPALITY_ID, List.of("noteId1", "noteId2"));
+
+		// Assert
+		verify(noteChangeRepositoryMock).saveAll(noteChangesCaptor.capture());
+		assertThat(noteChangesCaptor.getValue())
+			.extracting(NoteChangeEntity::getMunicipalityId, NoteChangeEntity::getNoteId)
+			.containsExactly(
+				tuple(MUNICIPALITY_ID, "noteId1"),
+				tuple(MUNICIPALITY_ID, "noteId2"));
+		verifyNoMoreInteractions(noteChangeRepositoryMock);
+		verifyNoMoreInteractions(noteCacheMock);
+	}
+
+	@Test
+	void publishWithinTransaction() {
+
+		// Arrange
+		initSynchronization();
+		try {
+
+			// Act
+			databaseInvalidationBus.publish(MUNICIPALITY_ID, List.of("noteId"));
+
+			// Assert that nothing is written until the transaction has committed
+			verifyNoInteractions(noteChangeRepositoryMock);
+			getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+			verify(noteChangeRepositoryMock).saveAll(noteChangesCaptor.capture());
+			assertThat(noteChangesCaptor.getValue())
+				.extracting(NoteChangeEntity::getMunicipalityId, NoteChangeEntity::getNoteId)
+				.containsExactly(tuple(MUNICIPALITY_ID, "noteId"));
+			verifyNoMoreInteractions(noteChangeRepositoryMock, noteCacheMock);
+		} finally {
+			clearSynchronization();
+		}
+	}
+
+	@Test
+	void poll() {
+
+		// Arrange
+		when(noteChangeRepositoryMock.findByCreatedGreaterThanEqual(any())).thenReturn(List.of(
+			NoteChangeEntity.create().withMunicipalityId(MUNICIPALITY_ID).withNoteId("noteId1"),
+			NoteChangeEntity.create().withMunicipalityId(MUNICIPALITY_ID).withNoteId("noteId2")));
+
+		// Act
+		databaseInvalidationBus.poll();
+
+		// Assert
+		verify(noteChangeRepositoryMock).findByCreatedGreaterThanEqual(createdCaptor.capture());
+		assertThat(createdCaptor.getValue()).isCloseTo(now().minusSeconds(30), within(2, SECONDS));
+		verify(noteCacheMock).evict(MUNICIPALITY_ID, "noteId1");
+		verify(noteCacheMock).evict(MUNICIPALITY_ID, "noteId2");
+		verifyNoMoreInteractions(noteChangeRepositoryMock, noteCacheMock);
+	}
+
+	@Test
+	void pollAfterFailedPoll() {
+
+		// Arrange
+		final var firstPolled = now();
+		doThrow(new RuntimeException("database unavailable")).doReturn(List.of())
+			.when(noteChangeRepositoryMock).findByCreatedGreaterThanEqual(any());
+
+		// Act
+		assertThrows(RuntimeException.class, () -> databaseInvalidationBus.poll());
+		databaseInvalidationBus.poll();
+
+		// Assert that the second poll covers the first one
+		verify(noteChangeRepositoryMock, times(2)).findByCreatedGreaterThanEqual(createdCaptor.capture());
+		assertThat(createdCaptor.getAllValues()).allSatisfy(created -> assertThat(created).isBefore(firstPolled.minusSeconds(29)));
+		verifyNoMoreInteractions(noteChangeRepositoryMock, noteCacheMock);
+	}
+
+	@Test
+	void purge() {
+
+		// Arrange
+		when(noteChangeRepositoryMock.deleteByCreatedBefore(any())).thenReturn(3);
+
+		// Act
+		databaseInvalidationBus.purge();
+
+		// Assert
+		verify(noteChangeRepositoryMock).deleteByCreatedBefore(createdCaptor.capture());
+		assertThat(createdCaptor.getValue()).isCloseTo(now().minusHours(1), within(2, SECONDS));
+		verifyNoMoreInteractions(noteChangeRepositoryMock, noteCacheMock);
+	}
+}
@@ -0,0 +1,132 @@
+package se.sundsvall.notes.service;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import se.sundsvall.notes.api.model.Note;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.clearSynchronization;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.getSynchronizations;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.initSynchronization;
+import static se.sundsvall.notes.configuration.CacheConfiguration.NOTE_CACHE;
+
+@ExtendWith(MockitoExtension.class)
+class NoteCacheTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NOTE_ID = "noteId";
+	private static final List<String> KEY = List.of(MUNICIPALITY_ID, NOTE_ID);
+
+	@Mock
+	private CacheManager cacheManagerMock;
+
+	@Mock
+	private Cache cacheMock;
+
+	private NoteCache noteCache;
+
+	@BeforeEach
+	void setup() {
+		when(cacheManagerMock.getCache(NOTE_CACHE)).thenReturn(cacheMock);
+		noteCache = new NoteCache(cacheManagerMock);
+	}
+
+	@Test
+	void getCached() {
+
+		// Arrange
+		final var versionedNote = new VersionedNote(Note.create().withId(NOTE_ID), 3);
+		when(cacheMock.get(KEY, VersionedNote.class)).thenReturn(versionedNote);
+
+		// Act
+		final var result = noteCache.get(MUNICIPALITY_ID, NOTE_ID, () -> {
+			throw new AssertionError("Cached note expected");
+		});
+
+		// Assert
+		assertThat(result).isSameAs(versionedNote);
+		verify(cacheMock).get(KEY, VersionedNote.class);
+		verifyNoMoreInteractions(cacheMock);
+	}
+
+	@Test
+	void getNotCached() {
+
+		// Arrange
+		final var versionedNote = new VersionedNote(Note.create().withId(NOTE_ID), 0);
+
+		// Act
+		final var result = noteCache.get(MUNICIPALITY_ID, NOTE_ID, () -> versionedNote);
+
+		// Assert
+		assertThat(result).isSameAs(versionedNote);
+		verify(cacheMock).get(KEY, VersionedNote.class);
+		verify(cacheMock).put(KEY, versionedNote);
+		verifyNoMoreInteractions(cacheMock);
+	}
+
+	@Test
+	void getNotCachedWithEvictionDuringLoad() {
+
+		// Arrange (i.e. a write commits while the note is loaded)
+		final var versionedNote = new VersionedNote(Note.create().withId(NOTE_ID), 0);
+
+		// Act
+		final var result = noteCache.get(MUNICIPALITY_ID, NOTE_ID, () -> {
+			noteCache.evict(MUNICIPALITY_ID, NOTE_ID);
+			return versionedNote;
+		});
+
+		// Assert (i.e. the note put after the eviction of the write is evicted again)
+		assertThat(result).isSameAs(versionedNote);
+		final var inOrder = inOrder(cacheMock);
+		inOrder.verify(cacheMock).get(KEY, VersionedNote.class);
+		inOrder.verify(cacheMock).evict(KEY);
+		inOrder.verify(cacheMock).put(KEY, versionedNote);
+		inOrder.verify(cacheMock).evict(KEY);
+		verifyNoMoreInteractions(cacheMock);
+	}
+
+	@Test
+	void evict() {
+
+		// Act
+		noteCache.evict(MUNICIPALITY_ID, NOTE_ID);
+
+		// Assert
+		verify(cacheMock).evict(KEY);
+		verifyNoMoreInteractions(cacheMock);
+	}
+
+	@Test
+	void evictInTransaction() {
+
+		initSynchronization();
+		try {
+			// Act
+			noteCache.evict(MUNICIPALITY_ID, NOTE_ID);
+
+			// Assert (i.e. nothing is evicted until the transaction has committed)
+			verifyNoInteractions(cacheMock);
+			assertThat(getSynchronizations()).hasSize(1);
+
+			getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+			verify(cacheMock).evict(KEY);
+			verifyNoMoreInteractions(cacheMock);
+		} finally {
+			clearSynchronization();
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package se.sundsvall.notes.service;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import se.sundsvall.notes.Application;
+import se.sundsvall.notes.api.model.RevisionInformation;
+import se.sundsvall.notes.api.model.UpdateNoteRequest;
+import se.sundsvall.notes.api.model.UpdateNotesRequest;
+import se.sundsvall.notes.integration.db.NoteRepository;
+import se.sundsvall.notes.integration.db.model.NoteEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.notes.configuration.CacheConfiguration.NOTE_CACHE;
+
+/**
+ * Verifies that notes read by id are cached with their version and evicted by writes.
+ */
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("junit")
+class NoteServiceCacheTest {
+
+	private static final String NOTE_ID = "0b6a9c3e-7f1d-4e2a-9b8c-5d4e3f2a1b0c";
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@MockitoBean
+	private NoteRepository noteRepositoryMock;
+
+	@MockitoBean
+	private RevisionService revisionServiceMock;
+
+	@Autowired
+	private NoteService noteService;
+
+	@Autowired
+	private NoteCache noteCache;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@BeforeEach
+	void setup() {
+		cacheManager.getCache(NOTE_CACHE).clear();
+	}
+
+	@Test
+	void getNoteIsCached() {
+
+		// Arrange
+		when(noteRepositoryMock.findByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID)).thenReturn(Optional.of(NoteEntity.create().withId(NOTE_ID).withSubject("subject")));
+		when(revisionServiceMock.getCurrentVersion(NOTE_ID, MUNICIPALITY_ID)).thenReturn(1);
+
+		// Act
+		final var first = noteService.getNoteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+		final var second = noteService.getNoteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+
+		// Assert (i.e. the cached read doesn't touch the database)
+		assertThat(second).isSameAs(first);
+		assertThat(first.note().getSubject()).isEqualTo("subject");
+		assertThat(first.version()).isOne();
+		verify(noteRepositoryMock, times(1)).findByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+		verify(revisionServiceMock, times(1)).getCurrentVersion(NOTE_ID, MUNICIPALITY_ID);
+	}
+
+	@Test
+	void updateNoteEvictsCachedNote() {
+
+		// Arrange
+		final var noteEntity = NoteEntity.create().withId(NOTE_ID).withSubject("subject");
+		when(noteRepositoryMock.findByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID)).thenReturn(Optional.of(noteEntity));
+		when(noteRepositoryMock.findWithLockByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID)).thenReturn(Optional.of(noteEntity));
+		when(revisionServiceMock.createRevision(noteEntity, null, MUNICIPALITY_ID)).thenReturn(RevisionInformation.create());
+		noteService.getNoteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+
+		// Act
+		noteService.updateNote(NOTE_ID, UpdateNoteRequest.create().withSubject("changed subject").withModifiedBy("modifiedBy"), null, MUNICIPALITY_ID);
+		final var note = noteService.getNoteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(note.note().getSubject()).isEqualTo("changed subject");
+		verify(noteRepositoryMock, times(2)).findByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+	}
+
+	@Test
+	void updateNotesEvictsCachedNotes() {
+
+		// Arrange
+		final var noteEntity = NoteEntity.create().withId(NOTE_ID).withSubject("subject");
+		when(noteRepositoryMock.findByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID)).thenReturn(Optional.of(noteEntity));
+		when(noteRepositoryMock.findWithLockByIdInAndMunicipalityIdOrderByIdAsc(List.of(NOTE_ID), MUNICIPALITY_ID)).thenReturn(List.of(noteEntity));
+		when(revisionServiceMock.createRevisions(List.of(noteEntity), MUNICIPALITY_ID)).thenReturn(List.of(RevisionInformation.create()));
+		noteService.getNoteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+
+		// Act
+		noteService.updateNotes(UpdateNotesRequest.create().withIds(List.of(NOTE_ID)).withChanges(UpdateNoteRequest.create().withSubject("changed subject").withModifiedBy("modifiedBy")), MUNICIPALITY_ID);
+		final var note = noteService.getNoteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(note.note().getSubject()).isEqualTo("changed subject");
+		verify(noteRepositoryMock, times(2)).findByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+	}
+
+	@Test
+	void deleteNoteEvictsCachedNote() {
+
+		// Arrange
+		when(noteRepositoryMock.findByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID)).thenReturn(Optional.of(NoteEntity.create().withId(NOTE_ID)));
+		when(noteRepositoryMock.deleteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID)).thenReturn(1);
+		noteService.getNoteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+
+		// Act
+		noteService.deleteNoteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+		noteService.getNoteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+
+		// Assert
+		verify(noteRepositoryMock, times(2)).findByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+	}
+
+	@Test
+	void evictEvictsCachedNote() {
+
+		// Arrange
+		when(noteRepositoryMock.findByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID)).thenReturn(Optional.of(NoteEntity.create().withId(NOTE_ID)));
+		noteService.getNoteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+
+		// Act (i.e. a change made by another instance is delivered)
+		noteCache.evict(MUNICIPALITY_ID, NOTE_ID);
+		noteService.getNoteByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+
+		// Assert
+		verify(noteRepositoryMock, times(2)).findByIdAndMunicipalityId(NOTE_ID, MUNICIPALITY_ID);
+	}
+}
@@ -0,0 +1,221 @@
+package se.sundsvall.notes.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import se.sundsvall.notes.Application;
+import se.sundsvall.notes.api.model.CreateNoteRequest;
+import se.sundsvall.notes.api.model.FindNotesRequest;
+import se.sundsvall.notes.api.model.UpdateNoteRequest;
+import se.sundsvall.notes.api.model.UpdateNotesRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the number of SQL statements issued by the note operations, using the Hibernate statistics.
+ */
+@SpringBootTest(classes = Application.class, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("junit")
+@Sql(scripts = "/db/scripts/truncate.sql")
+class NoteServiceStatementCountTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@Autowired
+	private NoteService noteService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {
+		0, 1, 25
+	})
+	void updateNoteStatementCountIsIndependentOfHistoryLength(final int historyLength) {
+
+		// Arrange
+		final var id = createNoteWithHistory(historyLength);
+		statistics.clear();
+
+		// Act
+		final var revisionInformation = noteService.updateNote(id, UpdateNoteRequest.create().withBody("updated body").withModifiedBy("modifiedBy"), null, MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(revisionInformation.getCurrentRevision().getVersion()).isEqualTo(historyLength + 1);
+		assertThat(revisionInformation.getPreviousRevision().getVersion()).isEqualTo(historyLength);
+
+		// Select note, select last revision (also the previous revision), update note and insert revision.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+	}
+
+	@Test
+	void updateNoteWithExpectedVersionStatementCount() {
+
+		// Arrange
+		final var id = createNoteWithHistory(2);
+		statistics.clear();
+
+		// Act
+		final var revisionInformation = noteService.updateNote(id, UpdateNoteRequest.create().withBody("updated body").withModifiedBy("modifiedBy"), 2, MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(revisionInformation.getCurrentRevision().getVersion()).isEqualTo(3);
+
+		// The same as without an expected version, as the last revision read to create the revision is also compared.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+	}
+
+	@Test
+	void createNoteStatementCount() {
+
+		// Arrange
+		statistics.clear();
+
+		// Act
+		final var revisionInformation = noteService.createNote(createNoteRequest(), MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(revisionInformation.getCurrentRevision().getVersion()).isZero();
+
+		// Insert note and insert revision, i.e. no select of the last revision.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void createNotesInsertsInBatches() {
+
+		// Arrange
+		final var createNoteRequests = IntStream.range(0, 20)
+			.mapToObj(index -> createNoteRequest())
+			.toList();
+		statistics.clear();
+
+		// Act
+		final var revisionInformations = noteService.createNotes(createNoteRequests, MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(revisionInformations).hasSize(20).allSatisfy(revisionInformation -> assertThat(revisionInformation.getCurrentRevision().getVersion()).isZero());
+
+		// One batch of note inserts and one batch of revision inserts.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void updateNotesUpdatesInBatches() {
+
+		// Arrange
+		noteService.createNotes(IntStream.range(0, 20)
+			.mapToObj(index -> createNoteRequest().withCaseId("caseId"))
+			.toList(), MUNICIPALITY_ID);
+		statistics.clear();
+
+		// Act
+		final var results = noteService.updateNotes(UpdateNotesRequest.create()
+			.withCaseId("caseId")
+			.withChanges(UpdateNoteRequest.create().withCaseType("caseType").withModifiedBy("modifiedBy")), MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(results).hasSize(20).allSatisfy(result -> {
+			assertThat(result.getCurrentRevision().getVersion()).isOne();
+			assertThat(result.getPreviousRevision().getVersion()).isZero();
+		});
+
+		// Select notes, one batch of note updates, select last revisions and one batch of revision inserts.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+	}
+
+	@Test
+	void deleteNoteStatementCount() {
+
+		// Arrange
+		final var id = createNoteWithHistory(5);
+		statistics.clear();
+
+		// Act
+		final var revisionInformation = noteService.deleteNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(revisionInformation.getCurrentRevision().getVersion()).isEqualTo(5);
+
+		// Delete note and select last revision header.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void getNoteStatementCount() {
+
+		// Arrange
+		final var id = createNoteWithHistory(3);
+		statistics.clear();
+
+		// Act
+		final var versionedNote = noteService.getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+		final var cachedNote = noteService.getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(versionedNote.version()).isEqualTo(3);
+		assertThat(cachedNote).isSameAs(versionedNote);
+
+		// Select note and select the version of the first read, nothing for the cached read.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"true, 1, 1, 1, 2", "true, 2, 1, 1, 2", "true, 3, 1, 0, 1", "true, 1, 5, 2, 1", "false, 1, 1, 1, 1", "false, 3, 1, 0, 1"
+	})
+	void getNotesStatementCount(final boolean includeTotals, final int page, final int limit, final int expectedNotes, final long expectedStatementCount) {
+
+		// Arrange
+		createNoteWithHistory(0);
+		createNoteWithHistory(0);
+		statistics.clear();
+
+		// Act
+		final var response = noteService.getNotes(FindNotesRequest.create().withPage(page).withLimit(limit).withIncludeTotals(includeTotals), MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(response.getNotes()).hasSize(expectedNotes);
+
+		// With totals, the first page is selected before counting (unless the total follows from the content) and later
+		// pages are counted before selecting (unless the page is past the last page).
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(expectedStatementCount);
+	}
+
+	private String createNoteWithHistory(final int historyLength) {
+		final var id = noteService.createNote(createNoteRequest(), MUNICIPALITY_ID).getNote().getId();
+
+		for (var i = 1; i <= historyLength; i++) {
+			noteService.updateNote(id, UpdateNoteRequest.create().withBody("body " + i).withModifiedBy("modifiedBy"), null, MUNICIPALITY_ID);
+		}
+
+		return id;
+	}
+
+	private static CreateNoteRequest createNoteRequest() {
+		return CreateNoteRequest.create()
+			.withBody("body")
+			.withClientId("clientId")
+			.withContext("context")
+			.withCreatedBy("createdBy")
+			.withRole("role")
+			.withSubject("subject");
+	}
+}
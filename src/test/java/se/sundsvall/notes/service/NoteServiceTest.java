@@ -1,10 +1,15 @@
 package se.sundsvall.notes.service;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -12,31 +17,44 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import se.sundsvall.dept44.problem.ThrowableProblem;
 import se.sundsvall.notes.api.model.CreateNoteRequest;
 import se.sundsvall.notes.api.model.FindNotesRequest;
 import se.sundsvall.notes.api.model.Note;
 import se.sundsvall.notes.api.model.Revision;
+import se.sundsvall.notes.api.model.RevisionInformation;
 import se.sundsvall.notes.api.model.UpdateNoteRequest;
+import se.sundsvall.notes.api.model.UpdateNoteResult;
+import se.sundsvall.notes.api.model.UpdateNotesRequest;
 import se.sundsvall.notes.integration.db.NoteRepository;
 import se.sundsvall.notes.integration.db.model.NoteEntity;
+import se.sundsvall.notes.integration.db.model.RevisionHeader;
+import se.sundsvall.notes.service.mapper.CursorMapper;
 import se.sundsvall.notes.service.mapper.NoteMapper;
 
 import static java.lang.String.format;
+import static java.util.Optional.ofNullable;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static se.sundsvall.notes.service.ServiceConstants.ERROR_IDS_OR_CASE_ID;
 import static se.sundsvall.notes.service.ServiceConstants.ERROR_NOTE_NOT_FOUND;
+import static se.sundsvall.notes.service.ServiceConstants.ERROR_VERSION_MISMATCH;
 
 @ExtendWith(MockitoExtension.class)
 class NoteServiceTest {
@@ -49,6 +67,12 @@ class NoteServiceTest {
 	@Mock
 	private RevisionService revisionServiceMock;
 
+	@Mock
+	private InvalidationBus invalidationBusMock;
+
+	@Mock
+	private NoteCache noteCacheMock;
+
 	@InjectMocks
 	private NoteService noteService;
 
@@ -63,7 +87,7 @@ class NoteServiceTest {
 
 		// Mock
 		when(noteRepositoryMock.save(any())).thenReturn(noteEntity);
-		when(revisionServiceMock.createRevision(same(noteEntity), eq(MUNICIPALITY_ID))).thenReturn(currentRevision);
+		when(revisionServiceMock.createInitialRevision(same(noteEntity), eq(MUNICIPALITY_ID))).thenReturn(currentRevision);
 
 		try (MockedStatic<NoteMapper> mapperMock = Mockito.mockStatic(NoteMapper.class)) {
 			mapperMock.when(() -> NoteMapper.toNoteEntity(anyString(), any())).thenReturn(noteEntity);
@@ -75,7 +99,8 @@ class NoteServiceTest {
 			// Verification
 			mapperMock.verify(() -> NoteMapper.toNoteEntity(eq(MUNICIPALITY_ID), same(createNoteRequestMock)));
 			verify(noteRepositoryMock).save(same(noteEntity));
-			verify(revisionServiceMock).createRevision(same(noteEntity), eq(MUNICIPALITY_ID));
+			verify(revisionServiceMock).createInitialRevision(same(noteEntity), eq(MUNICIPALITY_ID));
+			verifyNoMoreInteractions(revisionServiceMock);
 			assertThat(revisionInformation).isNotNull();
 			assertThat(revisionInformation.getNote()).isEqualTo(note);
 			assertThat(revisionInformation.isNewRevisionCreated()).isTrue();
@@ -83,6 +108,40 @@ class NoteServiceTest {
 		}
 	}
 
+	@Test
+	void createNotes() {
+		final var createNoteRequestMock1 = Mockito.mock(CreateNoteRequest.class);
+		final var createNoteRequestMock2 = Mockito.mock(CreateNoteRequest.class);
+		final var noteEntity1 = NoteEntity.create().withId("id1");
+		final var noteEntity2 = NoteEntity.create().withId("id2");
+		final var note1 = Note.create().withId("id1");
+		final var note2 = Note.create().withId("id2");
+		final var revision1 = Revision.create().withId("revision1").withVersion(0);
+		final var revision2 = Revision.create().withId("revision2").withVersion(0);
+
+		// Mock
+		when(noteRepositoryMock.saveAll(List.of(noteEntity1, noteEntity2))).thenReturn(List.of(noteEntity1, noteEntity2));
+		when(revisionServiceMock.createInitialRevisions(List.of(noteEntity1, noteEntity2), MUNICIPALITY_ID)).thenReturn(List.of(revision1, revision2));
+
+		try (MockedStatic<NoteMapper> mapperMock = Mockito.mockStatic(NoteMapper.class)) {
+			mapperMock.when(() -> NoteMapper.toNoteEntity(MUNICIPALITY_ID, createNoteRequestMock1)).thenReturn(noteEntity1);
+			mapperMock.when(() -> NoteMapper.toNoteEntity(MUNICIPALITY_ID, createNoteRequestMock2)).thenReturn(noteEntity2);
+			mapperMock.when(() -> NoteMapper.toNote(noteEntity1)).thenReturn(note1);
+			mapperMock.when(() -> NoteMapper.toNote(noteEntity2)).thenReturn(note2);
+
+			// Call
+			final var result = noteService.createNotes(List.of(createNoteRequestMock1, createNoteRequestMock2), MUNICIPALITY_ID);
+
+			// Verification
+			verify(noteRepositoryMock).saveAll(List.of(noteEntity1, noteEntity2));
+			verify(revisionServiceMock).createInitialRevisions(List.of(noteEntity1, noteEntity2), MUNICIPALITY_ID);
+			verifyNoMoreInteractions(noteRepositoryMock, revisionServiceMock);
+			assertThat(result)
+				.extracting(RevisionInformation::getNote, RevisionInformation::getCurrentRevision)
+				.containsExactly(tuple(note1, revision1), tuple(note2, revision2));
+		}
+	}
+
 	@Test
 	void updateNoteNoRevisionCreated() {
 
@@ -90,28 +149,34 @@ class NoteServiceTest {
 		final var updateNoteRequestMock = Mockito.mock(UpdateNoteRequest.class);
 		final var noteEntityMock = Mockito.mock(NoteEntity.class);
 		final var noteMock = Mockito.mock(Note.class);
+		final var lastRevisionMock = Mockito.mock(RevisionHeader.class);
 
 		// Mock
-		when(noteRepositoryMock.findByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(Optional.of(noteEntityMock));
-		when(revisionServiceMock.createRevision(same(noteEntityMock), eq(MUNICIPALITY_ID))).thenReturn(null);
+		when(noteRepositoryMock.findWithLockByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(Optional.of(noteEntityMock));
+		when(revisionServiceMock.getLastRevision(id, MUNICIPALITY_ID)).thenReturn(lastRevisionMock);
+		when(revisionServiceMock.createRevision(same(noteEntityMock), same(lastRevisionMock), eq(MUNICIPALITY_ID))).thenReturn(RevisionInformation.create().withCurrentVersion(2));
 
 		try (MockedStatic<NoteMapper> mapperMock = Mockito.mockStatic(NoteMapper.class)) {
 			mapperMock.when(() -> NoteMapper.toNoteEntity(any(NoteEntity.class), any(UpdateNoteRequest.class))).thenReturn(noteEntityMock);
 			mapperMock.when(() -> NoteMapper.toNote(any(NoteEntity.class))).thenReturn(noteMock);
 
 			// Call
-			final var revisionInformation = noteService.updateNote(id, updateNoteRequestMock, MUNICIPALITY_ID);
+			final var revisionInformation = noteService.updateNote(id, updateNoteRequestMock, null, MUNICIPALITY_ID);
 
 			// Verification
-			verify(noteRepositoryMock).findByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+			verify(noteRepositoryMock).findWithLockByIdAndMunicipalityId(id, MUNICIPALITY_ID);
 			verify(noteRepositoryMock).flush();
-			verify(revisionServiceMock).createRevision(same(noteEntityMock), eq(MUNICIPALITY_ID));
+			verify(noteCacheMock).evict(MUNICIPALITY_ID, id);
+			verify(invalidationBusMock).publish(MUNICIPALITY_ID, List.of(id));
+			verify(revisionServiceMock).getLastRevision(id, MUNICIPALITY_ID);
+			verify(revisionServiceMock).createRevision(same(noteEntityMock), same(lastRevisionMock), eq(MUNICIPALITY_ID));
 			verifyNoMoreInteractions(revisionServiceMock);
 			mapperMock.verify(() -> NoteMapper.toNoteEntity(same(noteEntityMock), same(updateNoteRequestMock)));
 			mapperMock.verify(() -> NoteMapper.toNote(same(noteEntityMock)));
 
 			assertThat(revisionInformation).isNotNull();
 			assertThat(revisionInformation.isNewRevisionCreated()).isFalse();
+			assertThat(revisionInformation.getCurrentVersion()).isEqualTo(2);
 		}
 	}
 
@@ -124,28 +189,34 @@ class NoteServiceTest {
 		final var updateNoteRequestMock = Mockito.mock(UpdateNoteRequest.class);
 		final var noteEntityMock = Mockito.mock(NoteEntity.class);
 		final var noteMock = Mockito.mock(Note.class);
+		final var lastRevisionMock = Mockito.mock(RevisionHeader.class);
 
 		final var currentRevision = Revision.create().withId(revisionId).withVersion(2);
 		final var previousRevision = Revision.create().withId(previousRevisionId).withVersion(1);
-		final var oldRevision = Revision.create().withId(previousRevisionId).withVersion(0);
 
 		// Mock
-		when(noteRepositoryMock.findByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(Optional.of(noteEntityMock));
-		when(revisionServiceMock.createRevision(same(noteEntityMock), eq(MUNICIPALITY_ID))).thenReturn(currentRevision);
-		when(noteEntityMock.getId()).thenReturn(id);
-		when(revisionServiceMock.getRevisions(id, MUNICIPALITY_ID)).thenReturn(List.of(currentRevision, previousRevision, oldRevision));
+		when(noteRepositoryMock.findWithLockByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(Optional.of(noteEntityMock));
+		when(revisionServiceMock.getLastRevision(id, MUNICIPALITY_ID)).thenReturn(lastRevisionMock);
+		when(revisionServiceMock.createRevision(same(noteEntityMock), same(lastRevisionMock), eq(MUNICIPALITY_ID))).thenReturn(RevisionInformation.create()
+			.withCurrentRevision(currentRevision)
+			.withPreviousRevision(previousRevision)
+			.withCurrentVersion(2));
 
 		try (MockedStatic<NoteMapper> mapperMock = Mockito.mockStatic(NoteMapper.class)) {
 			mapperMock.when(() -> NoteMapper.toNoteEntity(any(NoteEntity.class), any(UpdateNoteRequest.class))).thenReturn(noteEntityMock);
 			mapperMock.when(() -> NoteMapper.toNote(any(NoteEntity.class))).thenReturn(noteMock);
 
 			// Call
-			final var revisionInformation = noteService.updateNote(id, updateNoteRequestMock, MUNICIPALITY_ID);
+			final var revisionInformation = noteService.updateNote(id, updateNoteRequestMock, null, MUNICIPALITY_ID);
 
 			// Verification
-			verify(noteRepositoryMock).findByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+			verify(noteRepositoryMock).findWithLockByIdAndMunicipalityId(id, MUNICIPALITY_ID);
 			verify(noteRepositoryMock).flush();
-			verify(revisionServiceMock).createRevision(same(noteEntityMock), eq(MUNICIPALITY_ID));
+			verify(noteCacheMock).evict(MUNICIPALITY_ID, id);
+			verify(invalidationBusMock).publish(MUNICIPALITY_ID, List.of(id));
+			verify(revisionServiceMock).getLastRevision(id, MUNICIPALITY_ID);
+			verify(revisionServiceMock).createRevision(same(noteEntityMock), same(lastRevisionMock), eq(MUNICIPALITY_ID));
+			verifyNoMoreInteractions(revisionServiceMock);
 			mapperMock.verify(() -> NoteMapper.toNoteEntity(same(noteEntityMock), same(updateNoteRequestMock)));
 			mapperMock.verify(() -> NoteMapper.toNote(same(noteEntityMock)));
 
@@ -153,9 +224,72 @@ class NoteServiceTest {
 			assertThat(revisionInformation.isNewRevisionCreated()).isTrue();
 			assertThat(revisionInformation.getCurrentRevision()).isEqualTo(currentRevision);
 			assertThat(revisionInformation.getPreviousRevision()).isEqualTo(previousRevision);
+			assertThat(revisionInformation.getCurrentVersion()).isEqualTo(2);
 		}
 	}
 
+	@Test
+	void updateNoteWithExpectedVersion() {
+
+		// Setup
+		final var id = UUID.randomUUID().toString();
+		final var request = UpdateNoteRequest.create().withBody("body").withModifiedBy("modifiedBy");
+		final var noteEntity = NoteEntity.create().withId(id);
+		final var lastRevisionMock = Mockito.mock(RevisionHeader.class);
+
+		// Mock
+		when(noteRepositoryMock.findWithLockByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(Optional.of(noteEntity));
+		when(lastRevisionMock.getVersion()).thenReturn(3);
+		when(revisionServiceMock.getLastRevision(id, MUNICIPALITY_ID)).thenReturn(lastRevisionMock);
+		when(revisionServiceMock.createRevision(noteEntity, lastRevisionMock, MUNICIPALITY_ID)).thenReturn(RevisionInformation.create().withCurrentVersion(3));
+
+		// Call
+		final var revisionInformation = noteService.updateNote(id, request, 3, MUNICIPALITY_ID);
+
+		// Verification
+		assertThat(revisionInformation.getNote().getBody()).isEqualTo("body");
+		assertThat(revisionInformation.getCurrentVersion()).isEqualTo(3);
+		verify(noteRepositoryMock).findWithLockByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+		verify(revisionServiceMock).getLastRevision(id, MUNICIPALITY_ID);
+		verify(noteRepositoryMock).flush();
+		verify(noteCacheMock).evict(MUNICIPALITY_ID, id);
+		verify(invalidationBusMock).publish(MUNICIPALITY_ID, List.of(id));
+		verify(revisionServiceMock).createRevision(noteEntity, lastRevisionMock, MUNICIPALITY_ID);
+		verifyNoMoreInteractions(noteRepositoryMock, revisionServiceMock, invalidationBusMock);
+	}
+
+	@ParameterizedTest
+	@NullSource
+	@ValueSource(ints = 4)
+	void updateNoteWithUnexpectedVersion(final Integer currentVersion) {
+
+		// Setup
+		final var id = UUID.randomUUID().toString();
+		final var request = UpdateNoteRequest.create().withBody("body").withModifiedBy("modifiedBy");
+		final var noteEntity = NoteEntity.create().withId(id).withBody("original body");
+
+		// Mock
+		when(noteRepositoryMock.findWithLockByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(Optional.of(noteEntity));
+		final var lastRevision = ofNullable(currentVersion).map(version -> {
+			final var lastRevisionMock = Mockito.mock(RevisionHeader.class);
+			when(lastRevisionMock.getVersion()).thenReturn(version);
+			return lastRevisionMock;
+		}).orElse(null);
+		when(revisionServiceMock.getLastRevision(id, MUNICIPALITY_ID)).thenReturn(lastRevision);
+
+		// Call
+		final var problem = assertThrows(ThrowableProblem.class, () -> noteService.updateNote(id, request, 3, MUNICIPALITY_ID));
+
+		// Verification
+		assertThat(problem.getStatus()).isEqualTo(PRECONDITION_FAILED);
+		assertThat(problem.getDetail()).isEqualTo(ERROR_VERSION_MISMATCH.formatted(id, currentVersion, 3));
+		assertThat(noteEntity.getBody()).isEqualTo("original body");
+		verify(noteRepositoryMock).findWithLockByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+		verify(revisionServiceMock).getLastRevision(id, MUNICIPALITY_ID);
+		verifyNoMoreInteractions(noteRepositoryMock, revisionServiceMock);
+		verifyNoInteractions(invalidationBusMock);
+	}
+
 	@Test
 	void updateNoteIdNotFound() {
 
@@ -164,18 +298,120 @@ class NoteServiceTest {
 		final var request = UpdateNoteRequest.create();
 
 		// Mock
-		when(noteRepositoryMock.findByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(Optional.empty());
+		when(noteRepositoryMock.findWithLockByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(Optional.empty());
 
 		// Call
-		final var problem = assertThrows(ThrowableProblem.class, () -> noteService.updateNote(id, request, MUNICIPALITY_ID));
+		final var problem = assertThrows(ThrowableProblem.class, () -> noteService.updateNote(id, request, null, MUNICIPALITY_ID));
 
 		// Verification
 		assertThat(problem).isNotNull();
 		assertThat(problem.getTitle()).isEqualTo(NOT_FOUND.getReasonPhrase());
 		assertThat(problem.getStatus()).isEqualTo(NOT_FOUND);
 		assertThat(problem.getDetail()).isEqualTo(format(ERROR_NOTE_NOT_FOUND, id));
-		verify(noteRepositoryMock).findByIdAndMunicipalityId(id, MUNICIPALITY_ID);
-		verifyNoInteractions(revisionServiceMock);
+		verify(noteRepositoryMock).findWithLockByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+		verifyNoInteractions(revisionServiceMock, invalidationBusMock);
+	}
+
+	@Test
+	void updateNotesByIds() {
+
+		// Setup
+		final var updateNoteRequest = UpdateNoteRequest.create().withCaseType("caseType").withModifiedBy("modifiedBy");
+		final var request = UpdateNotesRequest.create().withIds(List.of("id2", "missing", "id1", "id2")).withChanges(updateNoteRequest);
+		final var noteEntity1 = NoteEntity.create().withId("id1");
+		final var noteEntity2 = NoteEntity.create().withId("id2");
+		final var currentRevision = Revision.create().withId("revision1").withVersion(2);
+		final var previousRevision = Revision.create().withId("revision0").withVersion(1);
+
+		// Mock
+		when(noteRepositoryMock.findWithLockByIdInAndMunicipalityIdOrderByIdAsc(List.of("id2", "missing", "id1"), MUNICIPALITY_ID)).thenReturn(List.of(noteEntity1, noteEntity2));
+		when(revisionServiceMock.createRevisions(List.of(noteEntity1, noteEntity2), MUNICIPALITY_ID)).thenReturn(List.of(
+			RevisionInformation.create().withCurrentRevision(currentRevision).withPreviousRevision(previousRevision),
+			RevisionInformation.create()));
+
+		// Call
+		final var result = noteService.updateNotes(request, MUNICIPALITY_ID);
+
+		// Verification
+		verify(noteRepositoryMock).findWithLockByIdInAndMunicipalityIdOrderByIdAsc(List.of("id2", "missing", "id1"), MUNICIPALITY_ID);
+		verify(noteRepositoryMock).flush();
+		verify(noteCacheMock).evict(MUNICIPALITY_ID, "id1");
+		verify(noteCacheMock).evict(MUNICIPALITY_ID, "id2");
+		verify(invalidationBusMock).publish(MUNICIPALITY_ID, List.of("id1", "id2"));
+		verify(revisionServiceMock).createRevisions(List.of(noteEntity1, noteEntity2), MUNICIPALITY_ID);
+		verifyNoMoreInteractions(noteRepositoryMock, revisionServiceMock, invalidationBusMock);
+		assertThat(List.of(noteEntity1, noteEntity2)).allSatisfy(noteEntity -> {
+			assertThat(noteEntity.getCaseType()).isEqualTo("caseType");
+			assertThat(noteEntity.getModifiedBy()).isEqualTo("modifiedBy");
+		});
+		assertThat(result).containsExactly(
+			UpdateNoteResult.create().withId("id2").withStatus(OK.value()),
+			UpdateNoteResult.create().withId("missing").withStatus(NOT_FOUND.value()).withDetail(ERROR_NOTE_NOT_FOUND.formatted("missing")),
+			UpdateNoteResult.create().withId("id1").withStatus(OK.value()).withCurrentRevision(currentRevision).withPreviousRevision(previousRevision));
+	}
+
+	@Test
+	void updateNotesByCaseId() {
+
+		// Setup
+		final var updateNoteRequest = UpdateNoteRequest.create().withCaseLink("caseLink").withModifiedBy("modifiedBy");
+		final var request = UpdateNotesRequest.create().withCaseId("caseId").withChanges(updateNoteRequest);
+		final var noteEntity1 = NoteEntity.create().withId("id1");
+		final var noteEntity2 = NoteEntity.create().withId("id2");
+		final var currentRevision1 = Revision.create().withId("revision1").withVersion(0);
+		final var currentRevision2 = Revision.create().withId("revision2").withVersion(0);
+
+		// Mock
+		when(noteRepositoryMock.findWithLockByCaseIdAndMunicipalityIdOrderByIdAsc("caseId", MUNICIPALITY_ID)).thenReturn(List.of(noteEntity1, noteEntity2));
+		when(revisionServiceMock.createRevisions(List.of(noteEntity1, noteEntity2), MUNICIPALITY_ID)).thenReturn(List.of(
+			RevisionInformation.create().withCurrentRevision(currentRevision1),
+			RevisionInformation.create().withCurrentRevision(currentRevision2)));
+
+		// Call
+		final var result = noteService.updateNotes(request, MUNICIPALITY_ID);
+
+		// Verification
+		verify(noteRepositoryMock).findWithLockByCaseIdAndMunicipalityIdOrderByIdAsc("caseId", MUNICIPALITY_ID);
+		verify(noteRepositoryMock).flush();
+		verify(noteCacheMock).evict(MUNICIPALITY_ID, "id1");
+		verify(noteCacheMock).evict(MUNICIPALITY_ID, "id2");
+		verify(invalidationBusMock).publish(MUNICIPALITY_ID, List.of("id1", "id2"));
+		verify(revisionServiceMock).createRevisions(List.of(noteEntity1, noteEntity2), MUNICIPALITY_ID);
+		verifyNoMoreInteractions(noteRepositoryMock, revisionServiceMock, invalidationBusMock);
+		assertThat(List.of(noteEntity1, noteEntity2)).extracting(NoteEntity::getCaseLink).containsOnly("caseLink");
+		assertThat(result).containsExactly(
+			UpdateNoteResult.create().withId("id1").withStatus(OK.value()).withCurrentRevision(currentRevision1),
+			UpdateNoteResult.create().withId("id2").withStatus(OK.value()).withCurrentRevision(currentRevision2));
+	}
+
+	@Test
+	void updateNotesWithBothIdsAndCaseId() {
+
+		// Setup
+		final var request = UpdateNotesRequest.create().withIds(List.of("id1")).withCaseId("caseId").withChanges(UpdateNoteRequest.create());
+
+		// Call
+		final var problem = assertThrows(ThrowableProblem.class, () -> noteService.updateNotes(request, MUNICIPALITY_ID));
+
+		// Verification
+		assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(problem.getDetail()).isEqualTo(ERROR_IDS_OR_CASE_ID);
+		verifyNoInteractions(noteRepositoryMock, revisionServiceMock, invalidationBusMock);
+	}
+
+	@Test
+	void updateNotesWithNeitherIdsNorCaseId() {
+
+		// Setup
+		final var request = UpdateNotesRequest.create().withChanges(UpdateNoteRequest.create());
+
+		// Call
+		final var problem = assertThrows(ThrowableProblem.class, () -> noteService.updateNotes(request, MUNICIPALITY_ID));
+
+		// Verification
+		assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(problem.getDetail()).isEqualTo(ERROR_IDS_OR_CASE_ID);
+		verifyNoInteractions(noteRepositoryMock, revisionServiceMock, invalidationBusMock);
 	}
 
 	@Test
@@ -187,16 +423,18 @@ class NoteServiceTest {
 		final var currentRevision = Revision.create().withId(revisionId).withVersion(1);
 
 		// Mock
-		when(noteRepositoryMock.existsByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(true);
-		when(revisionServiceMock.getRevisions(id, MUNICIPALITY_ID)).thenReturn(List.of(currentRevision));
+		when(noteRepositoryMock.deleteByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(1);
+		when(revisionServiceMock.getLatestRevision(id, MUNICIPALITY_ID)).thenReturn(currentRevision);
 
 		// Call
 		final var revisionInformation = noteService.deleteNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
 
 		// Verification
-		verify(noteRepositoryMock).existsByIdAndMunicipalityId(id, MUNICIPALITY_ID);
 		verify(noteRepositoryMock).deleteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
-		verifyNoMoreInteractions(noteRepositoryMock);
+		verify(noteCacheMock).evict(MUNICIPALITY_ID, id);
+		verify(invalidationBusMock).publish(MUNICIPALITY_ID, List.of(id));
+		verify(revisionServiceMock).getLatestRevision(id, MUNICIPALITY_ID);
+		verifyNoMoreInteractions(noteRepositoryMock, revisionServiceMock, invalidationBusMock);
 		assertThat(revisionInformation).isNotNull();
 		assertThat(revisionInformation.isNewRevisionCreated()).isFalse();
 		assertThat(revisionInformation.getCurrentRevision()).isEqualTo(currentRevision);
@@ -208,6 +446,9 @@ class NoteServiceTest {
 		// Setup
 		final var id = UUID.randomUUID().toString();
 
+		// Mock
+		when(noteRepositoryMock.deleteByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(0);
+
 		// Call
 		final var problem = assertThrows(ThrowableProblem.class, () -> noteService.deleteNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID));
 
@@ -216,7 +457,8 @@ class NoteServiceTest {
 		assertThat(problem.getTitle()).isEqualTo(NOT_FOUND.getReasonPhrase());
 		assertThat(problem.getStatus()).isEqualTo(NOT_FOUND);
 		assertThat(problem.getDetail()).isEqualTo(format(ERROR_NOTE_NOT_FOUND, id));
-		verifyNoInteractions(revisionServiceMock);
+		verify(noteRepositoryMock).deleteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+		verifyNoInteractions(revisionServiceMock, invalidationBusMock);
 	}
 
 	@Test
@@ -228,6 +470,8 @@ class NoteServiceTest {
 
 		// Mock
 		when(noteRepositoryMock.findByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(Optional.of(noteEntityMock));
+		when(revisionServiceMock.getCurrentVersion(id, MUNICIPALITY_ID)).thenReturn(2);
+		when(noteCacheMock.get(eq(MUNICIPALITY_ID), eq(id), any())).thenAnswer(invocation -> invocation.<Supplier<VersionedNote>>getArgument(2).get());
 
 		try (MockedStatic<NoteMapper> mapperMock = Mockito.mockStatic(NoteMapper.class)) {
 			mapperMock.when(() -> NoteMapper.toNote(any())).thenReturn(noteMock);
@@ -236,14 +480,32 @@ class NoteServiceTest {
 			final var result = noteService.getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
 
 			// Verification
+			verify(noteCacheMock).get(eq(MUNICIPALITY_ID), eq(id), any());
 			verify(noteRepositoryMock).findByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+			verify(revisionServiceMock).getCurrentVersion(id, MUNICIPALITY_ID);
 			mapperMock.verify(() -> NoteMapper.toNote(same(noteEntityMock)));
 
-			assertThat(result).isSameAs(noteMock);
-			verifyNoInteractions(revisionServiceMock);
+			assertThat(result).isEqualTo(new VersionedNote(noteMock, 2));
 		}
 	}
 
+	@Test
+	void getNoteCached() {
+
+		final var id = UUID.randomUUID().toString();
+		final var versionedNote = new VersionedNote(Note.create().withId(id), 2);
+
+		// Mock
+		when(noteCacheMock.get(eq(MUNICIPALITY_ID), eq(id), any())).thenReturn(versionedNote);
+
+		// Call
+		final var result = noteService.getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID);
+
+		// Verification
+		assertThat(result).isSameAs(versionedNote);
+		verifyNoInteractions(noteRepositoryMock, revisionServiceMock);
+	}
+
 	@Test
 	void getNoteNotFound() {
 
@@ -252,6 +514,7 @@ class NoteServiceTest {
 
 		// Mock
 		when(noteRepositoryMock.findByIdAndMunicipalityId(id, MUNICIPALITY_ID)).thenReturn(Optional.empty());
+		when(noteCacheMock.get(eq(MUNICIPALITY_ID), eq(id), any())).thenAnswer(invocation -> invocation.<Supplier<VersionedNote>>getArgument(2).get());
 
 		// Call
 		final var problem = assertThrows(ThrowableProblem.class, () -> noteService.getNoteByIdAndMunicipalityId(id, MUNICIPALITY_ID));
@@ -291,4 +554,128 @@ class NoteServiceTest {
 		verify(noteRepositoryMock).findAllByParameters(any(), any(), anyString());
 		verifyNoInteractions(revisionServiceMock);
 	}
+
+	@Test
+	void getNotesPageOutOfRange() {
+
+		// Setup
+		final var findNotesRequest = FindNotesRequest.create().withPage(3).withLimit(10);
+		final var pageRequest = PageRequest.of(2, 10, Sort.by("created").descending());
+
+		// Mock
+		when(noteRepositoryMock.findAllByParameters(findNotesRequest, pageRequest, MUNICIPALITY_ID)).thenReturn(new PageImpl<>(List.of(), pageRequest, 15));
+
+		// Call
+		final var result = noteService.getNotes(findNotesRequest, MUNICIPALITY_ID);
+
+		// Verification
+		assertThat(result.getNotes()).isEmpty();
+		assertThat(result.getMetaData().getPage()).isEqualTo(3);
+		assertThat(result.getMetaData().getCount()).isZero();
+		assertThat(result.getMetaData().getTotalPages()).isEqualTo(2);
+		assertThat(result.getMetaData().getTotalRecords()).isEqualTo(15);
+		assertThat(result.getMetaData().isHasNext()).isFalse();
+
+		verify(noteRepositoryMock).findAllByParameters(findNotesRequest, pageRequest, MUNICIPALITY_ID);
+		verifyNoMoreInteractions(noteRepositoryMock);
+		verifyNoInteractions(revisionServiceMock);
+	}
+
+	@Test
+	void getNotesWithoutTotals() {
+
+		// Setup
+		final var id = UUID.randomUUID().toString();
+		final var findNotesRequest = FindNotesRequest.create().withIncludeTotals(false).withPage(2).withLimit(1);
+		final var pageRequest = PageRequest.of(1, 1, Sort.by("created").descending());
+
+		// Mock
+		when(noteRepositoryMock.findSliceByParameters(findNotesRequest, pageRequest, MUNICIPALITY_ID)).thenReturn(new SliceImpl<>(List.of(NoteEntity.create().withId(id)), pageRequest, true));
+
+		// Call
+		final var result = noteService.getNotes(findNotesRequest, MUNICIPALITY_ID);
+
+		// Verification
+		assertThat(result.getNotes()).extracting(Note::getId).containsExactly(id);
+		assertThat(result.getMetaData().getPage()).isEqualTo(2);
+		assertThat(result.getMetaData().getLimit()).isEqualTo(1);
+		assertThat(result.getMetaData().getCount()).isEqualTo(1);
+		assertThat(result.getMetaData().isHasNext()).isTrue();
+		assertThat(result.getMetaData().getTotalPages()).isNull();
+		assertThat(result.getMetaData().getTotalRecords()).isNull();
+
+		verify(noteRepositoryMock).findSliceByParameters(findNotesRequest, pageRequest, MUNICIPALITY_ID);
+		verifyNoMoreInteractions(noteRepositoryMock);
+		verifyNoInteractions(revisionServiceMock);
+	}
+
+	@Test
+	void getNotesByCursorFirstPage() {
+
+		// Setup
+		final var created = OffsetDateTime.parse("2022-01-01T12:14:32.234Z");
+		final var findNotesRequest = FindNotesRequest.create().withCursor("*").withLimit(2);
+		final var noteEntities = List.of(
+			NoteEntity.create().withId("id-1").withCreated(created.plusDays(2)),
+			NoteEntity.create().withId("id-2").withCreated(created.plusDays(1)),
+			NoteEntity.create().withId("id-3").withCreated(created));
+
+		// Mock
+		when(noteRepositoryMock.findAllByParametersAfter(findNotesRequest, null, null, 3, MUNICIPALITY_ID)).thenReturn(noteEntities);
+
+		// Call
+		final var result = noteService.getNotes(findNotesRequest, MUNICIPALITY_ID);
+
+		// Verification
+		assertThat(result.getNotes()).extracting(Note::getId).containsExactly("id-1", "id-2");
+		assertThat(result.getMetaData().getCount()).isEqualTo(2);
+		assertThat(result.getMetaData().getLimit()).isEqualTo(2);
+		assertThat(result.getMetaData().isHasNext()).isTrue();
+		assertThat(result.getMetaData().getNextCursor()).isEqualTo(CursorMapper.toCursor(noteEntities.get(1)));
+
+		verify(noteRepositoryMock).findAllByParametersAfter(findNotesRequest, null, null, 3, MUNICIPALITY_ID);
+		verifyNoMoreInteractions(noteRepositoryMock);
+		verifyNoInteractions(revisionServiceMock);
+	}
+
+	@Test
+	void getNotesByCursorLastPage() {
+
+		// Setup
+		final var created = OffsetDateTime.parse("2022-01-01T12:14:32.234Z");
+		final var cursor = CursorMapper.toCursor(NoteEntity.create().withId("id-2").withCreated(created.plusDays(1)));
+		final var findNotesRequest = FindNotesRequest.create().withCursor(cursor).withLimit(2);
+
+		// Mock
+		when(noteRepositoryMock.findAllByParametersAfter(eq(findNotesRequest), any(), eq("id-2"), eq(3), eq(MUNICIPALITY_ID)))
+			.thenReturn(List.of(NoteEntity.create().withId("id-3").withCreated(created)));
+
+		// Call
+		final var result = noteService.getNotes(findNotesRequest, MUNICIPALITY_ID);
+
+		// Verification
+		assertThat(result.getNotes()).extracting(Note::getId).containsExactly("id-3");
+		assertThat(result.getMetaData().getCount()).isEqualTo(1);
+		assertThat(result.getMetaData().isHasNext()).isFalse();
+		assertThat(result.getMetaData().getNextCursor()).isNull();
+
+		verify(noteRepositoryMock).findAllByParametersAfter(eq(findNotesRequest), argThat(created.plusDays(1)::isEqual), eq("id-2"), eq(3), eq(MUNICIPALITY_ID));
+		verifyNoInteractions(revisionServiceMock);
+	}
+
+	@Test
+	void getNotesByInvalidCursor() {
+
+		// Setup
+		final var findNotesRequest = FindNotesRequest.create().withCursor("not-a-valid-cursor");
+
+		// Call
+		final var exception = assertThrows(ThrowableProblem.class, () -> noteService.getNotes(findNotesRequest, MUNICIPALITY_ID));
+
+		// Verification
+		assertThat(exception.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(exception.getDetail()).isEqualTo("Invalid cursor 'not-a-valid-cursor'");
+
+		verifyNoInteractions(noteRepositoryMock, revisionServiceMock);
+	}
 }
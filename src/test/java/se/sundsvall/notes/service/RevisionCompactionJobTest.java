@@ -0,0 +1,79 @@
+package se.sundsvall.notes.service;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import se.sundsvall.notes.configuration.RevisionProperties;
+import se.sundsvall.notes.configuration.RevisionProperties.Compaction;
+import se.sundsvall.notes.configuration.RevisionProperties.Compression;
+import se.sundsvall.notes.configuration.RevisionProperties.StorageMode;
+import se.sundsvall.notes.integration.db.RevisionRepository;
+import se.sundsvall.notes.integration.db.model.RevisionOwner;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevisionCompactionJobTest {
+
+	@Mock
+	private RevisionRepository revisionRepositoryMock;
+
+	@Mock
+	private RevisionService revisionServiceMock;
+
+	@Spy
+	private RevisionProperties revisionProperties = new RevisionProperties(StorageMode.DELTA, 10, new Compaction("-", 50), new Compression(false, "-", 100));
+
+	@InjectMocks
+	private RevisionCompactionJob revisionCompactionJob;
+
+	@Test
+	void compactRevisions() {
+
+		// Arrange
+		final var owner1 = createRevisionOwner("entityId1");
+		final var owner2 = createRevisionOwner("entityId2");
+
+		when(revisionRepositoryMock.findOwnersToCompact(10, Limit.of(50))).thenReturn(List.of(owner1, owner2));
+		when(revisionServiceMock.compactRevisions("entityId1", "2281")).thenThrow(new IllegalStateException("Corrupt revisions"));
+		when(revisionServiceMock.compactRevisions("entityId2", "2281")).thenReturn(9);
+
+		// Act
+		revisionCompactionJob.compactRevisions();
+
+		// Assert
+		verify(revisionRepositoryMock).findOwnersToCompact(10, Limit.of(50));
+		verify(revisionServiceMock).compactRevisions("entityId1", "2281");
+		verify(revisionServiceMock).compactRevisions("entityId2", "2281");
+		verifyNoMoreInteractions(revisionRepositoryMock, revisionServiceMock);
+	}
+
+	@Test
+	void compactRevisionsWhenNothingToCompact() {
+
+		// Arrange
+		when(revisionRepositoryMock.findOwnersToCompact(10, Limit.of(50))).thenReturn(List.of());
+
+		// Act
+		revisionCompactionJob.compactRevisions();
+
+		// Assert
+		verifyNoInteractions(revisionServiceMock);
+	}
+
+	private static RevisionOwner createRevisionOwner(final String entityId) {
+		final var owner = Mockito.mock(RevisionOwner.class);
+		when(owner.getEntityId()).thenReturn(entityId);
+		when(owner.getMunicipalityId()).thenReturn("2281");
+		return owner;
+	}
+}
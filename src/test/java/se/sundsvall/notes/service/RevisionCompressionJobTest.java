@@ -0,0 +1,54 @@
+package se.sundsvall.notes.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.notes.configuration.RevisionProperties;
+import se.sundsvall.notes.configuration.RevisionProperties.Compaction;
+import se.sundsvall.notes.configuration.RevisionProperties.Compression;
+import se.sundsvall.notes.configuration.RevisionProperties.StorageMode;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevisionCompressionJobTest {
+
+	@Mock
+	private RevisionService revisionServiceMock;
+
+	@Test
+	void compressSnapshots() {
+
+		// Arrange
+		final var revisionCompressionJob = new RevisionCompressionJob(revisionServiceMock, createRevisionProperties(true));
+		when(revisionServiceMock.compressSnapshots(50)).thenReturn(50);
+
+		// Act
+		revisionCompressionJob.compressSnapshots();
+
+		// Assert
+		verify(revisionServiceMock).compressSnapshots(50);
+		verifyNoMoreInteractions(revisionServiceMock);
+	}
+
+	@Test
+	void compressSnapshotsWhenCompressionIsDisabled() {
+
+		// Arrange
+		final var revisionCompressionJob = new RevisionCompressionJob(revisionServiceMock, createRevisionProperties(false));
+
+		// Act
+		revisionCompressionJob.compressSnapshots();
+
+		// Assert
+		verifyNoInteractions(revisionServiceMock);
+	}
+
+	private static RevisionProperties createRevisionProperties(final boolean compressionEnabled) {
+		return new RevisionProperties(StorageMode.FULL, 10, new Compaction("-", 100), new Compression(compressionEnabled, "-", 50));
+	}
+}
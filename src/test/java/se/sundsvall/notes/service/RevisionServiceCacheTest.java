@@ -0,0 +1,52 @@
+package se.sundsvall.notes.service;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import se.sundsvall.notes.Application;
+import se.sundsvall.notes.integration.db.RevisionRepository;
+import se.sundsvall.notes.integration.db.model.RevisionEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that computed diffs are cached.
+ */
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("junit")
+class RevisionServiceCacheTest {
+
+	private static final String ENTITY_ID = "3a1b3c4d-5e6f-4a1b-8c9d-0e1f2a3b4c5d";
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@MockitoBean
+	private RevisionRepository revisionRepositoryMock;
+
+	@Autowired
+	private RevisionService revisionService;
+
+	@Test
+	void diffIsCached() {
+
+		// Arrange
+		when(revisionRepositoryMock.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(ENTITY_ID, MUNICIPALITY_ID, 0, 1)).thenReturn(List.of(
+			RevisionEntity.create().withVersion(0).withSerializedSnapshot("{\"body\":\"body\"}"),
+			RevisionEntity.create().withVersion(1).withSerializedSnapshot("{\"body\":\"changed body\"}")));
+
+		// Act
+		final var first = revisionService.diff(ENTITY_ID, MUNICIPALITY_ID, 0, 1);
+		final var second = revisionService.diff(ENTITY_ID, MUNICIPALITY_ID, 0, 1);
+
+		// Assert
+		assertThat(second).isSameAs(first);
+		assertThat(first.getOperations()).hasSize(1);
+
+		verify(revisionRepositoryMock, times(1)).findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(ENTITY_ID, MUNICIPALITY_ID, 0, 1);
+	}
+}
@@ -1,36 +1,62 @@
 package se.sundsvall.notes.service;
 
+import com.flipkart.zjsonpatch.Jackson3JsonDiff;
+import com.flipkart.zjsonpatch.Jackson3JsonPatch;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import se.sundsvall.dept44.problem.ThrowableProblem;
 import se.sundsvall.notes.api.model.Operation;
 import se.sundsvall.notes.api.model.Revision;
+import se.sundsvall.notes.api.model.RevisionDifference;
+import se.sundsvall.notes.configuration.RevisionProperties;
+import se.sundsvall.notes.configuration.RevisionProperties.Compaction;
+import se.sundsvall.notes.configuration.RevisionProperties.Compression;
+import se.sundsvall.notes.configuration.RevisionProperties.StorageMode;
 import se.sundsvall.notes.integration.db.RevisionRepository;
 import se.sundsvall.notes.integration.db.model.NoteEntity;
 import se.sundsvall.notes.integration.db.model.RevisionEntity;
+import se.sundsvall.notes.integration.db.model.RevisionHeader;
+import se.sundsvall.notes.integration.db.model.RevisionSnapshot;
+import se.sundsvall.notes.integration.db.model.SnapshotType;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.OffsetDateTime.now;
 import static java.util.Optional.empty;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.notes.integration.db.model.SnapshotType.DELTA;
+import static se.sundsvall.notes.integration.db.model.SnapshotType.FULL;
 
 @ExtendWith(MockitoExtension.class)
 class RevisionServiceTest {
@@ -41,6 +67,9 @@ class RevisionServiceTest {
 	@Spy
 	private ObjectMapper objectMapperSpy;
 
+	@Spy
+	private RevisionProperties revisionProperties = new RevisionProperties(StorageMode.FULL, 10, new Compaction("-", 100), new Compression(false, "-", 100));
+
 	@InjectMocks
 	private RevisionService revisionService;
 
@@ -58,25 +87,211 @@ class RevisionServiceTest {
 		final var currentRevisionEntity = RevisionEntity.create().withEntityId(noteEntity.getId()).withId(revisionEntityId).withVersion(lastRevisionVersion + 1);
 		final var expectedRevision = Revision.create().withId(revisionEntityId).withVersion(lastRevisionVersion + 1).withEntityId(noteEntity.getId());
 		final var municipalityId = "municipalityId";
+		final var lastRevisionMock = Mockito.mock(RevisionHeader.class);
 
+		when(lastRevisionMock.getId()).thenReturn("lastRevisionId");
+		when(lastRevisionMock.getVersion()).thenReturn(lastRevisionVersion);
+		when(lastRevisionMock.getContentHash()).thenReturn(RevisionService.toContentHash("{}"));
 		when(revisionRepositoryMock.save(any())).thenReturn(currentRevisionEntity);
-		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId))
-			.thenReturn(Optional.of(RevisionEntity.create().withVersion(lastRevisionVersion)));
+		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId)).thenReturn(Optional.of(lastRevisionMock));
 
 		// Act
-		final var createdRevision = revisionService.createRevision(noteEntity, municipalityId);
+		final var revisionInformation = revisionService.createRevision(noteEntity, municipalityId);
 
-		// Assert
-		assertThat(createdRevision).isNotNull().isEqualTo(expectedRevision);
+		// Assert (i.e. the last revision is returned as the previous revision, without reading it again)
+		assertThat(revisionInformation.getCurrentRevision()).isNotNull().isEqualTo(expectedRevision);
+		assertThat(revisionInformation.getPreviousRevision()).isEqualTo(Revision.create().withId("lastRevisionId").withVersion(lastRevisionVersion));
+		assertThat(revisionInformation.getCurrentVersion()).isEqualTo(lastRevisionVersion + 1);
 		verify(revisionRepositoryMock).findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId);
 		verify(revisionRepositoryMock).save(revisionEntityCaptor.capture());
 
 		final var capturedRevisionEntity = revisionEntityCaptor.getValue();
 		assertThat(capturedRevisionEntity).isNotNull();
 		assertThat(capturedRevisionEntity.getVersion()).isEqualTo(lastRevisionVersion + 1);
+		assertThat(capturedRevisionEntity.getSnapshotType()).isEqualTo(FULL);
+		assertThat(capturedRevisionEntity.getSerializedSnapshot()).isEqualTo(serializedSnapshot);
+		assertThat(capturedRevisionEntity.getContentHash()).isEqualTo(RevisionService.toContentHash(serializedSnapshot));
+	}
+
+	@Test
+	void createRevisionAsDelta() {
+
+		// Arrange
+		final var revisionService = new RevisionService(revisionRepositoryMock, objectMapperSpy, new RevisionProperties(StorageMode.DELTA, 3, new Compaction("-", 100), new Compression(false, "-", 100)));
+		final var noteEntity = createNoteEntity();
+		final var previousNoteEntity = SerializationUtils.clone(noteEntity).withBody("previous body");
+		final var serializedSnapshot = objectMapperSpy.writeValueAsString(noteEntity);
+		final var municipalityId = "municipalityId";
+		final var lastRevisionMock = Mockito.mock(RevisionHeader.class);
+
+		when(lastRevisionMock.getVersion()).thenReturn(4);
+		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId)).thenReturn(Optional.of(lastRevisionMock));
+		when(revisionRepositoryMock.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(noteEntity.getId(), municipalityId, 4, 4)).thenReturn(List.of(
+			RevisionEntity.create().withVersion(3).withSnapshotType(FULL).withSerializedSnapshot("{\"body\":\"first body\"}"),
+			RevisionEntity.create().withVersion(4).withSnapshotType(DELTA).withSerializedSnapshot(objectMapperSpy.writeValueAsString(
+				Jackson3JsonDiff.asJson(objectMapperSpy.readTree("{\"body\":\"first body\"}"), objectMapperSpy.valueToTree(previousNoteEntity))))));
+		when(revisionRepositoryMock.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// Act
+		final var revisionInformation = revisionService.createRevision(noteEntity, municipalityId);
+
+		// Assert
+		assertThat(revisionInformation.getCurrentRevision().getVersion()).isEqualTo(5);
+		verify(revisionRepositoryMock).save(revisionEntityCaptor.capture());
+
+		final var capturedRevisionEntity = revisionEntityCaptor.getValue();
+		assertThat(capturedRevisionEntity.getSnapshotType()).isEqualTo(DELTA);
+		assertThat(objectMapperSpy.readTree(capturedRevisionEntity.getSerializedSnapshot()))
+			.extracting(JsonNode::size)
+			.isEqualTo(1);
+		assertThat(Jackson3JsonPatch.apply(objectMapperSpy.readTree(capturedRevisionEntity.getSerializedSnapshot()), objectMapperSpy.valueToTree(previousNoteEntity)))
+			.isEqualTo(objectMapperSpy.readTree(serializedSnapshot));
+		assertThat(capturedRevisionEntity.getContentHash()).isEqualTo(RevisionService.toContentHash(serializedSnapshot));
+	}
+
+	@Test
+	void createRevisionAsKeyframe() {
+
+		// Arrange
+		final var revisionService = new RevisionService(revisionRepositoryMock, objectMapperSpy, new RevisionProperties(StorageMode.DELTA, 2, new Compaction("-", 100), new Compression(false, "-", 100)));
+		final var noteEntity = createNoteEntity();
+		final var serializedSnapshot = objectMapperSpy.writeValueAsString(noteEntity);
+		final var municipalityId = "municipalityId";
+		final var lastRevisionMock = Mockito.mock(RevisionHeader.class);
+
+		when(lastRevisionMock.getVersion()).thenReturn(1);
+		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId)).thenReturn(Optional.of(lastRevisionMock));
+		when(revisionRepositoryMock.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// Act
+		revisionService.createRevision(noteEntity, municipalityId);
+
+		// Assert that a multiple of the keyframe interval is a full snapshot without reading the previous version
+		verify(revisionRepositoryMock, never()).findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(any(), any(), anyInt(), anyInt());
+		verify(revisionRepositoryMock).save(revisionEntityCaptor.capture());
+
+		final var capturedRevisionEntity = revisionEntityCaptor.getValue();
+		assertThat(capturedRevisionEntity.getVersion()).isEqualTo(2);
+		assertThat(capturedRevisionEntity.getSnapshotType()).isEqualTo(FULL);
 		assertThat(capturedRevisionEntity.getSerializedSnapshot()).isEqualTo(serializedSnapshot);
 	}
 
+	@Test
+	void createRevisionCompressed() {
+
+		// Arrange
+		final var revisionService = new RevisionService(revisionRepositoryMock, objectMapperSpy, new RevisionProperties(StorageMode.FULL, 10, new Compaction("-", 100), new Compression(true, "-", 100)));
+		final var noteEntity = createNoteEntity();
+		final var serializedSnapshot = objectMapperSpy.writeValueAsString(noteEntity);
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId)).thenReturn(empty());
+		when(revisionRepositoryMock.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// Act
+		revisionService.createRevision(noteEntity, municipalityId);
+
+		// Assert
+		verify(revisionRepositoryMock).save(revisionEntityCaptor.capture());
+
+		final var capturedRevisionEntity = revisionEntityCaptor.getValue();
+		assertThat(capturedRevisionEntity.getSnapshotType()).isEqualTo(FULL);
+		assertThat(capturedRevisionEntity.getSerializedSnapshot()).isNull();
+		assertThat(new String(SnapshotCompression.decompress(capturedRevisionEntity.getCompressedSnapshot()), UTF_8)).isEqualTo(serializedSnapshot);
+		assertThat(capturedRevisionEntity.getContentHash()).isEqualTo(RevisionService.toContentHash(serializedSnapshot));
+	}
+
+	@Test
+	void createInitialRevision() {
+
+		// Arrange
+		final var noteEntity = createNoteEntity();
+		final var revisionEntityId = UUID.randomUUID().toString();
+		final var revisionEntity = RevisionEntity.create().withEntityId(noteEntity.getId()).withId(revisionEntityId).withVersion(0);
+		final var expectedRevision = Revision.create().withId(revisionEntityId).withEntityId(noteEntity.getId()).withVersion(0);
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.save(any())).thenReturn(revisionEntity);
+
+		// Act
+		final var createdRevision = revisionService.createInitialRevision(noteEntity, municipalityId);
+
+		// Assert
+		assertThat(createdRevision).isEqualTo(expectedRevision);
+		verify(revisionRepositoryMock).save(revisionEntityCaptor.capture());
+		verifyNoMoreInteractions(revisionRepositoryMock);
+		assertThat(revisionEntityCaptor.getValue())
+			.extracting(RevisionEntity::getVersion, RevisionEntity::getSnapshotType, RevisionEntity::getSerializedSnapshot, RevisionEntity::getContentHash, RevisionEntity::getMunicipalityId)
+			.containsExactly(0, FULL, toJsonString(noteEntity), RevisionService.toContentHash(toJsonString(noteEntity)), municipalityId);
+	}
+
+	@Test
+	void createInitialRevisions() {
+
+		// Arrange
+		final var noteEntity1 = createNoteEntity().withId("id1");
+		final var noteEntity2 = createNoteEntity().withId("id2");
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.save(any())).thenAnswer(invocation -> invocation.getArgument(0, RevisionEntity.class).withId("revision-" + invocation.getArgument(0, RevisionEntity.class).getEntityId()));
+
+		// Act
+		final var revisions = revisionService.createInitialRevisions(List.of(noteEntity1, noteEntity2), municipalityId);
+
+		// Assert
+		assertThat(revisions)
+			.extracting(Revision::getId, Revision::getEntityId, Revision::getVersion)
+			.containsExactly(
+				tuple("revision-id1", "id1", 0),
+				tuple("revision-id2", "id2", 0));
+		verify(revisionRepositoryMock, times(2)).save(revisionEntityCaptor.capture());
+		verifyNoMoreInteractions(revisionRepositoryMock);
+		assertThat(revisionEntityCaptor.getAllValues())
+			.extracting(RevisionEntity::getSnapshotType, RevisionEntity::getSerializedSnapshot, RevisionEntity::getContentHash, RevisionEntity::getMunicipalityId)
+			.containsExactly(
+				tuple(FULL, toJsonString(noteEntity1), RevisionService.toContentHash(toJsonString(noteEntity1)), municipalityId),
+				tuple(FULL, toJsonString(noteEntity2), RevisionService.toContentHash(toJsonString(noteEntity2)), municipalityId));
+	}
+
+	@Test
+	void createRevisions() {
+
+		// Arrange
+		final var newNoteEntity = createNoteEntity().withId("id1");
+		final var changedNoteEntity = createNoteEntity().withId("id2");
+		final var unchangedNoteEntity = createNoteEntity().withId("id3");
+		final var municipalityId = "municipalityId";
+		final var changedLastRevisionMock = Mockito.mock(RevisionHeader.class);
+		final var unchangedLastRevisionMock = Mockito.mock(RevisionHeader.class);
+
+		when(changedLastRevisionMock.getEntityId()).thenReturn("id2");
+		when(changedLastRevisionMock.getId()).thenReturn("revision-id2-4");
+		when(changedLastRevisionMock.getVersion()).thenReturn(4);
+		when(changedLastRevisionMock.getContentHash()).thenReturn("otherHash");
+		when(unchangedLastRevisionMock.getEntityId()).thenReturn("id3");
+		when(unchangedLastRevisionMock.getContentHash()).thenReturn(RevisionService.toContentHash(toJsonString(unchangedNoteEntity)));
+		when(revisionRepositoryMock.findLastByEntityIdInAndMunicipalityId(List.of("id1", "id2", "id3"), municipalityId)).thenReturn(List.of(changedLastRevisionMock, unchangedLastRevisionMock));
+		when(revisionRepositoryMock.save(any())).thenAnswer(invocation -> invocation.getArgument(0, RevisionEntity.class).withId("revision-" + invocation.getArgument(0, RevisionEntity.class).getEntityId()));
+
+		// Act
+		final var revisionInformations = revisionService.createRevisions(List.of(newNoteEntity, changedNoteEntity, unchangedNoteEntity), municipalityId);
+
+		// Assert
+		assertThat(revisionInformations).hasSize(3);
+		assertThat(revisionInformations.get(0).getCurrentRevision()).extracting(Revision::getId, Revision::getVersion).containsExactly("revision-id1", 0);
+		assertThat(revisionInformations.get(0).getPreviousRevision()).isNull();
+		assertThat(revisionInformations.get(1).getCurrentRevision()).extracting(Revision::getId, Revision::getVersion).containsExactly("revision-id2", 5);
+		assertThat(revisionInformations.get(1).getPreviousRevision()).extracting(Revision::getId, Revision::getVersion).containsExactly("revision-id2-4", 4);
+		assertThat(revisionInformations.get(2).getCurrentRevision()).isNull();
+		assertThat(revisionInformations.get(2).getPreviousRevision()).isNull();
+		verify(revisionRepositoryMock).findLastByEntityIdInAndMunicipalityId(List.of("id1", "id2", "id3"), municipalityId);
+		verify(revisionRepositoryMock, times(2)).save(revisionEntityCaptor.capture());
+		verifyNoMoreInteractions(revisionRepositoryMock);
+		assertThat(revisionEntityCaptor.getAllValues())
+			.extracting(RevisionEntity::getEntityId, RevisionEntity::getVersion, RevisionEntity::getSnapshotType)
+			.containsExactly(tuple("id1", 0, FULL), tuple("id2", 5, FULL));
+	}
+
 	@Test
 	void createRevisionNoPreviousRevisionExist() {
 
@@ -91,16 +306,19 @@ class RevisionServiceTest {
 		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId)).thenReturn(empty());
 
 		// Act
-		final var createdRevision = revisionService.createRevision(noteEntity, municipalityId);
+		final var revisionInformation = revisionService.createRevision(noteEntity, municipalityId);
 
 		// Assert
-		assertThat(createdRevision).isNotNull().isEqualTo(expectedRevision);
+		assertThat(revisionInformation.getCurrentRevision()).isNotNull().isEqualTo(expectedRevision);
+		assertThat(revisionInformation.getPreviousRevision()).isNull();
+		assertThat(revisionInformation.getCurrentVersion()).isZero();
 		verify(revisionRepositoryMock).findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId);
 		verify(revisionRepositoryMock).save(revisionEntityCaptor.capture());
 
 		final var capturedRevisionEntity = revisionEntityCaptor.getValue();
 		assertThat(capturedRevisionEntity).isNotNull();
 		assertThat(capturedRevisionEntity.getVersion()).isZero();
+		assertThat(capturedRevisionEntity.getContentHash()).isNotBlank();
 	}
 
 	@Test
@@ -110,42 +328,46 @@ class RevisionServiceTest {
 		final var noteEntity = createNoteEntity();
 		final var serializedSnapshot = objectMapperSpy.writeValueAsString(noteEntity);
 		final var municipalityId = "municipalityId";
+		final var lastRevisionMock = Mockito.mock(RevisionHeader.class);
 
-		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId))
-			.thenReturn(Optional.of(RevisionEntity.create().withSerializedSnapshot(serializedSnapshot)));
+		when(lastRevisionMock.getVersion()).thenReturn(3);
+		when(lastRevisionMock.getContentHash()).thenReturn(RevisionService.toContentHash(serializedSnapshot));
+		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId)).thenReturn(Optional.of(lastRevisionMock));
 
 		// Act
-		final var createdRevision = revisionService.createRevision(noteEntity, municipalityId);
+		final var revisionInformation = revisionService.createRevision(noteEntity, municipalityId);
 
-		// Assert
-		assertThat(createdRevision).isNull();
+		// Assert (i.e. the current version is the version of the last revision)
+		assertThat(revisionInformation.getCurrentRevision()).isNull();
+		assertThat(revisionInformation.getPreviousRevision()).isNull();
+		assertThat(revisionInformation.getCurrentVersion()).isEqualTo(3);
 		verify(revisionRepositoryMock).findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId);
 		verify(revisionRepositoryMock, never()).save(any());
-
 	}
 
 	@Test
-	void createRevisionSnapshotIsInvalidJson() {
+	void createRevisionLastRevisionHasNoContentHash() {
 
 		// Arrange
 		final var noteEntity = createNoteEntity();
 		final var revisionEntityId = UUID.randomUUID().toString();
 		final var lastRevisionVersion = 3;
-		final var invalidJson = "hello";
 		final var serializedSnapshot = objectMapperSpy.writeValueAsString(noteEntity);
 		final var currentRevisionEntity = RevisionEntity.create().withEntityId(noteEntity.getId()).withId(revisionEntityId).withVersion(lastRevisionVersion + 1);
 		final var expectedRevision = Revision.create().withId(revisionEntityId).withVersion(lastRevisionVersion + 1).withEntityId(noteEntity.getId());
 		final var municipalityId = "municipalityId";
+		final var lastRevisionMock = Mockito.mock(RevisionHeader.class);
 
+		when(lastRevisionMock.getVersion()).thenReturn(lastRevisionVersion);
 		when(revisionRepositoryMock.save(any())).thenReturn(currentRevisionEntity);
-		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId))
-			.thenReturn(Optional.of(RevisionEntity.create().withVersion(lastRevisionVersion).withSerializedSnapshot(invalidJson)));
+		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId)).thenReturn(Optional.of(lastRevisionMock));
 
 		// Act
-		final var createdRevision = revisionService.createRevision(noteEntity, municipalityId);
+		final var revisionInformation = revisionService.createRevision(noteEntity, municipalityId);
 
 		// Assert
-		assertThat(createdRevision).isNotNull().isEqualTo(expectedRevision);
+		assertThat(revisionInformation.getCurrentRevision()).isNotNull().isEqualTo(expectedRevision);
+		assertThat(revisionInformation.getPreviousRevision()).isEqualTo(Revision.create().withVersion(lastRevisionVersion));
 		verify(revisionRepositoryMock).findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(noteEntity.getId(), municipalityId);
 		verify(revisionRepositoryMock).save(revisionEntityCaptor.capture());
 
@@ -155,6 +377,170 @@ class RevisionServiceTest {
 		assertThat(capturedRevisionEntity.getSerializedSnapshot()).isEqualTo(serializedSnapshot);
 	}
 
+	@Test
+	void createRevisionFromProvidedLastRevision() {
+
+		// Arrange
+		final var noteEntity = createNoteEntity();
+		final var municipalityId = "municipalityId";
+		final var lastRevisionMock = Mockito.mock(RevisionHeader.class);
+
+		when(lastRevisionMock.getVersion()).thenReturn(1);
+		when(revisionRepositoryMock.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// Act
+		final var revisionInformation = revisionService.createRevision(noteEntity, lastRevisionMock, municipalityId);
+
+		// Assert (i.e. the last revision isn't read again)
+		assertThat(revisionInformation.getCurrentRevision().getVersion()).isEqualTo(2);
+		assertThat(revisionInformation.getPreviousRevision().getVersion()).isOne();
+		assertThat(revisionInformation.getCurrentVersion()).isEqualTo(2);
+		verify(revisionRepositoryMock).save(any());
+		verifyNoMoreInteractions(revisionRepositoryMock);
+	}
+
+	@Test
+	void getLastRevision() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+		final var lastRevisionMock = Mockito.mock(RevisionHeader.class);
+
+		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(entityId, municipalityId)).thenReturn(Optional.of(lastRevisionMock));
+
+		// Act
+		final var result = revisionService.getLastRevision(entityId, municipalityId);
+
+		// Assert
+		assertThat(result).isSameAs(lastRevisionMock);
+		verify(revisionRepositoryMock).findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(entityId, municipalityId);
+	}
+
+	@Test
+	void getLastRevisionNotFound() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(entityId, municipalityId)).thenReturn(empty());
+
+		// Act
+		final var result = revisionService.getLastRevision(entityId, municipalityId);
+
+		// Assert
+		assertThat(result).isNull();
+	}
+
+	@Test
+	void toContentHash() {
+		// Known SHA-256 digests
+		assertThat(RevisionService.toContentHash("")).isEqualTo("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+		assertThat(RevisionService.toContentHash("{}")).isEqualTo("44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a");
+		assertThat(RevisionService.toContentHash(null)).isNull();
+	}
+
+	@Test
+	void toOperations() {
+
+		// Arrange
+		final var patch = """
+			[
+				{"op": "replace", "path": "/body", "value": "changed body", "fromValue": "body"},
+				{"op": "add", "path": "/caseId", "value": "12345"},
+				{"op": "remove", "path": "/subject"}
+			]""";
+
+		// Act
+		final var result = revisionService.toOperations(objectMapperSpy.readTree(patch));
+
+		// Assert
+		assertThat(result)
+			.isEqualTo(List.of(objectMapperSpy.readValue(patch, Operation[].class)))
+			.extracting(
+				Operation::getOp,
+				Operation::getPath,
+				Operation::getValue,
+				Operation::getFromValue)
+			.containsExactly(
+				tuple("replace", "/body", "changed body", "body"),
+				tuple("add", "/caseId", "12345", null),
+				tuple("remove", "/subject", null, null));
+	}
+
+	@Test
+	void getLatestRevision() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+		final var revisionHeaderMock = Mockito.mock(RevisionHeader.class);
+
+		when(revisionHeaderMock.getId()).thenReturn("revisionId");
+		when(revisionHeaderMock.getEntityId()).thenReturn(entityId);
+		when(revisionHeaderMock.getVersion()).thenReturn(3);
+		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(entityId, municipalityId)).thenReturn(Optional.of(revisionHeaderMock));
+
+		// Act
+		final var revision = revisionService.getLatestRevision(entityId, municipalityId);
+
+		// Assert
+		assertThat(revision).isEqualTo(Revision.create().withId("revisionId").withEntityId(entityId).withVersion(3));
+		verify(revisionRepositoryMock).findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(entityId, municipalityId);
+		verifyNoMoreInteractions(revisionRepositoryMock);
+	}
+
+	@Test
+	void getCurrentVersion() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.findLastVersionOfExistingNote(entityId, municipalityId)).thenReturn(Optional.of(3));
+
+		// Act
+		final var currentVersion = revisionService.getCurrentVersion(entityId, municipalityId);
+
+		// Assert
+		assertThat(currentVersion).isEqualTo(3);
+		verify(revisionRepositoryMock).findLastVersionOfExistingNote(entityId, municipalityId);
+		verifyNoMoreInteractions(revisionRepositoryMock);
+	}
+
+	@Test
+	void getCurrentVersionNotFound() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.findLastVersionOfExistingNote(entityId, municipalityId)).thenReturn(empty());
+
+		// Act
+		final var currentVersion = revisionService.getCurrentVersion(entityId, municipalityId);
+
+		// Assert
+		assertThat(currentVersion).isNull();
+	}
+
+	@Test
+	void getLatestRevisionNotFound() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.findFirstByEntityIdAndMunicipalityIdOrderByVersionDesc(entityId, municipalityId)).thenReturn(empty());
+
+		// Act
+		final var revision = revisionService.getLatestRevision(entityId, municipalityId);
+
+		// Assert
+		assertThat(revision).isNull();
+	}
+
 	@Test
 	void getRevisions() {
 
@@ -162,13 +548,16 @@ class RevisionServiceTest {
 		final var entityId = UUID.randomUUID().toString();
 		final var municipalityId = "municipalityId";
 
-		when(revisionRepositoryMock.findAllByEntityIdAndMunicipalityIdOrderByVersionDesc(anyString(), anyString())).thenReturn(List.of(RevisionEntity.create().withEntityId(entityId)));
+		final var revisionHeaderMock = Mockito.mock(RevisionHeader.class);
+
+		when(revisionHeaderMock.getEntityId()).thenReturn(entityId);
+		when(revisionRepositoryMock.findAllByEntityIdAndMunicipalityIdOrderByVersionDesc(anyString(), anyString())).thenReturn(List.of(revisionHeaderMock));
 
 		// Act
 		final var result = revisionService.getRevisions(entityId, municipalityId);
 
 		// Assert
-		assertThat(result).isNotNull();
+		assertThat(result).isNotNull().extracting(Revision::getEntityId).containsExactly(entityId);
 		verify(revisionRepositoryMock).findAllByEntityIdAndMunicipalityIdOrderByVersionDesc(entityId, municipalityId);
 	}
 
@@ -183,15 +572,15 @@ class RevisionServiceTest {
 		final var noteEntity2 = SerializationUtils.clone(noteEntity1).withBody("changed body").withModifiedBy("user22");
 		final var municipalityId = "municipalityId";
 
-		when(revisionRepositoryMock.findByEntityIdAndMunicipalityIdAndVersion(entityId, municipalityId, source)).thenReturn(Optional.of(RevisionEntity.create()
-			.withEntityId(entityId)
-			.withVersion(source)
-			.withSerializedSnapshot(toJsonString(noteEntity1))));
-
-		when(revisionRepositoryMock.findByEntityIdAndMunicipalityIdAndVersion(entityId, municipalityId, target)).thenReturn(Optional.of(RevisionEntity.create()
-			.withEntityId(entityId)
-			.withVersion(target)
-			.withSerializedSnapshot(toJsonString(noteEntity2))));
+		when(revisionRepositoryMock.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(entityId, municipalityId, source, target)).thenReturn(List.of(
+			RevisionEntity.create()
+				.withEntityId(entityId)
+				.withVersion(source)
+				.withSerializedSnapshot(toJsonString(noteEntity1)),
+			RevisionEntity.create()
+				.withEntityId(entityId)
+				.withVersion(target)
+				.withSerializedSnapshot(toJsonString(noteEntity2))));
 
 		// Act
 		final var result = revisionService.diff(entityId, municipalityId, source, target);
@@ -209,8 +598,8 @@ class RevisionServiceTest {
 				tuple("replace", "/modifiedBy", "user22", null),
 				tuple("replace", "/body", "changed body", "body"));
 
-		verify(revisionRepositoryMock).findByEntityIdAndMunicipalityIdAndVersion(entityId, municipalityId, source);
-		verify(revisionRepositoryMock).findByEntityIdAndMunicipalityIdAndVersion(entityId, municipalityId, target);
+		verify(revisionRepositoryMock).findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(entityId, municipalityId, source, target);
+		verifyNoMoreInteractions(revisionRepositoryMock);
 	}
 
 	@Test
@@ -222,17 +611,17 @@ class RevisionServiceTest {
 		final var target = 2;
 		final var municipalityId = "municipalityId";
 
-		when(revisionRepositoryMock.findByEntityIdAndMunicipalityIdAndVersion(entityId, municipalityId, source)).thenReturn(Optional.of(RevisionEntity.create()
-			.withEntityId(entityId)
-			.withMunicipalityId(municipalityId)
-			.withVersion(source)
-			.withSerializedSnapshot("{}")));
-
-		when(revisionRepositoryMock.findByEntityIdAndMunicipalityIdAndVersion(entityId, municipalityId, target)).thenReturn(Optional.of(RevisionEntity.create()
-			.withEntityId(entityId)
-			.withMunicipalityId(municipalityId)
-			.withVersion(target)
-			.withSerializedSnapshot("{"))); // Faulty json
+		when(revisionRepositoryMock.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(entityId, municipalityId, source, target)).thenReturn(List.of(
+			RevisionEntity.create()
+				.withEntityId(entityId)
+				.withMunicipalityId(municipalityId)
+				.withVersion(source)
+				.withSerializedSnapshot("{}"),
+			RevisionEntity.create()
+				.withEntityId(entityId)
+				.withMunicipalityId(municipalityId)
+				.withVersion(target)
+				.withSerializedSnapshot("{"))); // Faulty json
 
 		// Act
 		final var problem = assertThrows(ThrowableProblem.class, () -> revisionService.diff(entityId, municipalityId, source, target));
@@ -242,8 +631,433 @@ class RevisionServiceTest {
 		assertThat(problem.getMessage()).isEqualTo(String.format("Internal Server Error: An error occurred during diff of entityId '%s' looking at version '%s' and version '%s'!", entityId, source, target));
 		assertThat(problem.getStatus()).isEqualTo(INTERNAL_SERVER_ERROR);
 
-		verify(revisionRepositoryMock).findByEntityIdAndMunicipalityIdAndVersion(entityId, municipalityId, source);
-		verify(revisionRepositoryMock).findByEntityIdAndMunicipalityIdAndVersion(entityId, municipalityId, target);
+		verify(revisionRepositoryMock).findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(entityId, municipalityId, source, target);
+		verifyNoMoreInteractions(revisionRepositoryMock);
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"1, 2, 2", "1, 2, 1", "3, 3, 3"
+	})
+	void diffWhenRevisionNotFound(final int source, final int target, final int missingVersion) {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+		final var existingRevisions = Stream.of(source, target)
+			.filter(version -> version != missingVersion)
+			.distinct()
+			.map(version -> RevisionEntity.create().withEntityId(entityId).withVersion(version).withSerializedSnapshot("{}"))
+			.toList();
+
+		when(revisionRepositoryMock.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(entityId, municipalityId, source, target)).thenReturn(existingRevisions);
+
+		// Act
+		final var problem = assertThrows(ThrowableProblem.class, () -> revisionService.diff(entityId, municipalityId, source, target));
+
+		// Assert
+		assertThat(problem.getStatus()).isEqualTo(NOT_FOUND);
+		assertThat(problem.getDetail()).isEqualTo("No revision with entityId '%s' and version '%s' was found!".formatted(entityId, missingVersion));
+
+		verify(revisionRepositoryMock).findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(entityId, municipalityId, source, target);
+		verifyNoMoreInteractions(revisionRepositoryMock);
+	}
+
+	@Test
+	void diffWithDeltaRevisions() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(entityId, municipalityId, 2, 4)).thenReturn(List.of(
+			RevisionEntity.create().withVersion(0).withSnapshotType(FULL).withSerializedSnapshot("{\"body\":\"a\"}"),
+			RevisionEntity.create().withVersion(1).withSnapshotType(DELTA).withSerializedSnapshot("[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"b\"}]"),
+			RevisionEntity.create().withVersion(2).withSnapshotType(DELTA).withSerializedSnapshot("[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"c\"}]"),
+			RevisionEntity.create().withVersion(3).withSnapshotType(FULL).withSerializedSnapshot("{\"body\":\"d\"}"),
+			RevisionEntity.create().withVersion(4).withSnapshotType(DELTA).withSerializedSnapshot("[{\"op\":\"add\",\"path\":\"/subject\",\"value\":\"e\"}]")));
+
+		// Act
+		final var result = revisionService.diff(entityId, municipalityId, 2, 4);
+
+		// Assert
+		assertThat(result.getOperations())
+			.extracting(Operation::getOp, Operation::getPath, Operation::getValue, Operation::getFromValue)
+			.containsExactlyInAnyOrder(
+				tuple("replace", "/body", "d", "c"),
+				tuple("add", "/subject", "e", null));
+	}
+
+	@Test
+	void diffWithCompressedRevisions() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(entityId, municipalityId, 0, 2)).thenReturn(List.of(
+			RevisionEntity.create().withVersion(0).withSnapshotType(FULL).withSerializedSnapshot("{\"body\":\"a\"}"),
+			RevisionEntity.create().withVersion(1).withSnapshotType(DELTA).withCompressedSnapshot(SnapshotCompression.compress("[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"b\"}]")),
+			RevisionEntity.create().withVersion(2).withSnapshotType(FULL).withCompressedSnapshot(SnapshotCompression.compress("{\"body\":\"c\"}"))));
+
+		// Act
+		final var result = revisionService.diff(entityId, municipalityId, 0, 2);
+
+		// Assert
+		assertThat(result.getOperations())
+			.extracting(Operation::getOp, Operation::getPath, Operation::getValue, Operation::getFromValue)
+			.containsExactly(tuple("replace", "/body", "c", "a"));
+	}
+
+	@Test
+	void diffWhenCompressedRevisionIsCorrupt() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(entityId, municipalityId, 0, 1)).thenReturn(List.of(
+			RevisionEntity.create().withVersion(0).withSnapshotType(FULL).withSerializedSnapshot("{}"),
+			RevisionEntity.create().withVersion(1).withSnapshotType(FULL).withCompressedSnapshot(new byte[] {
+				9, 9, 9
+			})));
+
+		// Act
+		final var problem = assertThrows(ThrowableProblem.class, () -> revisionService.diff(entityId, municipalityId, 0, 1));
+
+		// Assert
+		assertThat(problem.getStatus()).isEqualTo(INTERNAL_SERVER_ERROR);
+		assertThat(problem.getDetail()).isEqualTo("An error occurred during diff of entityId '%s' looking at version '0' and version '1'!".formatted(entityId));
+	}
+
+	@Test
+	void diffWhenDeltaRevisionHasNoKeyframe() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.findAllWithKeyframesByEntityIdAndMunicipalityIdAndVersions(entityId, municipalityId, 1, 2)).thenReturn(List.of(
+			RevisionEntity.create().withVersion(1).withSnapshotType(DELTA).withSerializedSnapshot("[]"),
+			RevisionEntity.create().withVersion(2).withSnapshotType(DELTA).withSerializedSnapshot("[]")));
+
+		// Act
+		final var problem = assertThrows(ThrowableProblem.class, () -> revisionService.diff(entityId, municipalityId, 1, 2));
+
+		// Assert
+		assertThat(problem.getStatus()).isEqualTo(INTERNAL_SERVER_ERROR);
+		assertThat(problem.getDetail()).isEqualTo("An error occurred during diff of entityId '%s' looking at version '1' and version '2'!".formatted(entityId));
+	}
+
+	@Test
+	void diffVersionRange() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+		final var snapshots = Stream.of(
+			createRevisionSnapshot(1, "{\"body\":\"a\"}"),
+			createRevisionSnapshot(2, "{\"body\":\"b\"}"),
+			createRevisionSnapshot(3, "{\"body\":\"b\",\"subject\":\"s\"}"));
+		final var differences = new ArrayList<RevisionDifference>();
+
+		when(revisionRepositoryMock.streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween(entityId, municipalityId, 1, 3)).thenReturn(snapshots);
+
+		// Act
+		revisionService.diffVersionRange(entityId, municipalityId, 1, 3, differences::add);
+
+		// Assert
+		assertThat(differences).extracting(RevisionDifference::getSource, RevisionDifference::getTarget).containsExactly(tuple(1, 2), tuple(2, 3));
+		assertThat(differences.getFirst().getOperations())
+			.extracting(Operation::getOp, Operation::getPath, Operation::getValue, Operation::getFromValue)
+			.containsExactly(tuple("replace", "/body", "b", "a"));
+		assertThat(differences.getLast().getOperations())
+			.extracting(Operation::getOp, Operation::getPath, Operation::getValue)
+			.containsExactly(tuple("add", "/subject", "s"));
+
+		verify(revisionRepositoryMock).streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween(entityId, municipalityId, 1, 3);
+		verifyNoMoreInteractions(revisionRepositoryMock);
+	}
+
+	@Test
+	void diffVersionRangeWithSingleRevision() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+		final var snapshots = Stream.of(createRevisionSnapshot(2, "{}"));
+		final var differences = new ArrayList<RevisionDifference>();
+
+		when(revisionRepositoryMock.streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween(entityId, municipalityId, 2, 2)).thenReturn(snapshots);
+
+		// Act
+		revisionService.diffVersionRange(entityId, municipalityId, 2, 2, differences::add);
+
+		// Assert
+		assertThat(differences).isEmpty();
+	}
+
+	@Test
+	void diffVersionRangeWhenErrorOccur() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+		final var snapshots = Stream.of(createRevisionSnapshot(1, "{}"), createRevisionSnapshot(2, "invalid-json"));
+		final var differences = new ArrayList<RevisionDifference>();
+
+		when(revisionRepositoryMock.streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween(entityId, municipalityId, 1, 2)).thenReturn(snapshots);
+
+		// Act
+		final var problem = assertThrows(ThrowableProblem.class, () -> revisionService.diffVersionRange(entityId, municipalityId, 1, 2, differences::add));
+
+		// Assert
+		assertThat(problem.getStatus()).isEqualTo(INTERNAL_SERVER_ERROR);
+		assertThat(problem.getDetail()).isEqualTo("An error occurred during diff of entityId '%s' looking at version '1' and version '2'!".formatted(entityId));
+		assertThat(differences).isEmpty();
+	}
+
+	@Test
+	void diffVersionRangeStartingWithDeltaRevision() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+		final var snapshots = Stream.of(
+			createRevisionSnapshot(0, FULL, "{\"body\":\"a\"}"),
+			createRevisionSnapshot(1, DELTA, "[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"b\"}]"),
+			createRevisionSnapshot(2, DELTA, "[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"c\"}]"));
+		final var differences = new ArrayList<RevisionDifference>();
+
+		when(revisionRepositoryMock.streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween(entityId, municipalityId, 1, 2)).thenReturn(snapshots);
+
+		// Act
+		revisionService.diffVersionRange(entityId, municipalityId, 1, 2, differences::add);
+
+		// Assert
+		assertThat(differences).extracting(RevisionDifference::getSource, RevisionDifference::getTarget).containsExactly(tuple(1, 2));
+		assertThat(differences.getFirst().getOperations())
+			.extracting(Operation::getOp, Operation::getPath, Operation::getValue, Operation::getFromValue)
+			.containsExactly(tuple("replace", "/body", "c", "b"));
+	}
+
+	@Test
+	void diffVersionRangeWithCompressedSnapshots() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+		final var compressedSnapshot = Mockito.mock(RevisionSnapshot.class);
+		final var snapshots = Stream.of(
+			createRevisionSnapshot(1, "{\"body\":\"a\"}"),
+			compressedSnapshot);
+		final var differences = new ArrayList<RevisionDifference>();
+
+		when(compressedSnapshot.getVersion()).thenReturn(2);
+		when(compressedSnapshot.getSnapshotType()).thenReturn(DELTA);
+		when(compressedSnapshot.getCompressedSnapshot()).thenReturn(SnapshotCompression.compress("[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"b\"}]"));
+		when(revisionRepositoryMock.streamWithKeyframeByEntityIdAndMunicipalityIdAndVersionBetween(entityId, municipalityId, 1, 2)).thenReturn(snapshots);
+
+		// Act
+		revisionService.diffVersionRange(entityId, municipalityId, 1, 2, differences::add);
+
+		// Assert
+		assertThat(differences).extracting(RevisionDifference::getSource, RevisionDifference::getTarget).containsExactly(tuple(1, 2));
+		assertThat(differences.getFirst().getOperations())
+			.extracting(Operation::getOp, Operation::getPath, Operation::getValue, Operation::getFromValue)
+			.containsExactly(tuple("replace", "/body", "b", "a"));
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"0, false, 3, true", "3, true, 3, true", "4, true, 3, false", "5, true, 3, false", "5, false, 3, true", "5, true, 1, true"
+	})
+	void isKeyframe(final int version, final boolean previousVersionExists, final int keyframeInterval, final boolean expected) {
+		assertThat(RevisionService.isKeyframe(version, previousVersionExists, keyframeInterval)).isEqualTo(expected);
+	}
+
+	@Test
+	void compactRevisionsToDelta() {
+
+		// Arrange
+		final var revisionService = new RevisionService(revisionRepositoryMock, objectMapperSpy, new RevisionProperties(StorageMode.DELTA, 2, new Compaction("-", 100), new Compression(false, "-", 100)));
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+		final var revisions = List.of(
+			RevisionEntity.create().withVersion(0).withSnapshotType(FULL).withSerializedSnapshot("{\"body\":\"a\"}"),
+			RevisionEntity.create().withVersion(1).withSnapshotType(FULL).withSerializedSnapshot("{\"body\":\"b\"}"),
+			RevisionEntity.create().withVersion(2).withSnapshotType(DELTA).withSerializedSnapshot("[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"c\"}]"),
+			RevisionEntity.create().withVersion(3).withSnapshotType(FULL).withSerializedSnapshot("{\"body\":\"d\"}"));
+
+		when(revisionRepositoryMock.findWithLockByEntityIdAndMunicipalityIdOrderByVersionAsc(entityId, municipalityId)).thenReturn(revisions);
+
+		// Act
+		final var result = revisionService.compactRevisions(entityId, municipalityId);
+
+		// Assert
+		assertThat(result).isEqualTo(3);
+		assertThat(revisions)
+			.extracting(RevisionEntity::getVersion, RevisionEntity::getSnapshotType, RevisionEntity::getSerializedSnapshot)
+			.containsExactly(
+				tuple(0, FULL, "{\"body\":\"a\"}"),
+				tuple(1, DELTA, "[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"b\"}]"),
+				tuple(2, FULL, "{\"body\":\"c\"}"),
+				tuple(3, DELTA, "[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"d\"}]"));
+		verify(revisionRepositoryMock).findWithLockByEntityIdAndMunicipalityIdOrderByVersionAsc(entityId, municipalityId);
+		verifyNoMoreInteractions(revisionRepositoryMock);
+	}
+
+	@Test
+	void compactRevisionsToFull() {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+		final var revisions = List.of(
+			RevisionEntity.create().withVersion(0).withSnapshotType(FULL).withSerializedSnapshot("{\"body\":\"a\"}"),
+			RevisionEntity.create().withVersion(1).withSnapshotType(DELTA).withSerializedSnapshot("[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"b\"}]"));
+
+		when(revisionRepositoryMock.findWithLockByEntityIdAndMunicipalityIdOrderByVersionAsc(entityId, municipalityId)).thenReturn(revisions);
+
+		// Act
+		final var result = revisionService.compactRevisions(entityId, municipalityId);
+
+		// Assert
+		assertThat(result).isOne();
+		assertThat(revisions)
+			.extracting(RevisionEntity::getVersion, RevisionEntity::getSnapshotType, RevisionEntity::getSerializedSnapshot)
+			.containsExactly(
+				tuple(0, FULL, "{\"body\":\"a\"}"),
+				tuple(1, FULL, "{\"body\":\"b\"}"));
+	}
+
+	@Test
+	void compactRevisionsCompressed() {
+
+		// Arrange
+		final var revisionService = new RevisionService(revisionRepositoryMock, objectMapperSpy, new RevisionProperties(StorageMode.DELTA, 2, new Compaction("-", 100), new Compression(true, "-", 100)));
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+		final var revisions = List.of(
+			RevisionEntity.create().withVersion(0).withSnapshotType(FULL).withCompressedSnapshot(SnapshotCompression.compress("{\"body\":\"a\"}")),
+			RevisionEntity.create().withVersion(1).withSnapshotType(FULL).withSerializedSnapshot("{\"body\":\"b\"}"));
+
+		when(revisionRepositoryMock.findWithLockByEntityIdAndMunicipalityIdOrderByVersionAsc(entityId, municipalityId)).thenReturn(revisions);
+
+		// Act
+		final var result = revisionService.compactRevisions(entityId, municipalityId);
+
+		// Assert
+		assertThat(result).isOne();
+		assertThat(revisions.getLast().getSnapshotType()).isEqualTo(DELTA);
+		assertThat(revisions.getLast().getSerializedSnapshot()).isNull();
+		assertThat(new String(SnapshotCompression.decompress(revisions.getLast().getCompressedSnapshot()), UTF_8)).isEqualTo("[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"b\"}]");
+	}
+
+	@Test
+	void compressSnapshots() {
+
+		// Arrange
+		final var revisions = List.of(
+			RevisionEntity.create().withVersion(0).withSnapshotType(FULL).withSerializedSnapshot("{\"body\":\"a\"}"),
+			RevisionEntity.create().withVersion(1).withSnapshotType(DELTA).withSerializedSnapshot("[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"b\"}]"));
+
+		when(revisionRepositoryMock.findIdsBySerializedSnapshotNotNull(Limit.of(50))).thenReturn(List.of("id1", "id2"));
+		when(revisionRepositoryMock.findWithLockByIdInAndSerializedSnapshotNotNull(List.of("id1", "id2"))).thenReturn(revisions);
+
+		// Act
+		final var result = revisionService.compressSnapshots(50);
+
+		// Assert
+		assertThat(result).isEqualTo(2);
+		assertThat(revisions).extracting(RevisionEntity::getSerializedSnapshot).containsOnlyNulls();
+		assertThat(revisions)
+			.extracting(revision -> new String(SnapshotCompression.decompress(revision.getCompressedSnapshot()), UTF_8))
+			.containsExactly("{\"body\":\"a\"}", "[{\"op\":\"replace\",\"path\":\"/body\",\"value\":\"b\"}]");
+		verify(revisionRepositoryMock).findIdsBySerializedSnapshotNotNull(Limit.of(50));
+		verify(revisionRepositoryMock).findWithLockByIdInAndSerializedSnapshotNotNull(List.of("id1", "id2"));
+		verifyNoMoreInteractions(revisionRepositoryMock);
+	}
+
+	@Test
+	void compressSnapshotsNothingToCompress() {
+
+		// Arrange
+		when(revisionRepositoryMock.findIdsBySerializedSnapshotNotNull(Limit.of(50))).thenReturn(List.of());
+
+		// Act
+		final var result = revisionService.compressSnapshots(50);
+
+		// Assert
+		assertThat(result).isZero();
+		verify(revisionRepositoryMock).findIdsBySerializedSnapshotNotNull(Limit.of(50));
+		verifyNoMoreInteractions(revisionRepositoryMock);
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"1, 3", "2, 2"
+	})
+	void verifyVersionRange(final int from, final int to) {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.findHeaderByEntityIdAndMunicipalityIdAndVersion(eq(entityId), eq(municipalityId), anyInt())).thenReturn(Optional.of(Mockito.mock(RevisionHeader.class)));
+
+		// Act
+		revisionService.verifyVersionRange(entityId, municipalityId, from, to);
+
+		// Assert
+		verify(revisionRepositoryMock).findHeaderByEntityIdAndMunicipalityIdAndVersion(entityId, municipalityId, from);
+		verify(revisionRepositoryMock).findHeaderByEntityIdAndMunicipalityIdAndVersion(entityId, municipalityId, to);
+		verifyNoMoreInteractions(revisionRepositoryMock);
+	}
+
+	@Test
+	void verifyVersionRangeWhenFromIsGreaterThanTo() {
+
+		// Act
+		final var problem = assertThrows(ThrowableProblem.class, () -> revisionService.verifyVersionRange("entityId", "municipalityId", 3, 1));
+
+		// Assert
+		assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(problem.getDetail()).isEqualTo("Version range from '3' to '1' is invalid, from must not be greater than to");
+		verifyNoMoreInteractions(revisionRepositoryMock);
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"1, 3, 1", "1, 3, 3"
+	})
+	void verifyVersionRangeWhenRevisionNotFound(final int from, final int to, final int missingVersion) {
+
+		// Arrange
+		final var entityId = UUID.randomUUID().toString();
+		final var municipalityId = "municipalityId";
+
+		when(revisionRepositoryMock.findHeaderByEntityIdAndMunicipalityIdAndVersion(eq(entityId), eq(municipalityId), anyInt()))
+			.thenAnswer(invocation -> invocation.getArgument(2, Integer.class) == missingVersion ? empty() : Optional.of(Mockito.mock(RevisionHeader.class)));
+
+		// Act
+		final var problem = assertThrows(ThrowableProblem.class, () -> revisionService.verifyVersionRange(entityId, municipalityId, from, to));
+
+		// Assert
+		assertThat(problem.getStatus()).isEqualTo(NOT_FOUND);
+		assertThat(problem.getDetail()).isEqualTo("No revision with entityId '%s' and version '%s' was found!".formatted(entityId, missingVersion));
+	}
+
+	private static RevisionSnapshot createRevisionSnapshot(final int version, final String serializedSnapshot) {
+		return createRevisionSnapshot(version, FULL, serializedSnapshot);
+	}
+
+	private static RevisionSnapshot createRevisionSnapshot(final int version, final SnapshotType snapshotType, final String serializedSnapshot) {
+		final var snapshot = Mockito.mock(RevisionSnapshot.class);
+		when(snapshot.getVersion()).thenReturn(version);
+		when(snapshot.getSnapshotType()).thenReturn(snapshotType);
+		when(snapshot.getSerializedSnapshot()).thenReturn(serializedSnapshot);
+		return snapshot;
 	}
 
 	private NoteEntity createNoteEntity() {
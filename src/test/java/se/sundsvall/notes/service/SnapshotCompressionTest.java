@@ -0,0 +1,62 @@
+package se.sundsvall.notes.service;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotCompressionTest {
+
+	private static final String SNAPSHOT = """
+		{"id":"a4b7c1d2-6f3e-4c2b-9a1d-0e5f6a7b8c9d","body":"%s","caseId":"12345","municipalityId":"2281"}""".formatted("Åäö ".repeat(1000));
+
+	@Test
+	void compressAndDecompress() {
+
+		final var compressed = SnapshotCompression.compress(SNAPSHOT);
+
+		assertThat(compressed[0]).isEqualTo(SnapshotCompression.FORMAT_DEFLATE);
+		assertThat(compressed.length).isLessThan(SNAPSHOT.getBytes(UTF_8).length / 10);
+		assertThat(new String(SnapshotCompression.decompress(compressed), UTF_8)).isEqualTo(SNAPSHOT);
+	}
+
+	@Test
+	void compressEmptySnapshot() {
+		assertThat(SnapshotCompression.decompress(SnapshotCompression.compress(""))).isEmpty();
+	}
+
+	@Test
+	void decompressUnknownFormat() {
+		final var compressed = SnapshotCompression.compress(SNAPSHOT);
+		compressed[0] = 9;
+
+		assertThatThrownBy(() -> SnapshotCompression.decompress(compressed))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("Unknown format of compressed snapshot");
+		assertThatThrownBy(() -> SnapshotCompression.decompress(new byte[0]))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("Unknown format of compressed snapshot");
+	}
+
+	@Test
+	void decompressCorruptSnapshot() {
+		final var compressed = SnapshotCompression.compress(SNAPSHOT);
+		compressed[1] = 0;
+
+		assertThatThrownBy(() -> SnapshotCompression.decompress(compressed))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("Compressed snapshot is corrupt");
+	}
+
+	@Test
+	void decompressTruncatedSnapshot() {
+		final var compressed = SnapshotCompression.compress(SNAPSHOT);
+		final var truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+		assertThatThrownBy(() -> SnapshotCompression.decompress(truncated))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("Compressed snapshot is truncated");
+	}
+}
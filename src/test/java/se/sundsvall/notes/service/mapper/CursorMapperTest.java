@@ -0,0 +1,77 @@
+package se.sundsvall.notes.service.mapper;
+
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+import se.sundsvall.notes.integration.db.model.NoteEntity;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+class CursorMapperTest {
+
+	private static final String ID = "a2f40fc7-7d70-404b-a294-85e4f7eff55e";
+
+	@Test
+	void toCursor() {
+
+		// Arrange
+		final var noteEntity = NoteEntity.create()
+			.withId(ID)
+			.withCreated(OffsetDateTime.parse("2022-01-01T13:14:32.234+01:00"));
+
+		// Act
+		final var cursor = CursorMapper.toCursor(noteEntity);
+
+		// Assert
+		assertThat(cursor).isEqualTo("MjAyMi0wMS0wMVQxMjoxNDozMi4yMzRafGEyZjQwZmM3LTdkNzAtNDA0Yi1hMjk0LTg1ZTRmN2VmZjU1ZQ");
+	}
+
+	@Test
+	void toCursorFromNull() {
+		assertThat(CursorMapper.toCursor(null)).isNull();
+	}
+
+	@Test
+	void toPosition() {
+
+		// Arrange
+		final var created = OffsetDateTime.parse("2022-01-01T13:14:32.234+01:00");
+		final var cursor = CursorMapper.toCursor(NoteEntity.create().withId(ID).withCreated(created));
+
+		// Act
+		final var position = CursorMapper.toPosition(cursor);
+
+		// Assert
+		assertThat(position.created()).isAtSameInstantAs(created);
+		assertThat(position.id()).isEqualTo(ID);
+	}
+
+	@Test
+	void toPositionFromFirstPageCursor() {
+		assertThat(CursorMapper.toPosition(CursorMapper.FIRST_PAGE_CURSOR)).isNull();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"", "%%%", "bm8tc2VwYXJhdG9y", "fGlk", "MjAyMi0wMS0wMVQxMjoxNDozMi4yMzRafA", "bm90LWEtZGF0ZXxpZA"
+	})
+	void toPositionFromInvalidCursor(final String cursor) {
+		assertThatThrownBy(() -> CursorMapper.toPosition(cursor))
+			.isInstanceOf(ThrowableProblem.class)
+			.hasFieldOrPropertyWithValue("status", BAD_REQUEST)
+			.hasFieldOrPropertyWithValue("detail", "Invalid cursor '%s'".formatted(cursor));
+	}
+
+	@Test
+	void toPositionFromEncodedValues() {
+		final var cursor = Base64.getUrlEncoder().encodeToString("2022-01-01T12:14:32.234Z|id".getBytes(UTF_8));
+
+		assertThat(CursorMapper.toPosition(cursor).id()).isEqualTo("id");
+	}
+}
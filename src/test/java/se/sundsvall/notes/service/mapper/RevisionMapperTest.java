@@ -6,9 +6,11 @@ import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import se.sundsvall.notes.api.model.Revision;
 import se.sundsvall.notes.integration.db.model.NoteEntity;
 import se.sundsvall.notes.integration.db.model.RevisionEntity;
+import se.sundsvall.notes.integration.db.model.RevisionHeader;
 
 import static java.time.OffsetDateTime.now;
 import static java.util.Collections.emptyList;
@@ -18,6 +20,8 @@ import static org.assertj.core.api.Assertions.tuple;
 @ExtendWith(MockitoExtension.class)
 class RevisionMapperTest {
 
+	private static final SpelAwareProxyProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
 	@Test
 	void toRevisionList() {
 
@@ -28,16 +32,16 @@ class RevisionMapperTest {
 		final var id = UUID.randomUUID().toString();
 		final var version = 1;
 
-		final var revisionEntityList = List.of(
-			RevisionEntity.create()
+		final var revisionHeaderList = List.of(
+			toRevisionHeader(RevisionEntity.create()
 				.withCreated(created)
 				.withEntityId(entityId)
 				.withEntityType(entityType)
 				.withId(id)
-				.withVersion(version));
+				.withVersion(version)));
 
 		// Act
-		final var result = RevisionMapper.toRevisionList(revisionEntityList);
+		final var result = RevisionMapper.toRevisionList(revisionHeaderList);
 
 		// Assert
 		assertThat(result)
@@ -76,9 +80,45 @@ class RevisionMapperTest {
 	void toRevisionListWithListContainingNulls() {
 
 		// Act
-		final var result = RevisionMapper.toRevisionList(Arrays.asList(RevisionEntity.create(), null, RevisionEntity.create()));
+		final var result = RevisionMapper.toRevisionList(Arrays.asList(toRevisionHeader(RevisionEntity.create()), null, toRevisionHeader(RevisionEntity.create())));
 
 		// Assert
 		assertThat(result).hasSize(2);
 	}
+
+	@Test
+	void toRevisionFromEntity() {
+
+		// Arrange
+		final var created = now();
+		final var entityId = UUID.randomUUID().toString();
+		final var entityType = NoteEntity.class.getSimpleName();
+		final var id = UUID.randomUUID().toString();
+		final var version = 1;
+
+		final var revisionEntity = RevisionEntity.create()
+			.withCreated(created)
+			.withEntityId(entityId)
+			.withEntityType(entityType)
+			.withId(id)
+			.withSerializedSnapshot("{}")
+			.withVersion(version);
+
+		// Act
+		final var result = RevisionMapper.toRevision(revisionEntity);
+
+		// Assert
+		assertThat(result)
+			.extracting(
+				Revision::getCreated,
+				Revision::getEntityId,
+				Revision::getEntityType,
+				Revision::getId,
+				Revision::getVersion)
+			.containsExactly(created, entityId, entityType, id, version);
+	}
+
+	private static RevisionHeader toRevisionHeader(final RevisionEntity revisionEntity) {
+		return PROJECTION_FACTORY.createProjection(RevisionHeader.class, revisionEntity);
+	}
 }
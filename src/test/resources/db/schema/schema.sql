@@ -9,47 +9,58 @@
         context varchar(255),
         created_by varchar(255),
         external_case_id varchar(255),
-        id varchar(255) not null,
         modified_by varchar(255),
         municipality_id varchar(255) not null,
         party_id varchar(255),
         role varchar(255),
         subject varchar(255),
+        id char(36) not null,
         body longtext,
         primary key (id)
     ) engine=InnoDB;
 
+    create table note_change (
+        created datetime(6),
+        municipality_id varchar(255) not null,
+        id char(36) not null,
+        note_id char(36) not null,
+        primary key (id)
+    ) engine=InnoDB;
+
     create table revision (
         version integer,
         created datetime(6),
-        entity_id varchar(255),
         entity_type varchar(255),
-        id varchar(255) not null,
         municipality_id varchar(255) not null,
+        snapshot_type varchar(255) not null,
+        content_hash char(64),
+        entity_id char(36),
+        id char(36) not null,
+        compressed_snapshot longblob,
         serialized_snapshot longtext,
         primary key (id)
     ) engine=InnoDB;
 
-    create index note_party_id_index 
-       on note (party_id);
-
     create index note_context_index 
        on note (context);
 
-    create index note_client_id_index 
-       on note (client_id);
-
     create index note_role_index 
        on note (role);
 
-    create index note_municipality_id_index 
-       on note (municipality_id);
+    create index note_municipality_id_party_id_created_index 
+       on note (municipality_id, party_id, created);
+
+    create index note_municipality_id_case_id_created_index 
+       on note (municipality_id, case_id, created);
+
+    create index note_municipality_id_client_id_context_created_index 
+       on note (municipality_id, client_id, context, created);
 
-    create index revision_entity_id_index 
-       on revision (entity_id);
+    create index note_change_created_index 
+       on note_change (created);
 
     create index revision_entity_type_index 
        on revision (entity_type);
 
-    create index revision_municipality_id_index
-       on revision (municipality_id);
+    alter table if exists revision 
+       add constraint revision_unique_entity_id_municipality_id_version unique (entity_id, municipality_id, version);
@@ -1,8 +1,14 @@
-INSERT INTO revision(id, entity_id, entity_type, serialized_snapshot, version, created, municipality_id) VALUES
-	('59328e70-4297-4bb5-ba69-cb17f2d15a17', '9791682e-4ba8-4f3a-857a-54e14836a53b', 'NoteEntity', '{}', 1, '2022-01-01 12:14:32.234', '2281'),
-	('5ac0398d-67d7-4267-b7b1-d9983b51758b', '9791682e-4ba8-4f3a-857a-54e14836a53b', 'NoteEntity', '{}', 2, '2022-02-02 12:14:32.234', '2281'),
-	('207ef370-607b-4502-9d16-bf38defb1dfd', '9791682e-4ba8-4f3a-857a-54e14836a53b', 'NoteEntity', '{}', 3, '2022-02-03 12:14:32.234', '2281'),
-	('f9e222f3-2476-4ead-bb1a-3e7e25f9c6ee', '9791682e-4ba8-4f3a-857a-54e14836a53b', 'NoteEntity', '{}', 4, '2022-02-04 12:14:32.234', '2281'),
-	('203c924b-dd67-4802-b99f-256ef6f2de69', '9791682e-4ba8-4f3a-857a-54e14836a53b', 'NoteEntity', '{}', 5, '2022-02-05 12:14:32.234', '2281'),
-	('c05f025e-b758-40ce-aba7-06e7243395bb', 'abe72bbd-9808-4f3a-8aec-cd2945f5a201', 'NoteEntity', '{}', 11, '2022-02-01 12:14:32.234', '2281'),
-	('9906cef3-810e-4ddc-977a-af0aa259a838', 'abe72bbd-9808-4f3a-8aec-cd2945f5a201', 'NoteEntity', '{}', 12, '2022-02-02 12:14:32.234', '2281');
\ No newline at end of file
+INSERT INTO revision(id, entity_id, entity_type, serialized_snapshot, snapshot_type, content_hash, version, created, municipality_id) VALUES
+	('59328e70-4297-4bb5-ba69-cb17f2d15a17', '9791682e-4ba8-4f3a-857a-54e14836a53b', 'NoteEntity', '{}', 'FULL', '44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a', 1, '2022-01-01 12:14:32.234', '2281'),
+	('5ac0398d-67d7-4267-b7b1-d9983b51758b', '9791682e-4ba8-4f3a-857a-54e14836a53b', 'NoteEntity', '{}', 'FULL', '44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a', 2, '2022-02-02 12:14:32.234', '2281'),
+	('207ef370-607b-4502-9d16-bf38defb1dfd', '9791682e-4ba8-4f3a-857a-54e14836a53b', 'NoteEntity', '{}', 'FULL', '44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a', 3, '2022-02-03 12:14:32.234', '2281'),
+	('f9e222f3-2476-4ead-bb1a-3e7e25f9c6ee', '9791682e-4ba8-4f3a-857a-54e14836a53b', 'NoteEntity', '{}', 'FULL', '44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a', 4, '2022-02-04 12:14:32.234', '2281'),
+	('203c924b-dd67-4802-b99f-256ef6f2de69', '9791682e-4ba8-4f3a-857a-54e14836a53b', 'NoteEntity', '{}', 'FULL', '44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a', 5, '2022-02-05 12:14:32.234', '2281'),
+	('c05f025e-b758-40ce-aba7-06e7243395bb', 'abe72bbd-9808-4f3a-8aec-cd2945f5a201', 'NoteEntity', '{}', 'FULL', '44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a', 11, '2022-02-01 12:14:32.234', '2281'),
+	('9906cef3-810e-4ddc-977a-af0aa259a838', 'abe72bbd-9808-4f3a-8aec-cd2945f5a201', 'NoteEntity', '{}', 'FULL', '44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a', 12, '2022-02-02 12:14:32.234', '2281'),
+	('0a7d4f24-43f5-4f0e-9c6c-7f4d1c3b6b01', '1e3ac0d3-7d3e-4bd1-a5bb-0d3c5a4b6f10', 'NoteEntity', '{"body":"a"}', 'FULL', null, 0, '2022-03-01 12:14:32.234', '2281'),
+	('0a7d4f24-43f5-4f0e-9c6c-7f4d1c3b6b02', '1e3ac0d3-7d3e-4bd1-a5bb-0d3c5a4b6f10', 'NoteEntity', '[{"op":"replace","path":"/body","value":"b"}]', 'DELTA', null, 1, '2022-03-02 12:14:32.234', '2281'),
+	('0a7d4f24-43f5-4f0e-9c6c-7f4d1c3b6b03', '1e3ac0d3-7d3e-4bd1-a5bb-0d3c5a4b6f10', 'NoteEntity', '[{"op":"replace","path":"/body","value":"c"}]', 'DELTA', null, 2, '2022-03-03 12:14:32.234', '2281'),
+	('0a7d4f24-43f5-4f0e-9c6c-7f4d1c3b6b04', '1e3ac0d3-7d3e-4bd1-a5bb-0d3c5a4b6f10', 'NoteEntity', '{"body":"d"}', 'FULL', null, 3, '2022-03-04 12:14:32.234', '2281'),
+	('0a7d4f24-43f5-4f0e-9c6c-7f4d1c3b6b05', '1e3ac0d3-7d3e-4bd1-a5bb-0d3c5a4b6f10', 'NoteEntity', '[{"op":"replace","path":"/body","value":"e"}]', 'DELTA', null, 4, '2022-03-05 12:14:32.234', '2281'),
+	('0a7d4f24-43f5-4f0e-9c6c-7f4d1c3b6b06', '1e3ac0d3-7d3e-4bd1-a5bb-0d3c5a4b6f10', 'NoteEntity', '[{"op":"replace","path":"/body","value":"f"}]', 'DELTA', null, 5, '2022-03-06 12:14:32.234', '2281');
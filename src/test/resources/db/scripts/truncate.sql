@@ -1,2 +1,3 @@
 TRUNCATE table note;
+TRUNCATE table note_change;
 TRUNCATE table revision;
\ No newline at end of file